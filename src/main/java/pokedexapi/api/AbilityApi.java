@@ -30,11 +30,12 @@ public class AbilityApi extends BaseApiController
     {
         LOGGER.info("getAllAbilities");
         try {
-            NamedApiResourceList<Ability> abilities = pokeApiClient.getResource(Ability.class).block();
+            NamedApiResourceList<Ability> abilities = pokeApiGateway.getResources(Ability.class);
             if (null != abilities) return ResponseEntity.ok(abilities);
             else return ResponseEntity.badRequest().body("Could not access Ability endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -44,11 +45,12 @@ public class AbilityApi extends BaseApiController
     {
         LOGGER.info("getAbility {}", id);
         try {
-            Ability ability = pokeApiClient.getResource(Ability.class, id).block();
+            Ability ability = pokeApiGateway.getResource(Ability.class, id);
             if (null != ability) return ResponseEntity.ok(ability);
             else return ResponseEntity.badRequest().body("Could not find Ability with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
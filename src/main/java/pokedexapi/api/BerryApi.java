@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.berry.Berry;
 import skaro.pokeapi.resource.berryfirmness.BerryFirmness;
@@ -34,11 +33,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getAllBerries");
         try {
-            NamedApiResourceList<Berry> berries = pokeApiClient.getResource(Berry.class).block();
+            NamedApiResourceList<Berry> berries = pokeApiGateway.getResources(Berry.class);
             if (null != berries) return ResponseEntity.ok(berries);
             else return ResponseEntity.badRequest().body("Could not access Berry endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -48,11 +48,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getBerry {}", id);
         try {
-            Berry berry = pokeApiClient.getResource(Berry.class, id).block();
+            Berry berry = pokeApiGateway.getResource(Berry.class, id);
             if (null != berry) return ResponseEntity.ok(berry);
             else return ResponseEntity.badRequest().body("Could not find a berry with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -64,11 +65,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getBerryFirmness");
         try {
-            NamedApiResourceList<BerryFirmness> berryFirmnesses = pokeApiClient.getResource(BerryFirmness.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<BerryFirmness> berryFirmnesses = pokeApiGateway.getResources(BerryFirmness.class, limit, offset);
             if (null != berryFirmnesses) return ResponseEntity.ok(berryFirmnesses);
             else return ResponseEntity.badRequest().body("Could not access berry-firmness endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -78,11 +80,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getBerryFirmness: {}", id);
         try {
-            BerryFirmness berryFirmness = pokeApiClient.getResource(BerryFirmness.class, id).block();
+            BerryFirmness berryFirmness = pokeApiGateway.getResource(BerryFirmness.class, id);
             if (null != berryFirmness) return ResponseEntity.ok(berryFirmness);
             else return ResponseEntity.badRequest().body("Could not find berry-firmness with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -94,11 +97,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getBerryFlavors");
         try {
-            NamedApiResourceList<BerryFlavor> berryFlavors = pokeApiClient.getResource(BerryFlavor.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<BerryFlavor> berryFlavors = pokeApiGateway.getResources(BerryFlavor.class, limit, offset);
             if (null != berryFlavors) return ResponseEntity.ok(berryFlavors);
             else return ResponseEntity.badRequest().body("Could not access berry-flavor endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -108,11 +112,12 @@ class BerryApi extends BaseApiController
     {
         LOGGER.info("getBerryFlavor: {}", id);
         try {
-            BerryFlavor berryFlavor = pokeApiClient.getResource(BerryFlavor.class, id).block();
+            BerryFlavor berryFlavor = pokeApiGateway.getResource(BerryFlavor.class, id);
             if (null != berryFlavor) return ResponseEntity.ok(berryFlavor);
             return ResponseEntity.badRequest().body("Could not find berry-flavor with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -37,6 +37,7 @@ public class CharacteristicApi extends BaseApiController
             characteristics = pokemonService.callUrl(pokeApiBaseUrl + "characteristic?limit=" + limit + "&offset=" + offset);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
@@ -58,6 +59,7 @@ public class CharacteristicApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not find an characteristic with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
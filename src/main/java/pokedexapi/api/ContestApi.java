@@ -12,9 +12,6 @@ import skaro.pokeapi.client.PokeApiClient;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.contesttype.ContestType;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
 
@@ -39,11 +36,12 @@ class ContestApi extends BaseApiController
     {
         LOGGER.info("getAllContests");
         try {
-            NamedApiResourceList<ContestType> contests = pokeApiClient.getResource(skaro.pokeapi.resource.contesttype.ContestType.class).block();
+            NamedApiResourceList<ContestType> contests = pokeApiGateway.getResources(skaro.pokeapi.resource.contesttype.ContestType.class);
             if (null != contests) return ResponseEntity.ok(contests);
             else return ResponseEntity.badRequest().body("Could not access ContestType endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -53,11 +51,12 @@ class ContestApi extends BaseApiController
     {
         LOGGER.info("getContestType {}", id);
         try {
-            ContestType contestType = pokeApiClient.getResource(ContestType.class, id).block();
+            ContestType contestType = pokeApiGateway.getResource(ContestType.class, id);
             if (null != contestType) return ResponseEntity.ok(contestType);
             else return ResponseEntity.badRequest().body("Could not find a contestType with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -71,13 +70,7 @@ class ContestApi extends BaseApiController
         HttpResponse<String> response;
         JSONParser jsonParser;
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/contest-effect/"))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            response = pokemonService.callUrl(pokeApiBaseUrl + "/contest-effect/");
             LOGGER.debug("response: {}", response.body());
             jsonParser = new JSONParser(response.body());
             Map<String, Object> results = (Map<String, Object>) jsonParser.parse();
@@ -85,6 +78,7 @@ class ContestApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not access ContestEffect endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -97,13 +91,7 @@ class ContestApi extends BaseApiController
         HttpResponse<String> response;
         JSONParser jsonParser;
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/contest-effect/" + id))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            response = pokemonService.callUrl(pokeApiBaseUrl + "/contest-effect/" + id);
             LOGGER.info("response: {}", response.body());
             jsonParser = new JSONParser(response.body());
             Map<String, Object> results = (Map<String, Object>) jsonParser.parse();
@@ -111,6 +99,7 @@ class ContestApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not find a ContestEffect with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -124,13 +113,7 @@ class ContestApi extends BaseApiController
         HttpResponse<String> response;
         JSONParser jsonParser;
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/super-contest-effect/"))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            response = pokemonService.callUrl(pokeApiBaseUrl + "/super-contest-effect/");
             LOGGER.debug("response: {}", response.body());
             jsonParser = new JSONParser(response.body());
             Map<String, Object> results = (Map<String, Object>) jsonParser.parse();
@@ -138,6 +121,7 @@ class ContestApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not access SuperContestEffect endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -150,13 +134,7 @@ class ContestApi extends BaseApiController
         HttpResponse<String> response;
         JSONParser jsonParser;
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/super-contest-effect/" + id))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
+            response = pokemonService.callUrl(pokeApiBaseUrl + "/super-contest-effect/" + id);
             LOGGER.info("response: {}", response.body());
             jsonParser = new JSONParser(response.body());
             Map<String, Object> results = (Map<String, Object>) jsonParser.parse();
@@ -164,6 +142,7 @@ class ContestApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not find a SuperContestEffect with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
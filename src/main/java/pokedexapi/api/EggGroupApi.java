@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.egggroup.EggGroup;
 
@@ -36,11 +35,12 @@ public class EggGroupApi extends BaseApiController
     {
         LOGGER.info("getEggGroups");
         try {
-            NamedApiResourceList<EggGroup> eggGroups = pokeApiClient.getResource(EggGroup.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<EggGroup> eggGroups = pokeApiGateway.getResources(EggGroup.class, limit, offset);
             if (null != eggGroups) return ResponseEntity.ok(eggGroups);
             else return ResponseEntity.badRequest().body("Could not access EggGroup endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all eggGroups because " + e.getMessage());
         }
@@ -52,11 +52,12 @@ public class EggGroupApi extends BaseApiController
     {
         LOGGER.info("getEggGroup {}", id);
         try {
-            EggGroup eggGroup = pokeApiClient.getResource(EggGroup.class, id).block();
+            EggGroup eggGroup = pokeApiGateway.getResource(EggGroup.class, id);
             if (null != eggGroup) return ResponseEntity.ok(eggGroup);
             else return ResponseEntity.badRequest().body("Could not access EggGroup endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
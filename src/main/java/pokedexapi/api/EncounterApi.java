@@ -34,11 +34,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getEncounterMethods");
         try {
-            NamedApiResourceList<EncounterMethod> encounters = pokeApiClient.getResource(skaro.pokeapi.resource.encountermethod.EncounterMethod.class).block();
+            NamedApiResourceList<EncounterMethod> encounters = pokeApiGateway.getResources(skaro.pokeapi.resource.encountermethod.EncounterMethod.class);
             if (null != encounters) return ResponseEntity.ok(encounters);
             else return ResponseEntity.badRequest().body("Could not access EncounterMethod endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -48,11 +49,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getEncounterMethod {}", id);
         try {
-            EncounterMethod encounterMethod = pokeApiClient.getResource(EncounterMethod.class, id).block();
+            EncounterMethod encounterMethod = pokeApiGateway.getResource(EncounterMethod.class, id);
             if (null != encounterMethod) return ResponseEntity.ok(encounterMethod);
             else return ResponseEntity.badRequest().body("Could not find an encounterMethod with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -64,11 +66,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getConditions");
         try {
-            NamedApiResourceList<EncounterCondition> conditions = pokeApiClient.getResource(skaro.pokeapi.resource.encountercondition.EncounterCondition.class).block();
+            NamedApiResourceList<EncounterCondition> conditions = pokeApiGateway.getResources(skaro.pokeapi.resource.encountercondition.EncounterCondition.class);
             if (null != conditions) return ResponseEntity.ok(conditions);
             else return ResponseEntity.badRequest().body("Could not access EncounterCondition endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -78,11 +81,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getCondition {}", id);
         try {
-            EncounterCondition encounterCondition = pokeApiClient.getResource(EncounterCondition.class, id).block();
+            EncounterCondition encounterCondition = pokeApiGateway.getResource(EncounterCondition.class, id);
             if (null != encounterCondition) return ResponseEntity.ok(encounterCondition);
             else return ResponseEntity.badRequest().body("Could not find an encounterCondition with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -94,11 +98,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getConditionValues");
         try {
-            NamedApiResourceList<EncounterConditionValue> conditionValues = pokeApiClient.getResource(skaro.pokeapi.resource.encounterconditionvalue.EncounterConditionValue.class).block();
+            NamedApiResourceList<EncounterConditionValue> conditionValues = pokeApiGateway.getResources(skaro.pokeapi.resource.encounterconditionvalue.EncounterConditionValue.class);
             if (null != conditionValues) return ResponseEntity.ok(conditionValues);
             else return ResponseEntity.badRequest().body("Could not access EncounterConditionValue endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -108,11 +113,12 @@ class EncounterApi extends BaseApiController
     {
         logger.info("getConditionValue {}", id);
         try {
-            EncounterConditionValue conditionValue = pokeApiClient.getResource(EncounterConditionValue.class, id).block();
+            EncounterConditionValue conditionValue = pokeApiGateway.getResource(EncounterConditionValue.class, id);
             if (null != conditionValue) return ResponseEntity.ok(conditionValue);
             else return ResponseEntity.badRequest().body("Could not find an conditionValue with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -3,16 +3,21 @@ package pokedexapi.api;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
+import pokedexapi.service.AsyncPokemonService;
+import pokedexapi.service.EvolutionGraph;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -21,104 +26,168 @@ class EvolutionApi extends BaseApiController
 {
     /* Logging instance */
     private static final Logger logger = LogManager.getLogger(EvolutionApi.class);
+    private final AsyncPokemonService asyncPokemonService;
 
     @Autowired
-    EvolutionApi(PokemonService pokemonService, PokeApiClient client)
+    EvolutionApi(PokemonService pokemonService, PokeApiClient client, AsyncPokemonService asyncPokemonService)
     {
         super(pokemonService, client);
+        this.asyncPokemonService = asyncPokemonService;
     }
 
     // Evolution Chains
     @GetMapping(value = "/evolution-chain")
     @ResponseBody
-    ResponseEntity<?> getEvolutionChains(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                                         @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+    CompletableFuture<ResponseEntity<?>> getEvolutionChains(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
+                                                            @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getEvolutionChains");
-        HttpResponse<String> response;
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/evolution-chain?offset=" + offset + "&limit=" + limit))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-            logger.info("response: {}", response.body());
-            return ResponseEntity.ok(response.body());
-        }
-        catch (Exception e) {
-            logger.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
+        return asyncPokemonService.streamUrl(pokeApiBaseUrl + "/evolution-chain?offset=" + offset + "&limit=" + limit)
+                .<ResponseEntity<?>>thenApply(response -> passthrough(response, acceptEncoding, status -> ResponseEntity.status(status).build()))
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    logger.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
     }
 
     @GetMapping(value = "/evolution-chain/{id}")
     @ResponseBody
-    ResponseEntity<?> getEvolutionChain(@PathVariable("id") int id)
+    CompletableFuture<ResponseEntity<?>> getEvolutionChain(@PathVariable("id") int id,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getEvolutionChain {}", id);
-        HttpResponse<String> response;
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/evolution-chain/" + id))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-            logger.info("response: {}", response.body());
-            return ResponseEntity.ok(response.body());
-        }
-        catch (Exception e) {
-            logger.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
+        return asyncPokemonService.streamUrl(pokeApiBaseUrl + "/evolution-chain/" + id)
+                .<ResponseEntity<?>>thenApply(response -> passthrough(response, acceptEncoding, status -> ResponseEntity.status(status).build()))
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    logger.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
     }
 
     // Evolution Triggers
     @GetMapping(value = "/evolution-trigger")
     @ResponseBody
-    ResponseEntity<?> getEvolutionTriggers(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                                           @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+    CompletableFuture<ResponseEntity<?>> getEvolutionTriggers(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
+                                                              @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getEvolutionTriggers");
-        HttpResponse<String> response;
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(new URI(pokeApiBaseUrl + "/evolution-trigger?offset=" + offset + "&limit=" + limit))
-                    .GET()
-                    .build();
-            response = HttpClient.newBuilder()
-                    .build()
-                    .send(request, HttpResponse.BodyHandlers.ofString());
-            logger.info("response: {}", response.body());
-            return ResponseEntity.ok(response.body());
-        }
-        catch (Exception e) {
-            logger.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
+        return asyncPokemonService.streamUrl(pokeApiBaseUrl + "/evolution-trigger?offset=" + offset + "&limit=" + limit)
+                .<ResponseEntity<?>>thenApply(response -> passthrough(response, acceptEncoding, status -> ResponseEntity.status(status).build()))
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    logger.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
     }
 
     @GetMapping(value = "/evolution-trigger/{id}")
     @ResponseBody
-    ResponseEntity<?> getEvolutionTrigger(@PathVariable("id") int id)
+    CompletableFuture<ResponseEntity<?>> getEvolutionTrigger(@PathVariable("id") int id,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getEvolutionTrigger {}", id);
-        HttpResponse<String> response;
-        try {
-            response = pokemonService.callUrl(pokeApiBaseUrl + "/evolution-trigger/" + id);
-        }
-        catch (Exception e) {
-            logger.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
+        return asyncPokemonService.streamUrl(pokeApiBaseUrl + "/evolution-trigger/" + id)
+                .<ResponseEntity<?>>thenApply(response -> passthrough(response, acceptEncoding, status -> status == 400
+                        ? ResponseEntity.badRequest().build()
+                        : ResponseEntity.internalServerError().build()))
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    logger.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
+    }
+
+    // Evolution Graph, answered from memory
+    @GetMapping(value = "/graph/{nameOrId}")
+    @ResponseBody
+    ResponseEntity<?> getEvolutionGraphSpecies(@PathVariable("nameOrId") String nameOrId)
+    {
+        logger.info("getEvolutionGraphSpecies {}", nameOrId);
+        return graph(graph -> {
+            int id = graph.idOf(nameOrId);
+            if (id == 0) return ResponseEntity.badRequest().body("Could not find species with value: " + nameOrId);
+            return ResponseEntity.ok(graph.species(id));
+        });
+    }
+
+    @GetMapping(value = "/graph/{nameOrId}/ancestors")
+    @ResponseBody
+    ResponseEntity<?> getEvolutionAncestors(@PathVariable("nameOrId") String nameOrId)
+    {
+        logger.info("getEvolutionAncestors {}", nameOrId);
+        return related(nameOrId, EvolutionGraph::ancestors);
+    }
+
+    @GetMapping(value = "/graph/{nameOrId}/descendants")
+    @ResponseBody
+    ResponseEntity<?> getEvolutionDescendants(@PathVariable("nameOrId") String nameOrId)
+    {
+        logger.info("getEvolutionDescendants {}", nameOrId);
+        return related(nameOrId, EvolutionGraph::descendants);
+    }
+
+    @GetMapping(value = "/graph/{nameOrId}/family")
+    @ResponseBody
+    ResponseEntity<?> getEvolutionFamily(@PathVariable("nameOrId") String nameOrId)
+    {
+        logger.info("getEvolutionFamily {}", nameOrId);
+        return related(nameOrId, EvolutionGraph::family);
+    }
+
+    @GetMapping(value = "/graph/trigger/{trigger}")
+    @ResponseBody
+    ResponseEntity<?> getEvolvingByTrigger(@PathVariable("trigger") String trigger)
+    {
+        logger.info("getEvolvingByTrigger {}", trigger);
+        return graph(graph -> ResponseEntity.ok(species(graph, graph.evolvingBy(trigger))));
+    }
+
+    @GetMapping(value = "/graph/item/{item}")
+    @ResponseBody
+    ResponseEntity<?> getEvolvingWithItem(@PathVariable("item") String item)
+    {
+        logger.info("getEvolvingWithItem {}", item);
+        return graph(graph -> ResponseEntity.ok(species(graph, graph.evolvingWith(item))));
+    }
+
+    /**
+     * Answers a query about the species related to one species
+     *
+     * @param nameOrId the species name or id
+     * @param query    the related species ids of a species id
+     * @return the related species, or a bad request if there is no such species
+     */
+    private ResponseEntity<?> related(String nameOrId, BiFunction<EvolutionGraph, Integer, int[]> query)
+    {
+        return graph(graph -> {
+            int id = graph.idOf(nameOrId);
+            if (id == 0) return ResponseEntity.badRequest().body("Could not find species with value: " + nameOrId);
+            return ResponseEntity.ok(species(graph, query.apply(graph, id)));
+        });
+    }
+
+    /**
+     * Answers a query from the evolution graph, or 503 while it is still being built
+     *
+     * @param query the query
+     * @return the answer
+     */
+    private ResponseEntity<?> graph(Function<EvolutionGraph, ResponseEntity<?>> query)
+    {
+        EvolutionGraph graph = evolutionChainIndex == null ? null : evolutionChainIndex.graph();
+        if (graph == null || graph.size() == 0) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("The evolution graph is not built yet");
         }
-        return switch (response.statusCode()) {
-            case 200 -> ResponseEntity.ok(response.body());
-            case 400 -> ResponseEntity.badRequest().build();
-            default -> ResponseEntity.internalServerError().build();
-        };
+        return query.apply(graph);
     }
 
+    private static List<EvolutionGraph.Species> species(EvolutionGraph graph, int[] ids)
+    {
+        return Arrays.stream(ids).mapToObj(graph::species).toList();
+    }
 }
@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.pokedex.Pokedex;
 import skaro.pokeapi.resource.version.Version;
@@ -35,7 +34,7 @@ class GameApi extends BaseApiController
                                    @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         LOGGER.info("getPokedexes");
-        NamedApiResourceList<Pokedex> pokedexes = pokeApiClient.getResource(Pokedex.class, new PageQuery(limit, offset)).block();
+        NamedApiResourceList<Pokedex> pokedexes = pokeApiGateway.getResources(Pokedex.class, limit, offset);
         if (null != pokedexes) return ResponseEntity.ok(pokedexes);
         else return ResponseEntity.badRequest().body("Could not access Pokedex endpoint");
     }
@@ -45,7 +44,7 @@ class GameApi extends BaseApiController
     ResponseEntity<?> getPokedex(@PathVariable("id") int id)
     {
         LOGGER.info("getPokedex {}", id);
-        Pokedex pokedex = pokeApiClient.getResource(Pokedex.class, String.valueOf(id)).block();
+        Pokedex pokedex = pokeApiGateway.getResource(Pokedex.class, String.valueOf(id));
         if (null != pokedex) return ResponseEntity.ok(pokedex);
         else return ResponseEntity.badRequest().body("Could not access Pokedex endpoint");
     }
@@ -57,7 +56,7 @@ class GameApi extends BaseApiController
                                   @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         LOGGER.info("getVersions");
-        NamedApiResourceList<Version> versions = pokeApiClient.getResource(Version.class, new PageQuery(limit, offset)).block();
+        NamedApiResourceList<Version> versions = pokeApiGateway.getResources(Version.class, limit, offset);
         if (null != versions) return ResponseEntity.ok(versions);
         else return ResponseEntity.badRequest().body("Could not access Version endpoint");
     }
@@ -67,7 +66,7 @@ class GameApi extends BaseApiController
     ResponseEntity<?> getVersion(@PathVariable("id") int id)
     {
         LOGGER.info("getVersion {}", id);
-        Version version = pokeApiClient.getResource(Version.class, String.valueOf(id)).block();
+        Version version = pokeApiGateway.getResource(Version.class, String.valueOf(id));
         if (null != version) return ResponseEntity.ok(version);
         else return ResponseEntity.badRequest().body("Could not access Version endpoint");
     }
@@ -79,7 +78,7 @@ class GameApi extends BaseApiController
                                        @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         LOGGER.info("getVersionGroups");
-        NamedApiResourceList<VersionGroup> versionGroups = pokeApiClient.getResource(VersionGroup.class, new PageQuery(limit, offset)).block();
+        NamedApiResourceList<VersionGroup> versionGroups = pokeApiGateway.getResources(VersionGroup.class, limit, offset);
         if (null != versionGroups) return ResponseEntity.ok(versionGroups);
         else return ResponseEntity.badRequest().body("Could not access VersionGroup endpoint");
     }
@@ -89,7 +88,7 @@ class GameApi extends BaseApiController
     ResponseEntity<?> getVersionGroup(@PathVariable("id") int id)
     {
         LOGGER.info("getVersionGroup {}", id);
-        VersionGroup versionGroup = pokeApiClient.getResource(VersionGroup.class, String.valueOf(id)).block();
+        VersionGroup versionGroup = pokeApiGateway.getResource(VersionGroup.class, String.valueOf(id));
         if (null != versionGroup) return ResponseEntity.ok(versionGroup);
         else return ResponseEntity.badRequest().body("Could not access VersionGroup endpoint");
     }
@@ -37,6 +37,7 @@ public class GenderApi extends BaseApiController
             genders = pokemonService.callUrl(pokeApiBaseUrl + "gender?limit=" + limit + "&offset=" + offset);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
@@ -57,6 +58,7 @@ public class GenderApi extends BaseApiController
             gender = pokemonService.callUrl(pokeApiBaseUrl + "gender/" + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
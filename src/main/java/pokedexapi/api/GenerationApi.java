@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.generation.Generation;
 
@@ -33,7 +32,7 @@ public class GenerationApi extends BaseApiController
                                      @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         LOGGER.info("getGenerations");
-        NamedApiResourceList<Generation> generations = pokeApiClient.getResource(Generation.class, new PageQuery(limit, offset)).block();
+        NamedApiResourceList<Generation> generations = pokeApiGateway.getResources(Generation.class, limit, offset);
         if (null != generations) return ResponseEntity.ok(generations);
         else return ResponseEntity.badRequest().body("Could not access Generation endpoint");
     }
@@ -43,7 +42,7 @@ public class GenerationApi extends BaseApiController
     ResponseEntity<?> getGeneration(@PathVariable("id") int id)
     {
         LOGGER.info("getGeneration {}", id);
-        Generation generation = pokeApiClient.getResource(Generation.class, String.valueOf(id)).block();
+        Generation generation = pokeApiGateway.getResource(Generation.class, String.valueOf(id));
         if (null != generation) return ResponseEntity.ok(generation);
         else return ResponseEntity.badRequest().body("Could not access Generation endpoint");
     }
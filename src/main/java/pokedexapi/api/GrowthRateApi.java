@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.growthrate.GrowthRate;
 
@@ -36,11 +35,12 @@ public class GrowthRateApi extends BaseApiController
     {
         LOGGER.info("getGrowthRates");
         try {
-            NamedApiResourceList<GrowthRate> growthRates = pokeApiClient.getResource(GrowthRate.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<GrowthRate> growthRates = pokeApiGateway.getResources(GrowthRate.class, limit, offset);
             if (null != growthRates) return ResponseEntity.ok(growthRates);
             else return ResponseEntity.badRequest().body("Could not access GrowthRate endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all GrowthRate because " + e.getMessage());
         }
@@ -52,11 +52,12 @@ public class GrowthRateApi extends BaseApiController
     {
         LOGGER.info("getGrowthRate {}", id);
         try {
-            GrowthRate growthRate = pokeApiClient.getResource(GrowthRate.class, id).block();
+            GrowthRate growthRate = pokeApiGateway.getResource(GrowthRate.class, id);
             if (null != growthRate) return ResponseEntity.ok(growthRate);
             else return ResponseEntity.badRequest().body("Could not access GrowthRate endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
+import reactor.core.publisher.Mono;
 import skaro.pokeapi.client.PokeApiClient;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.item.Item;
@@ -15,6 +16,8 @@ import skaro.pokeapi.resource.itemcategory.ItemCategory;
 import skaro.pokeapi.resource.itemflingeffect.ItemFlingEffect;
 import skaro.pokeapi.resource.itempocket.ItemPocket;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @CrossOrigin(origins = "*")
 @RequestMapping("/item")
@@ -31,31 +34,25 @@ class ItemApi extends BaseApiController
 
     @GetMapping(value = "")
     @ResponseBody
-    ResponseEntity<?> getItems()
+    CompletableFuture<ResponseEntity<?>> getItems()
     {
         LOGGER.info("getItems");
-        try {
-            NamedApiResourceList<Item> items = pokeApiClient.getResource(Item.class).block();
-            if (null != items) return ResponseEntity.ok(items);
-            else return ResponseEntity.badRequest().body("Could not access Item endpoint");
-        }
-        catch (Exception e) {
-            return ResponseEntity.internalServerError().body(e.getMessage());
-        }
+        return reactivePokeApiGateway.getResources(Item.class)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not access Item endpoint"))
+                .onErrorResume(e -> !isUnavailable(e), e -> Mono.just(ResponseEntity.internalServerError().body(e.getMessage())))
+                .toFuture();
     }
 
     @GetMapping(value = "/item/{id}")
-    ResponseEntity<?> getItem(@PathVariable(value = "id") String id)
+    CompletableFuture<ResponseEntity<?>> getItem(@PathVariable(value = "id") String id)
     {
         LOGGER.info("getItem {}", id);
-        try {
-            Item item = pokeApiClient.getResource(Item.class, id).block();
-            if (null != item) return ResponseEntity.ok(item);
-            else return ResponseEntity.badRequest().body("Could not find an item with " + id);
-        }
-        catch (Exception e) {
-            return ResponseEntity.internalServerError().body(e.getMessage());
-        }
+        return reactivePokeApiGateway.getResource(Item.class, id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not find an item with " + id))
+                .onErrorResume(e -> !isUnavailable(e), e -> Mono.just(ResponseEntity.internalServerError().body(e.getMessage())))
+                .toFuture();
     }
 
     // Attributes
@@ -65,11 +62,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemAttributes");
         try {
-            NamedApiResourceList<ItemAttribute> itemAttributes = pokeApiClient.getResource(ItemAttribute.class).block();
+            NamedApiResourceList<ItemAttribute> itemAttributes = pokeApiGateway.getResources(ItemAttribute.class);
             if (null != itemAttributes) return ResponseEntity.ok(itemAttributes);
             else return ResponseEntity.badRequest().body("Could not access ItemAttribute endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -79,11 +77,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemAttribute {}", id);
         try {
-            ItemAttribute itemAttribute = pokeApiClient.getResource(ItemAttribute.class, id).block();
+            ItemAttribute itemAttribute = pokeApiGateway.getResource(ItemAttribute.class, id);
             if (null != itemAttribute) return ResponseEntity.ok(itemAttribute);
             else return ResponseEntity.badRequest().body("Could not find an itemAttribute with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -95,11 +94,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemCategories");
         try {
-            NamedApiResourceList<ItemCategory> itemCategories = pokeApiClient.getResource(ItemCategory.class).block();
+            NamedApiResourceList<ItemCategory> itemCategories = pokeApiGateway.getResources(ItemCategory.class);
             if (null != itemCategories) return ResponseEntity.ok(itemCategories);
             else return ResponseEntity.badRequest().body("Could not access ItemCategory endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -109,11 +109,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemCategory {}", id);
         try {
-            ItemCategory itemCategory = pokeApiClient.getResource(ItemCategory.class, id).block();
+            ItemCategory itemCategory = pokeApiGateway.getResource(ItemCategory.class, id);
             if (null != itemCategory) return ResponseEntity.ok(itemCategory);
             else return ResponseEntity.badRequest().body("Could not find an itemCategory with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -125,11 +126,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getFlingEffects");
         try {
-            NamedApiResourceList<ItemFlingEffect> flingEffects = pokeApiClient.getResource(ItemFlingEffect.class).block();
+            NamedApiResourceList<ItemFlingEffect> flingEffects = pokeApiGateway.getResources(ItemFlingEffect.class);
             if (null != flingEffects) return ResponseEntity.ok(flingEffects);
             else return ResponseEntity.badRequest().body("Could not access ItemFlingEffect endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -139,11 +141,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getFlingEffect {}", id);
         try {
-            ItemFlingEffect flingEffect = pokeApiClient.getResource(ItemFlingEffect.class, id).block();
+            ItemFlingEffect flingEffect = pokeApiGateway.getResource(ItemFlingEffect.class, id);
             if (null != flingEffect) return ResponseEntity.ok(flingEffect);
             else return ResponseEntity.badRequest().body("Could not find a flingEffect with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -155,11 +158,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemPockets");
         try {
-            NamedApiResourceList<ItemPocket> itemPocket = pokeApiClient.getResource(ItemPocket.class).block();
+            NamedApiResourceList<ItemPocket> itemPocket = pokeApiGateway.getResources(ItemPocket.class);
             if (null != itemPocket) return ResponseEntity.ok(itemPocket);
             else return ResponseEntity.badRequest().body("Could not access ItemPocket endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -169,11 +173,12 @@ class ItemApi extends BaseApiController
     {
         LOGGER.info("getItemPocket {}", id);
         try {
-            ItemPocket itemPocket = pokeApiClient.getResource(ItemPocket.class, id).block();
+            ItemPocket itemPocket = pokeApiGateway.getResource(ItemPocket.class, id);
             if (null != itemPocket) return ResponseEntity.ok(itemPocket);
             else return ResponseEntity.badRequest().body("Could not find a itemPocket with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -35,11 +35,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getLocations");
         try {
-            NamedApiResourceList<Location> locations = pokeApiClient.getResource(Location.class).block();
+            NamedApiResourceList<Location> locations = pokeApiGateway.getResources(Location.class);
             if (null != locations) return ResponseEntity.ok(locations);
             else return ResponseEntity.badRequest().body("Could not access Location endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -49,11 +50,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getLocation {}", id);
         try {
-            Location location = pokeApiClient.getResource(Location.class, id).block();
+            Location location = pokeApiGateway.getResource(Location.class, id);
             if (null != location) return ResponseEntity.ok(location);
             else return ResponseEntity.badRequest().body("Could not find a location with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -65,11 +67,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getLocationAreas");
         try {
-            NamedApiResourceList<LocationArea> locationAreas = pokeApiClient.getResource(LocationArea.class).block();
+            NamedApiResourceList<LocationArea> locationAreas = pokeApiGateway.getResources(LocationArea.class);
             if (null != locationAreas) return ResponseEntity.ok(locationAreas);
             else return ResponseEntity.badRequest().body("Could not access LocationArea endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -79,11 +82,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getLocationArea {}", id);
         try {
-            LocationArea locationArea = pokeApiClient.getResource(LocationArea.class, id).block();
+            LocationArea locationArea = pokeApiGateway.getResource(LocationArea.class, id);
             if (null != locationArea) return ResponseEntity.ok(locationArea);
             else return ResponseEntity.badRequest().body("Could not find a locationArea with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -95,11 +99,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getPalParkAreas");
         try {
-            NamedApiResourceList<PalParkArea> palParkAreas = pokeApiClient.getResource(PalParkArea.class).block();
+            NamedApiResourceList<PalParkArea> palParkAreas = pokeApiGateway.getResources(PalParkArea.class);
             if (null != palParkAreas) return ResponseEntity.ok(palParkAreas);
             else return ResponseEntity.badRequest().body("Could not access PalParkArea endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -109,11 +114,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getPalParkArea {}", id);
         try {
-            PalParkArea palParkArea = pokeApiClient.getResource(PalParkArea.class, id).block();
+            PalParkArea palParkArea = pokeApiGateway.getResource(PalParkArea.class, id);
             if (null != palParkArea) return ResponseEntity.ok(palParkArea);
             else return ResponseEntity.badRequest().body("Could not find a palParkArea with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -125,11 +131,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getRegions");
         try {
-            NamedApiResourceList<Region> regions = pokeApiClient.getResource(Region.class).block();
+            NamedApiResourceList<Region> regions = pokeApiGateway.getResources(Region.class);
             if (null != regions) return ResponseEntity.ok(regions);
             else return ResponseEntity.badRequest().body("Could not access Region endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -139,11 +146,12 @@ class LocationApi extends BaseApiController
     {
         logger.info("getRegion {}", id);
         try {
-            Region region = pokeApiClient.getResource(Region.class, id).block();
+            Region region = pokeApiGateway.getResource(Region.class, id);
             if (null != region) return ResponseEntity.ok(region);
             else return ResponseEntity.badRequest().body("Could not find a region with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
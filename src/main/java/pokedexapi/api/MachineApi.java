@@ -3,14 +3,14 @@ package pokedexapi.api;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pokedexapi.cache.PassthroughBody;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
 
-import java.net.http.HttpResponse;
-
 @RestController
 @CrossOrigin(origins = "*")
 @RequestMapping("/machine")
@@ -28,41 +28,40 @@ class MachineApi extends BaseApiController
     // Machines
     @GetMapping(value = "")
     @ResponseBody
-    ResponseEntity<?> getMachines()
+    ResponseEntity<?> getMachines(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getMachines");
-        HttpResponse<String> response;
+        PassthroughBody response;
         try {
-            response = pokemonService.callUrl(pokeApiBaseUrl + "/machine");
+            response = pokemonService.streamUrl(pokeApiBaseUrl + "/machine");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             logger.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
-        return switch (response.statusCode()) {
-            case 200 -> ResponseEntity.ok(response.body());
-            case 400 -> ResponseEntity.badRequest().build();
-            default -> ResponseEntity.internalServerError().build();
-        };
+        return passthrough(response, acceptEncoding, status -> status == 400
+                ? ResponseEntity.badRequest().build()
+                : ResponseEntity.internalServerError().build());
     }
 
     @GetMapping(value = "/{id}")
-    ResponseEntity<?> getMachine(@PathVariable(value = "id") String id)
+    ResponseEntity<?> getMachine(@PathVariable(value = "id") String id,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getLocation {}", id);
-        HttpResponse<String> response;
+        PassthroughBody response;
         try {
-            response = pokemonService.callUrl(pokeApiBaseUrl + "/machine/" + id);
+            response = pokemonService.streamUrl(pokeApiBaseUrl + "/machine/" + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             logger.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
-        return switch (response.statusCode()) {
-            case 200 -> ResponseEntity.ok(response.body());
-            case 400 -> ResponseEntity.badRequest().build();
-            default -> ResponseEntity.internalServerError().build();
-        };
+        return passthrough(response, acceptEncoding, status -> status == 400
+                ? ResponseEntity.badRequest().build()
+                : ResponseEntity.internalServerError().build());
     }
 
 }
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
+import reactor.core.publisher.Mono;
 import skaro.pokeapi.client.PokeApiClient;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.move.Move;
@@ -17,6 +18,8 @@ import skaro.pokeapi.resource.movedamageclass.MoveDamageClass;
 import skaro.pokeapi.resource.movelearnmethod.MoveLearnMethod;
 import skaro.pokeapi.resource.movetarget.MoveTarget;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @CrossOrigin(origins = "*")
 @RequestMapping("/move")
@@ -34,31 +37,25 @@ class MovesApi extends BaseApiController
     // Moves
     @GetMapping(value = "")
     @ResponseBody
-    ResponseEntity<?> getMoves()
+    CompletableFuture<ResponseEntity<?>> getMoves()
     {
         LOGGER.info("getMoves");
-        try {
-            NamedApiResourceList<Move> moves = pokeApiClient.getResource(Move.class).block();
-            if (null != moves) return ResponseEntity.ok(moves);
-            else return ResponseEntity.badRequest().body("Could not access Move endpoint");
-        }
-        catch (Exception e) {
-            return ResponseEntity.internalServerError().body(e.getMessage());
-        }
+        return reactivePokeApiGateway.getResources(Move.class)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not access Move endpoint"))
+                .onErrorResume(e -> !isUnavailable(e), e -> Mono.just(ResponseEntity.internalServerError().body(e.getMessage())))
+                .toFuture();
     }
 
     @GetMapping(value = "/{id}")
-    ResponseEntity<?> getMove(@PathVariable(value = "id") String id)
+    CompletableFuture<ResponseEntity<?>> getMove(@PathVariable(value = "id") String id)
     {
         LOGGER.info("getMove {}", id);
-        try {
-            Move move = pokeApiClient.getResource(Move.class, id).block();
-            if (null != move) return ResponseEntity.ok(move);
-            else return ResponseEntity.badRequest().body("Could not find a move with " + id);
-        }
-        catch (Exception e) {
-            return ResponseEntity.internalServerError().body(e.getMessage());
-        }
+        return reactivePokeApiGateway.getResource(Move.class, id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not find a move with " + id))
+                .onErrorResume(e -> !isUnavailable(e), e -> Mono.just(ResponseEntity.internalServerError().body(e.getMessage())))
+                .toFuture();
     }
 
     // Move Ailment
@@ -68,11 +65,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveAilments");
         try {
-            NamedApiResourceList<MoveAilment> moveAilments = pokeApiClient.getResource(MoveAilment.class).block();
+            NamedApiResourceList<MoveAilment> moveAilments = pokeApiGateway.getResources(MoveAilment.class);
             if (null != moveAilments) return ResponseEntity.ok(moveAilments);
             else return ResponseEntity.badRequest().body("Could not access MoveAilment endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -82,11 +80,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveAilment {}", id);
         try {
-            MoveAilment moveAilment = pokeApiClient.getResource(MoveAilment.class, id).block();
+            MoveAilment moveAilment = pokeApiGateway.getResource(MoveAilment.class, id);
             if (null != moveAilment) return ResponseEntity.ok(moveAilment);
             else return ResponseEntity.badRequest().body("Could not find a moveAilment with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -98,11 +97,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveMoveBattleStyles");
         try {
-            NamedApiResourceList<MoveBattleStyle> moveAilments = pokeApiClient.getResource(MoveBattleStyle.class).block();
+            NamedApiResourceList<MoveBattleStyle> moveAilments = pokeApiGateway.getResources(MoveBattleStyle.class);
             if (null != moveAilments) return ResponseEntity.ok(moveAilments);
             else return ResponseEntity.badRequest().body("Could not access MoveBattleStyle endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -112,11 +112,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveBattleStyle {}", id);
         try {
-            MoveBattleStyle battleStyle = pokeApiClient.getResource(MoveBattleStyle.class, id).block();
+            MoveBattleStyle battleStyle = pokeApiGateway.getResource(MoveBattleStyle.class, id);
             if (null != battleStyle) return ResponseEntity.ok(battleStyle);
             else return ResponseEntity.badRequest().body("Could not find a battleStyle with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -128,11 +129,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getCategories");
         try {
-            NamedApiResourceList<MoveCategory> moveCategories = pokeApiClient.getResource(MoveCategory.class).block();
+            NamedApiResourceList<MoveCategory> moveCategories = pokeApiGateway.getResources(MoveCategory.class);
             if (null != moveCategories) return ResponseEntity.ok(moveCategories);
             else return ResponseEntity.badRequest().body("Could not access MoveCategory endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -142,11 +144,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveBattleStyle {}", id);
         try {
-            MoveCategory moveCategory = pokeApiClient.getResource(MoveCategory.class, id).block();
+            MoveCategory moveCategory = pokeApiGateway.getResource(MoveCategory.class, id);
             if (null != moveCategory) return ResponseEntity.ok(moveCategory);
             else return ResponseEntity.badRequest().body("Could not find a moveCategory with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -158,11 +161,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getDamageClasses");
         try {
-            NamedApiResourceList<MoveDamageClass> moveDamages = pokeApiClient.getResource(MoveDamageClass.class).block();
+            NamedApiResourceList<MoveDamageClass> moveDamages = pokeApiGateway.getResources(MoveDamageClass.class);
             if (null != moveDamages) return ResponseEntity.ok(moveDamages);
             else return ResponseEntity.badRequest().body("Could not access MoveDamageClass endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -172,11 +176,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveDamageClass {}", id);
         try {
-            MoveDamageClass moveDamageClass = pokeApiClient.getResource(MoveDamageClass.class, id).block();
+            MoveDamageClass moveDamageClass = pokeApiGateway.getResource(MoveDamageClass.class, id);
             if (null != moveDamageClass) return ResponseEntity.ok(moveDamageClass);
             else return ResponseEntity.badRequest().body("Could not find a moveDamageClass with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -188,11 +193,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getLearnMoves");
         try {
-            NamedApiResourceList<MoveLearnMethod> learnMoves = pokeApiClient.getResource(MoveLearnMethod.class).block();
+            NamedApiResourceList<MoveLearnMethod> learnMoves = pokeApiGateway.getResources(MoveLearnMethod.class);
             if (null != learnMoves) return ResponseEntity.ok(learnMoves);
             else return ResponseEntity.badRequest().body("Could not access MoveLearnMethod endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -202,11 +208,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveLearnMethod {}", id);
         try {
-            MoveLearnMethod moveLearnMethod = pokeApiClient.getResource(MoveLearnMethod.class, id).block();
+            MoveLearnMethod moveLearnMethod = pokeApiGateway.getResource(MoveLearnMethod.class, id);
             if (null != moveLearnMethod) return ResponseEntity.ok(moveLearnMethod);
             else return ResponseEntity.badRequest().body("Could not find a moveLearnMethod with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -218,11 +225,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getTargets");
         try {
-            NamedApiResourceList<MoveTarget> learnMoves = pokeApiClient.getResource(MoveTarget.class).block();
+            NamedApiResourceList<MoveTarget> learnMoves = pokeApiGateway.getResources(MoveTarget.class);
             if (null != learnMoves) return ResponseEntity.ok(learnMoves);
             else return ResponseEntity.badRequest().body("Could not access MoveTarget endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -232,11 +240,12 @@ class MovesApi extends BaseApiController
     {
         LOGGER.info("getMoveTarget {}", id);
         try {
-            MoveTarget moveTarget = pokeApiClient.getResource(MoveTarget.class, id).block();
+            MoveTarget moveTarget = pokeApiGateway.getResource(MoveTarget.class, id);
             if (null != moveTarget) return ResponseEntity.ok(moveTarget);
             else return ResponseEntity.badRequest().body("Could not find a moveTarget with " + id);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.nature.Nature;
 
@@ -36,11 +35,12 @@ public class NatureApi extends BaseApiController
     {
         LOGGER.info("getNatures");
         try {
-            NamedApiResourceList<Nature> natures = pokeApiClient.getResource(Nature.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<Nature> natures = pokeApiGateway.getResources(Nature.class, limit, offset);
             if (null != natures) return ResponseEntity.ok(natures);
             else return ResponseEntity.badRequest().body("Could not access Nature endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all Nature because " + e.getMessage());
         }
@@ -52,11 +52,12 @@ public class NatureApi extends BaseApiController
     {
         LOGGER.info("getNature {}", id);
         try {
-            Nature nature = pokeApiClient.getResource(Nature.class, id).block();
+            Nature nature = pokeApiGateway.getResource(Nature.class, id);
             if (null != nature) return ResponseEntity.ok(nature);
             else return ResponseEntity.badRequest().body("Could not access Nature endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -43,6 +43,7 @@ public class PokedexApi extends BaseApiController
             else return ResponseEntity.badRequest().body("Could not return Pokédex total");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch Pokédex because " + e.getMessage());
         }
@@ -6,18 +6,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
+import pokedexapi.service.AsyncPokemonService;
 import pokedexapi.service.PokemonLocationEncounterService;
 import pokedexapi.service.PokemonService;
+import reactor.core.publisher.Mono;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.FlavorText;
 import skaro.pokeapi.resource.NamedApiResource;
 import skaro.pokeapi.resource.NamedApiResourceList;
-import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
 import skaro.pokeapi.resource.pokemon.PokeathlonStat;
 import skaro.pokeapi.resource.pokemon.Pokemon;
 import skaro.pokeapi.resource.pokemoncolor.PokemonColor;
@@ -28,6 +29,7 @@ import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
 
 import java.net.http.HttpResponse;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static pokedexapi.utilities.Constants.*;
 
@@ -38,10 +40,13 @@ class PokemonApi extends BaseApiController
 {
     /* Logging instance */
     private static final Logger LOGGER = LogManager.getLogger(PokemonApi.class);
+    private final AsyncPokemonService asyncPokemonService;
 
-    PokemonApi(PokemonService pokemonService, PokeApiClient client, PokemonLocationEncounterService pokemonLocationEncounterService)
+    PokemonApi(PokemonService pokemonService, PokeApiClient client, PokemonLocationEncounterService pokemonLocationEncounterService,
+               AsyncPokemonService asyncPokemonService)
     {
         super(pokemonService, client, pokemonLocationEncounterService);
+        this.asyncPokemonService = asyncPokemonService;
     }
 
     // Pokeathlon Stat
@@ -52,11 +57,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getPokeathlonStats");
         try {
-            NamedApiResourceList<PokeathlonStat> pokeathlonStats = pokeApiClient.getResource(PokeathlonStat.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<PokeathlonStat> pokeathlonStats = pokeApiGateway.getResources(PokeathlonStat.class, limit, offset);
             if (null != pokeathlonStats) return ResponseEntity.ok(pokeathlonStats);
             else return ResponseEntity.badRequest().body("Could not access PokeathlonStat endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all PokeathlonStat because " + e.getMessage());
         }
@@ -68,11 +74,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getPokeathlonStat {}", id);
         try {
-            PokeathlonStat nature = pokeApiClient.getResource(PokeathlonStat.class, id).block();
+            PokeathlonStat nature = pokeApiGateway.getResource(PokeathlonStat.class, id);
             if (null != nature) return ResponseEntity.ok(nature);
             else return ResponseEntity.badRequest().body("Could not access PokeathlonStat endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -82,20 +89,18 @@ class PokemonApi extends BaseApiController
             @ApiResponse(responseCode = "400", description = "Bad request", content = @Content)})
     @GetMapping("")
     @ResponseBody
-    ResponseEntity<?> getAllPokemon(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                                    @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+    CompletableFuture<ResponseEntity<?>> getAllPokemon(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
+                                                       @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         LOGGER.info("getAllPokemon limit:{} offset:{}", limit, offset);
-        NamedApiResourceList<Pokemon> allPokemon;
-        try {
-            allPokemon = pokemonService.getAllPokemons(limit, offset);
-            if (null != allPokemon) return ResponseEntity.ok(allPokemon);
-            else return ResponseEntity.badRequest().body("Could not access Pokemon endpoint");
-        }
-        catch (Exception e) {
-            Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
-            return ResponseEntity.badRequest().body("Could not fetch all pokemon because " + e.getMessage());
-        }
+        return reactivePokeApiGateway.getResources(Pokemon.class, limit, offset)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not access Pokemon endpoint"))
+                .onErrorResume(e -> !isUnavailable(e), e -> {
+                    Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
+                    return Mono.just(ResponseEntity.badRequest().body("Could not fetch all pokemon because " + e.getMessage()));
+                })
+                .toFuture();
     }
 
     @Operation(summary = "Returns a Pokemon", responses = {
@@ -103,16 +108,17 @@ class PokemonApi extends BaseApiController
             @ApiResponse(responseCode = "400", description = "Bad request", content = @Content)})
     @GetMapping("/{nameOrId}")
     @ResponseBody
-    ResponseEntity<?> getAPokemon(@PathVariable("nameOrId") String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getAPokemon(@PathVariable("nameOrId") String nameOrId,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getAPokemon: {}", nameOrId);
-        Pokemon pokemon = retrievePokemon(nameOrId);
-        if (null != pokemon) {
-            return ResponseEntity.ok(pokemon);
-        } else {
-            LOGGER.warn("pokemon was not found!");
-            return ResponseEntity.badRequest().body(nameOrId + " was not found!");
-        }
+        return retrievePokemonAsync(nameOrId)
+                .<ResponseEntity<?>>map(pokemon -> rendered(Pokemon.class, pokemon.id(), pokemon, acceptEncoding))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.warn("pokemon was not found!");
+                    return ResponseEntity.badRequest().body(nameOrId + " was not found!");
+                }))
+                .toFuture();
     }
 
     // Pokemon Color
@@ -123,11 +129,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getColors limit:{} offset:{}", limit, offset);
         try {
-            NamedApiResourceList<PokemonColor> colors = pokeApiClient.getResource(PokemonColor.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<PokemonColor> colors = pokeApiGateway.getResources(PokemonColor.class, limit, offset);
             if (null != colors) return ResponseEntity.ok(colors);
             else return ResponseEntity.badRequest().body("Could not access PokemonColor endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all colors because " + e.getMessage());
         }
@@ -137,11 +144,12 @@ class PokemonApi extends BaseApiController
     ResponseEntity<?> getColor(@PathVariable("nameOrId") String nameOrId)
     {
         try {
-            PokemonColor color = pokeApiClient.getResource(PokemonColor.class, nameOrId).block();
+            PokemonColor color = pokeApiGateway.getResource(PokemonColor.class, nameOrId);
             if (null != color) return ResponseEntity.ok(color);
             else return ResponseEntity.badRequest().body("Could not access PokemonColor endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.badRequest().body(nameOrId + " doesn't have a species!");
         }
     }
@@ -154,11 +162,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getForms limit:{} offset:{}", limit, offset);
         try {
-            NamedApiResourceList<PokemonForm> forms = pokeApiClient.getResource(PokemonForm.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<PokemonForm> forms = pokeApiGateway.getResources(PokemonForm.class, limit, offset);
             if (null != forms) return ResponseEntity.ok(forms);
             else return ResponseEntity.badRequest().body("Could not access PokemonForm endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all forms because " + e.getMessage());
         }
@@ -169,11 +178,12 @@ class PokemonApi extends BaseApiController
     ResponseEntity<?> getForm(@PathVariable("nameOrId") String nameOrId)
     {
         try {
-            PokemonForm form = pokeApiClient.getResource(PokemonForm.class, nameOrId).block();
+            PokemonForm form = pokeApiGateway.getResource(PokemonForm.class, nameOrId);
             if (null != form) return ResponseEntity.ok(form);
             else return ResponseEntity.badRequest().body("Could not access PokemonForm endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.badRequest().body(nameOrId + " doesn't have a form!");
         }
     }
@@ -186,11 +196,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getHabitats limit:{} offset:{}", limit, offset);
         try {
-            NamedApiResourceList<PokemonHabitat> habitats = pokeApiClient.getResource(PokemonHabitat.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<PokemonHabitat> habitats = pokeApiGateway.getResources(PokemonHabitat.class, limit, offset);
             if (null != habitats) return ResponseEntity.ok(habitats);
             else return ResponseEntity.badRequest().body("Could not access PokemonHabitat endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all habitats because " + e.getMessage());
         }
@@ -201,11 +212,12 @@ class PokemonApi extends BaseApiController
     ResponseEntity<?> getHabitat(@PathVariable String nameOrId)
     {
         try {
-            PokemonHabitat habitat = pokeApiClient.getResource(PokemonHabitat.class, nameOrId).block();
+            PokemonHabitat habitat = pokeApiGateway.getResource(PokemonHabitat.class, nameOrId);
             if (null != habitat) return ResponseEntity.ok(habitat);
             else return ResponseEntity.badRequest().body("Could not access PokemonHabitat endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch habitat because " + e.getMessage());
         }
@@ -219,11 +231,12 @@ class PokemonApi extends BaseApiController
     {
         LOGGER.info("getShapes limit:{} offset:{}", limit, offset);
         try {
-            NamedApiResourceList<PokemonShape> shapes = pokeApiClient.getResource(PokemonShape.class, new PageQuery(limit, offset)).block();
+            NamedApiResourceList<PokemonShape> shapes = pokeApiGateway.getResources(PokemonShape.class, limit, offset);
             if (null != shapes) return ResponseEntity.ok(shapes);
             else return ResponseEntity.badRequest().body("Could not access PokemonShape endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch all shapes because " + e.getMessage());
         }
@@ -234,11 +247,12 @@ class PokemonApi extends BaseApiController
     ResponseEntity<?> getShape(@PathVariable("nameOrId") String nameOrId)
     {
         try {
-            PokemonShape shape = pokeApiClient.getResource(PokemonShape.class, nameOrId).block();
+            PokemonShape shape = pokeApiGateway.getResource(PokemonShape.class, nameOrId);
             if (null != shape) return ResponseEntity.ok(shape);
             else return ResponseEntity.badRequest().body("Could not access PokemonShape endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             Arrays.stream(e.getStackTrace()).forEach(LOGGER::error);
             return ResponseEntity.badRequest().body("Could not fetch shape because " + e.getMessage());
         }
@@ -247,74 +261,71 @@ class PokemonApi extends BaseApiController
     // Personal Endpoints
     @GetMapping(value = "/{nameOrId}/validateNameOrId")
     @ResponseBody
-    ResponseEntity<Boolean> validateNameOrId(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<Boolean>> validateNameOrId(@PathVariable String nameOrId)
     {
-        try {
-            Pokemon pokemon = retrievePokemon(nameOrId);
-            if (null != pokemon) {
-                LOGGER.info("valid nameOrId: {}", nameOrId);
-                return ResponseEntity.ok().body(true);
-            } else {
-                LOGGER.warn("invalid nameOrId: {}", nameOrId);
-                return ResponseEntity.notFound().build();
-            }
-        }
-        catch (Exception e) {
-            LOGGER.warn("There was an error fetching the Pokemon '{}' because {}", nameOrId, e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
+        return retrievePokemonAsync(nameOrId)
+                .map(pokemon -> {
+                    LOGGER.info("valid nameOrId: {}", nameOrId);
+                    return ResponseEntity.ok().body(true);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.warn("invalid nameOrId: {}", nameOrId);
+                    return ResponseEntity.notFound().build();
+                }))
+                .toFuture();
     }
 
     @GetMapping(value = "/{nameOrId}/description")
     @ResponseBody
-    ResponseEntity<?> getPokemonDescription(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getPokemonDescription(@PathVariable String nameOrId)
     {
         LOGGER.info("getPkmnDescription: {}", nameOrId);
-        List<FlavorText> pokemonDescriptions;
-        try {
-            Optional<PokemonSpecies> pokemonSpecies = pokeApiClient.getResource(PokemonSpecies.class, nameOrId).blockOptional();
-            pokemonDescriptions = pokemonSpecies.map(species -> species
-                    .getFlavorTextEntries().stream().filter(entry -> entry.getLanguage().name().equals("en"))
-                    .toList()).orElse(null);
-            assert pokemonDescriptions != null;
-            int randomEntry = new Random().nextInt(pokemonDescriptions.size());
-            String description = pokemonDescriptions.get(randomEntry).getFlavorText().replace("\n", " ");
-            LOGGER.info("description: {}", description);
-            return ResponseEntity.ok(description);
-        }
-        catch (Exception e) {
-            return ResponseEntity.badRequest().body(nameOrId + " text was not found!");
-        }
+        return asyncPokemonService.getPokemonSpeciesData(nameOrId)
+                .<ResponseEntity<?>>thenApply(species -> {
+                    List<FlavorText> pokemonDescriptions = Optional.ofNullable(species).map(s -> s
+                            .getFlavorTextEntries().stream().filter(entry -> entry.getLanguage().name().equals("en"))
+                            .toList()).orElse(null);
+                    assert pokemonDescriptions != null;
+                    int randomEntry = new Random().nextInt(pokemonDescriptions.size());
+                    String description = pokemonDescriptions.get(randomEntry).getFlavorText().replace("\n", " ");
+                    LOGGER.info("description: {}", description);
+                    return ResponseEntity.ok(description);
+                })
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    return ResponseEntity.badRequest().body(nameOrId + " text was not found!");
+                });
     }
 
     @Operation(summary = "Returns the PokemonColor as a NamedApiResource", responses = {
             @ApiResponse(description = "Successful Operation", responseCode = "200", content = @Content(mediaType = "application/json", schema = @Schema(implementation = NamedApiResource.class))),
             @ApiResponse(responseCode = "400", description = "Bad request", content = @Content)})
     @GetMapping(produces = "application/json", path = "/{nameOrId}/color")
-    ResponseEntity<?> getPokemonColor(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getPokemonColor(@PathVariable String nameOrId)
     {
-        PokemonSpecies speciesInfo;
-        try {
-            speciesInfo = pokeApiClient.getResource(PokemonSpecies.class, nameOrId).block();
-            if (speciesInfo != null) {
-                String colorOfPokemon = speciesInfo.getColor().name();
-                LOGGER.info("color: {}", colorOfPokemon);
-                return ResponseEntity.ok(speciesInfo.getColor());
-            }
-            else {
-                LOGGER.warn("No species info found for: {}", nameOrId);
-                return ResponseEntity.badRequest().body("Could not find species info for: " + nameOrId);
-            }
-        }
-        catch (Exception e) {
-            try { fallbackCallUrl(POKEMON_SPECIES_URL(nameOrId)); }
-            catch (Exception ex)
-            {
-                LOGGER.error("Error during fallback call: {}", ex.getMessage());
-                return ResponseEntity.internalServerError().build();
-            }
-        }
-        return ResponseEntity.notFound().build();
+        return asyncPokemonService.getPokemonSpeciesData(nameOrId)
+                .<ResponseEntity<?>>thenApply(speciesInfo -> {
+                    if (speciesInfo != null) {
+                        String colorOfPokemon = speciesInfo.getColor().name();
+                        LOGGER.info("color: {}", colorOfPokemon);
+                        return ResponseEntity.ok(speciesInfo.getColor());
+                    }
+                    else {
+                        LOGGER.warn("No species info found for: {}", nameOrId);
+                        return ResponseEntity.badRequest().body("Could not find species info for: " + nameOrId);
+                    }
+                })
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    try { fallbackCallUrl(POKEMON_SPECIES_URL(nameOrId)); }
+                    catch (Exception ex)
+                    {
+                        rethrowIfUnavailable(ex);
+                        LOGGER.error("Error during fallback call: {}", ex.getMessage());
+                        return ResponseEntity.internalServerError().build();
+                    }
+                    return ResponseEntity.notFound().build();
+                });
     }
 
     // just the names of the Location Areas
@@ -356,54 +367,65 @@ class PokemonApi extends BaseApiController
     // Pokemon Location Areas: All Location Areas in LocationApi
     @GetMapping(value = "/{nameOrId}/encounters")
     @ResponseBody
-    ResponseEntity<?> getPokemonEncounters(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getPokemonEncounters(@PathVariable String nameOrId,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getEncounters");
-        HttpResponse<String> encounters;
-        try {
-            encounters = pokemonService.callUrl(pokeApiBaseUrl + "pokemon/" + nameOrId + "/encounters");
-        }
-        catch (Exception e) {
-            LOGGER.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
-        return switch (encounters.statusCode()) {
-            case 200 -> ResponseEntity.ok(encounters.body());
-            case 400 -> ResponseEntity.badRequest().body("Could not access Encounters endpoint");
-            default -> ResponseEntity.internalServerError().body("Could not access Encounters endpoint");
-        };
+        return asyncPokemonService.streamUrl(pokeApiBaseUrl + "pokemon/" + nameOrId + "/encounters")
+                .<ResponseEntity<?>>thenApply(encounters -> passthrough(encounters, acceptEncoding, status -> status == 400
+                        ? ResponseEntity.badRequest().body("Could not access Encounters endpoint")
+                        : ResponseEntity.internalServerError().body("Could not access Encounters endpoint")))
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    LOGGER.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
     }
 
     @GetMapping(value = "/{nameOrId}/evolutionChain")
     @ResponseBody
-    ResponseEntity<?> getEvolutionChain(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getEvolutionChain(@PathVariable String nameOrId,
+                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getEvolutionChain for {}", nameOrId);
-        PokemonSpecies speciesData;
-        try {
-            speciesData = pokemonService.getPokemonSpeciesData(nameOrId);
-        }
-        catch (Exception e) {
-            LOGGER.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
-        if (speciesData == null) {
-            return ResponseEntity.badRequest().body("Could not find SpeciesData with value:" + nameOrId);
-        }
-        String chainUrl = speciesData.getEvolutionChain().url();
-        if (chainUrl == null) {
-            return ResponseEntity.badRequest().body("No chainUrl found for {}" + nameOrId);
-        }
+        int chainId = evolutionChainIndex == null ? 0 : evolutionChainIndex.chainOf(nameOrId);
+        CompletableFuture<ResponseEntity<?>> response = chainId > 0
+                ? getEvolutionChain(nameOrId, pokeApiBaseUrl + "evolution-chain/" + chainId + "/", acceptEncoding)
+                : asyncPokemonService.getPokemonSpeciesData(nameOrId)
+                .thenCompose(speciesData -> {
+                    if (speciesData == null) {
+                        return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Could not find SpeciesData with value:" + nameOrId));
+                    }
+                    String chainUrl = speciesData.getEvolutionChain().url();
+                    if (chainUrl == null) {
+                        return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("No chainUrl found for {}" + nameOrId));
+                    }
+                    return getEvolutionChain(nameOrId, chainUrl, acceptEncoding);
+                });
+        return response
+                .exceptionally(t -> {
+                    rethrowIfUnavailable(t);
+                    LOGGER.error("Error retrieving response because {}", unwrap(t).getMessage());
+                    return ResponseEntity.internalServerError().build();
+                });
+    }
+
+    /**
+     * Writes out an evolution chain as PokeAPI sent it. The raw cache holds the
+     * body already compressed, so a chain served before is neither parsed,
+     * serialized nor compressed again
+     *
+     * @param nameOrId       the Pokemon it was asked for
+     * @param chainUrl       the url of the chain
+     * @param acceptEncoding the Accept-Encoding of the request
+     * @return the chain, or a bad request if there is none
+     */
+    private CompletableFuture<ResponseEntity<?>> getEvolutionChain(String nameOrId, String chainUrl, String acceptEncoding)
+    {
         LOGGER.info("chainUrl: " + chainUrl);
-        EvolutionChain evolutionChain = null;
-        try {
-            evolutionChain = pokemonService.getPokemonEvolutionChain(chainUrl);
-        }
-        catch (Exception e) {
-            LOGGER.error("Error retrieving response because {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
-        }
-        if (evolutionChain != null) return ResponseEntity.ok(evolutionChain);
-        else return ResponseEntity.badRequest().body("Could not find evolutionChain with: " + nameOrId);
+        return asyncPokemonService.streamUrl(chainUrl)
+                .thenApply(evolutionChain -> passthrough(evolutionChain, acceptEncoding, status -> status == 404 || status == 400
+                        ? ResponseEntity.badRequest().body("Could not find evolutionChain with: " + nameOrId)
+                        : ResponseEntity.internalServerError().body("Could not access EvolutionChain endpoint")));
     }
 }
@@ -2,19 +2,19 @@ package pokedexapi.api;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pokedexapi.controllers.BaseApiController;
+import pokedexapi.service.AsyncPokemonService;
 import pokedexapi.service.PokemonService;
+import reactor.core.publisher.Mono;
 import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.query.PageQuery;
 import skaro.pokeapi.resource.NamedApiResource;
-import skaro.pokeapi.resource.NamedApiResourceList;
-import skaro.pokeapi.resource.pokemon.Pokemon;
 import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
 
-import java.net.http.HttpResponse;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -23,59 +23,58 @@ public class PokemonSpeciesApi extends BaseApiController
 {
     /* Logging instance */
     private static final Logger logger = LogManager.getLogger(PokemonSpeciesApi.class);
+    private final AsyncPokemonService asyncPokemonService;
 
-    PokemonSpeciesApi(PokemonService pokemonService, PokeApiClient client)
+    PokemonSpeciesApi(PokemonService pokemonService, PokeApiClient client, AsyncPokemonService asyncPokemonService)
     {
         super(pokemonService, client);
+        this.asyncPokemonService = asyncPokemonService;
     }
 
     @GetMapping("")
     @ResponseBody
-    ResponseEntity<?> getAllSpeciesData(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                                        @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+    CompletableFuture<ResponseEntity<?>> getAllSpeciesData(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
+                                                           @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
     {
         logger.info("getAllSpeciesData limit:{} offset:{}", limit, offset);
-        try {
-            NamedApiResourceList<PokemonSpecies> allSpeciesData = pokeApiClient.getResource(PokemonSpecies.class, new PageQuery(limit, offset)).block();
-            if (null != allSpeciesData) return ResponseEntity.ok(allSpeciesData);
-            else return ResponseEntity.badRequest().body("Could not access PokemonSpecies endpoint");
-        }
-        catch (Exception e) {
-            Arrays.stream(e.getStackTrace()).forEach(logger::error);
-            return ResponseEntity.badRequest().body("Could not fetch all species because " + e.getMessage());
-        }
+        return reactivePokeApiGateway.getResources(PokemonSpecies.class, limit, offset)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.badRequest().body("Could not access PokemonSpecies endpoint"))
+                .onErrorResume(e -> !isUnavailable(e), e -> {
+                    Arrays.stream(e.getStackTrace()).forEach(logger::error);
+                    return Mono.just(ResponseEntity.badRequest().body("Could not fetch all species because " + e.getMessage()));
+                })
+                .toFuture();
     }
 
     @RequestMapping(value = "/{nameOrId}", method = RequestMethod.GET)
     @ResponseBody
-    ResponseEntity<?> getPokemonSpeciesData(@PathVariable String nameOrId)
+    CompletableFuture<ResponseEntity<?>> getPokemonSpeciesData(@PathVariable String nameOrId,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         logger.info("getSpeciesData: {}", nameOrId);
-        try {
-            PokemonSpecies speciesData;
-            try {
-                speciesData = pokemonService.getPokemonSpeciesData(nameOrId);
-            }
-            catch (Exception e) {
-                speciesData = null;
-            }
-            if (speciesData != null) return ResponseEntity.ok(speciesData);
-            else {
-                Pokemon pokemonResource = retrievePokemon(nameOrId);
-                assert pokemonResource != null;
-                NamedApiResource<PokemonSpecies> speciesResource = pokemonResource.species();
-                if (null == speciesResource) {
-                    return ResponseEntity.noContent().build();
-                }
-                HttpResponse<String> response = pokemonService.callUrl(speciesResource.url());
-                // TODO: Convert response.body() to PokemonSpecies
-                if (response.statusCode() == 200) return ResponseEntity.ok(response.body());
-                else return ResponseEntity.badRequest().body("Could not find PokemonSpecies with: " + nameOrId);
-            }
-        }
-        catch (Exception e) {
-            Arrays.stream(e.getStackTrace()).forEach(logger::error);
-            return ResponseEntity.internalServerError().body(e.getMessage());
-        }
+        return knownNameFilter.lookup(PokemonSpecies.class, nameOrId, reactivePokeApiGateway.getResource(PokemonSpecies.class, nameOrId))
+                .onErrorResume(e -> !isUnavailable(e), e -> Mono.empty())
+                .<ResponseEntity<?>>map(species -> rendered(PokemonSpecies.class, species.getId(), species, acceptEncoding))
+                .switchIfEmpty(Mono.defer(() -> retrievePokemonAsync(nameOrId)
+                        .flatMap(pokemonResource -> {
+                            NamedApiResource<PokemonSpecies> speciesResource = pokemonResource.species();
+                            if (null == speciesResource) {
+                                return Mono.just(ResponseEntity.noContent().build());
+                            }
+                            return Mono.fromFuture(() -> asyncPokemonService.callUrl(speciesResource.url()))
+                                    // TODO: Convert response.body() to PokemonSpecies
+                                    .<ResponseEntity<?>>map(response -> {
+                                        if (response.statusCode() == 200) return ResponseEntity.ok(response.body());
+                                        else return ResponseEntity.badRequest().body("Could not find PokemonSpecies with: " + nameOrId);
+                                    });
+                        })
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException(nameOrId + " was not found!")))))
+                .onErrorResume(t -> !isUnavailable(t), t -> {
+                    Throwable e = unwrap(t);
+                    Arrays.stream(e.getStackTrace()).forEach(logger::error);
+                    return Mono.just(ResponseEntity.internalServerError().body(e.getMessage()));
+                })
+                .toFuture();
     }
 }
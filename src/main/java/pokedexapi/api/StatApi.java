@@ -3,8 +3,10 @@ package pokedexapi.api;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pokedexapi.cache.PassthroughBody;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
 import skaro.pokeapi.client.PokeApiClient;
@@ -30,22 +32,22 @@ public class StatApi extends BaseApiController
     @GetMapping("")
     @ResponseBody
     ResponseEntity<?> getStats(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                               @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+                               @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getPokemonStats limit:{} offset:{}", limit, offset);
-        HttpResponse<String> stats;
+        PassthroughBody stats;
         try {
-            stats = pokemonService.callUrl(pokeApiBaseUrl + "stat?limit=" + limit + "&offset=" + offset);
+            stats = pokemonService.streamUrl(pokeApiBaseUrl + "stat?limit=" + limit + "&offset=" + offset);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
-        return switch (stats.statusCode()) {
-            case 200 -> ResponseEntity.ok(stats.body());
-            case 400 -> ResponseEntity.badRequest().body("Could not access Stats endpoint");
-            default -> ResponseEntity.internalServerError().body("Could not access Stats endpoint");
-        };
+        return passthrough(stats, acceptEncoding, status -> status == 400
+                ? ResponseEntity.badRequest().body("Could not access Stats endpoint")
+                : ResponseEntity.internalServerError().body("Could not access Stats endpoint"));
     }
 
     @RequestMapping(value = "/{nameOrId}", method = RequestMethod.GET)
@@ -67,11 +69,12 @@ public class StatApi extends BaseApiController
 //        };
 
         try {
-            Stat stat = pokeApiClient.getResource(Stat.class, nameOrId).block();
+            Stat stat = pokeApiGateway.getResource(Stat.class, nameOrId);
             if (null != stat) return ResponseEntity.ok(stat);
             else return ResponseEntity.badRequest().body("Could not access Stat endpoint");
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
@@ -3,13 +3,19 @@ package pokedexapi.api;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pokedexapi.cache.PassthroughBody;
 import pokedexapi.controllers.BaseApiController;
 import pokedexapi.service.PokemonService;
+import pokedexapi.service.TypeChart;
 import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.pokemon.Pokemon;
 
-import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -18,51 +24,124 @@ public class TypeApi extends BaseApiController
 {
     /* Logging instance */
     private static final Logger LOGGER = LogManager.getLogger(TypeApi.class);
+    private final TypeChart typeChart;
 
     @Autowired
-    TypeApi(PokemonService pokemonService, PokeApiClient client)
+    TypeApi(PokemonService pokemonService, PokeApiClient client, TypeChart typeChart)
     {
         super(pokemonService, client);
+        this.typeChart = typeChart;
     }
 
     @GetMapping("")
     @ResponseBody
     ResponseEntity<?> getTypes(@RequestParam(value = "limit", required = false, defaultValue = "10") int limit,
-                               @RequestParam(value = "offset", required = false, defaultValue = "0") int offset)
+                               @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getType limit:{} offset:{}", limit, offset);
-        HttpResponse<String> types;
+        PassthroughBody types;
         try {
-            types = pokemonService.callUrl(pokeApiBaseUrl + "type?limit=" + limit + "&offset=" + offset);
+            types = pokemonService.streamUrl(pokeApiBaseUrl + "type?limit=" + limit + "&offset=" + offset);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
-        return switch (types.statusCode()) {
-            case 200 -> ResponseEntity.ok(types.body());
-            case 400 -> ResponseEntity.badRequest().body("Could not access Types endpoint");
-            default -> ResponseEntity.internalServerError().body("Could not access Types endpoint");
-        };
+        return passthrough(types, acceptEncoding, status -> status == 400
+                ? ResponseEntity.badRequest().body("Could not access Types endpoint")
+                : ResponseEntity.internalServerError().body("Could not access Types endpoint"));
     }
 
     @RequestMapping(value = "/{nameOrId}", method = RequestMethod.GET)
     @ResponseBody
-    ResponseEntity<?> getAPokemonsType(@PathVariable("nameOrId") String nameOrId)
+    ResponseEntity<?> getAPokemonsType(@PathVariable("nameOrId") String nameOrId,
+                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
     {
         LOGGER.info("getType {}", nameOrId);
-        HttpResponse<String> type;
+        PassthroughBody type;
         try {
-            type = pokemonService.callUrl(pokeApiBaseUrl + "type/" + nameOrId);
+            type = pokemonService.streamUrl(pokeApiBaseUrl + "type/" + nameOrId);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Error retrieving response because {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
-        return switch (type.statusCode()) {
-            case 200 -> ResponseEntity.ok(type.body());
-            case 400 -> ResponseEntity.badRequest().body("Could not access Type endpoint");
-            default -> ResponseEntity.internalServerError().body("Could not access Type endpoint");
-        };
+        return passthrough(type, acceptEncoding, status -> status == 400
+                ? ResponseEntity.badRequest().body("Could not access Type endpoint")
+                : ResponseEntity.internalServerError().body("Could not access Type endpoint"));
+    }
+
+    // Type chart, answered from memory
+    @GetMapping("/chart")
+    @ResponseBody
+    ResponseEntity<?> getTypeChart()
+    {
+        LOGGER.info("getTypeChart");
+        return chart(chart -> ResponseEntity.ok(chart.matchups(null, chart.names())));
+    }
+
+    /**
+     * Multipliers of attacking types against defenders, e.g.
+     * /type/matchups?attack=fire,water&amp;defend=grass/poison,ground
+     *
+     * @param attack the attacking types, every type if none are given
+     * @param defend the defenders, each one type or two written type/type
+     * @return the multiplier of each attack against each defender
+     */
+    @GetMapping("/matchups")
+    @ResponseBody
+    ResponseEntity<?> getMatchups(@RequestParam(value = "attack", required = false) List<String> attack,
+                                  @RequestParam(value = "defend") List<String> defend)
+    {
+        LOGGER.info("getMatchups attack:{} defend:{}", attack, defend);
+        return chart(chart -> {
+            try {
+                return ResponseEntity.ok(chart.matchups(attack, defend));
+            }
+            catch (IllegalArgumentException iae) {
+                return ResponseEntity.badRequest().body(iae.getMessage());
+            }
+        });
+    }
+
+    @GetMapping("/pokemon/{nameOrId}/weaknesses")
+    @ResponseBody
+    ResponseEntity<?> getWeaknesses(@PathVariable("nameOrId") String nameOrId)
+    {
+        LOGGER.info("getWeaknesses {}", nameOrId);
+        return chart(chart -> {
+            try {
+                Pokemon pokemon = pokemonService.getPokemonByIdOrName(nameOrId);
+                if (pokemon == null) return ResponseEntity.badRequest().body("Could not find Pokemon with value: " + nameOrId);
+                return ResponseEntity.ok(chart.weaknesses(pokemon.getName(), typeChart.typesOf(pokemon)));
+            }
+            catch (IllegalArgumentException iae) {
+                return ResponseEntity.badRequest().body(iae.getMessage());
+            }
+            catch (Exception e) {
+                rethrowIfUnavailable(e);
+                LOGGER.error("Error retrieving response because {}", e.getMessage());
+                return ResponseEntity.internalServerError().build();
+            }
+        });
+    }
+
+    /**
+     * Answers a query from the type chart, or 503 while it is still being built
+     *
+     * @param query the query
+     * @return the answer
+     */
+    private ResponseEntity<?> chart(Function<TypeChart.Chart, ResponseEntity<?>> query)
+    {
+        TypeChart.Chart chart = typeChart.chart();
+        if (chart.size() == 0) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("The type chart is not built yet");
+        }
+        return query.apply(chart);
     }
 }
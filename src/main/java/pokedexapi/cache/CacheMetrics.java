@@ -0,0 +1,121 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metrics every Caffeine cache of the service reports, tagged with
+ * the cache name: Caffeine's own stats (cache.gets, cache.puts,
+ * cache.evictions, cache.size...), plus the weight it holds, its
+ * evictions by cause and the time its loads take as a percentile timer
+ */
+public final class CacheMetrics
+{
+    private static final String LOAD = "pokedexapi.cache.load";
+    private static final String EVICTIONS = "pokedexapi.cache.evictions";
+    private static final String WEIGHT = "pokedexapi.cache.weight";
+
+    private CacheMetrics() {}
+
+    /**
+     * Binds the stats of a cache; the cache must be built with recordStats
+     *
+     * @param meterRegistry where the metrics go
+     * @param name          the cache name
+     * @param cache         the cache
+     */
+    public static void bind(MeterRegistry meterRegistry, String name, Cache<?, ?> cache)
+    {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        meterRegistry.gauge(WEIGHT, Tags.of("cache", name), cache, CacheMetrics::weight);
+    }
+
+    /**
+     * Counts an entry the cache let go of, if it was evicted rather than removed or replaced
+     *
+     * @param meterRegistry where the metrics go
+     * @param name          the cache name
+     * @param cause         why the entry left
+     */
+    public static void removed(MeterRegistry meterRegistry, String name, RemovalCause cause)
+    {
+        if (cause.wasEvicted()) evictions(meterRegistry, name, cause).increment();
+    }
+
+    /**
+     * @param meterRegistry where the metrics go
+     * @param name          the cache name
+     * @param result        success or failure
+     * @return the timer of the loads of the cache
+     */
+    public static Timer load(MeterRegistry meterRegistry, String name, String result)
+    {
+        return Timer.builder(LOAD)
+                .description("Time taken to load a cache entry from upstream")
+                .tags("cache", name, "result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Everything known about one cache, as the cachestats endpoint shows it
+     *
+     * @param meterRegistry where the load timers and eviction counters are
+     * @param name          the cache name
+     * @param cache         the cache
+     * @return the stats of the cache
+     */
+    public static Map<String, Object> snapshot(MeterRegistry meterRegistry, String name, Cache<?, ?> cache)
+    {
+        CacheStats stats = cache.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", cache.estimatedSize());
+        snapshot.put("weight", weight(cache));
+        snapshot.put("requests", stats.requestCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("missRate", stats.missRate());
+        snapshot.put("loads", stats.loadSuccessCount());
+        snapshot.put("loadFailures", stats.loadFailureCount());
+        Map<String, Object> loadMillis = new LinkedHashMap<>();
+        Timer loads = meterRegistry.find(LOAD).tags("cache", name, "result", "success").timer();
+        if (loads != null) {
+            loadMillis.put("count", loads.count());
+            loadMillis.put("mean", loads.mean(TimeUnit.MILLISECONDS));
+            loadMillis.put("max", loads.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : loads.takeSnapshot().percentileValues()) {
+                loadMillis.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        snapshot.put("loadMillis", loadMillis);
+        Map<String, Long> evictions = new LinkedHashMap<>();
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) evictions.put(cause.name().toLowerCase(Locale.ROOT), (long) evictions(meterRegistry, name, cause).count());
+        }
+        snapshot.put("evictions", evictions);
+        return snapshot;
+    }
+
+    private static Counter evictions(MeterRegistry meterRegistry, String name, RemovalCause cause)
+    {
+        return meterRegistry.counter(EVICTIONS, "cache", name, "cause", cause.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static double weight(Cache<?, ?> cache)
+    {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,78 @@
+package pokedexapi.cache;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * How one named entity cache is bounded. Every setting under
+ * pokedexapi.cache.entity can be overridden per cache, e.g.
+ * pokedexapi.cache.entity.type.pinned=true
+ *
+ * @param ttl          how long an entry is fresh after it is written, zero for no expiry
+ * @param refreshAfter when a fresh entry is reloaded in the background, zero to wait for the ttl
+ * @param maxStale     how long past its ttl an entry is still served while it is reloaded, or while upstream is down
+ * @param maxEntries   how many entries are held in memory, when no max weight is set
+ * @param maxWeight    how many bytes of serialized entries are held in memory, null for no weight bound
+ * @param pinned       reference data that never changes: kept in memory with no expiry and no bound
+ * @param disk         whether entries spill to the disk tier
+ */
+public record CachePolicy(Duration ttl, Duration refreshAfter, Duration maxStale, long maxEntries, DataSize maxWeight,
+                          boolean pinned, boolean disk)
+{
+    private static final String PREFIX = "pokedexapi.cache.entity.";
+
+    /**
+     * @param environment where the settings come from
+     * @param cacheName   the name of the cache
+     * @return the policy of the cache, its own settings over the common ones
+     */
+    public static CachePolicy of(Environment environment, String cacheName)
+    {
+        return new CachePolicy(
+                setting(environment, cacheName, "ttl", Duration.class, Duration.ofMinutes(60)),
+                setting(environment, cacheName, "refresh-after", Duration.class, Duration.ZERO),
+                setting(environment, cacheName, "max-stale", Duration.class, Duration.ZERO),
+                setting(environment, cacheName, "max-entries", Long.class, 10_000L),
+                setting(environment, cacheName, "max-weight", DataSize.class, null),
+                setting(environment, cacheName, "pinned", Boolean.class, false),
+                setting(environment, cacheName, "disk", Boolean.class, true));
+    }
+
+    /**
+     * @return how long an entry is kept in memory, null if it never expires
+     */
+    public Duration expireAfter()
+    {
+        if (pinned || ttl.isZero()) return null;
+        return ttl.plus(maxStale);
+    }
+
+    /**
+     * @return the age from which an entry is reloaded in the background and
+     * served as it is until the reload lands, null if entries are never refreshed
+     */
+    public Duration refreshAt()
+    {
+        if (expireAfter() == null) return null;
+        if (!refreshAfter.isZero() && refreshAfter.compareTo(ttl) < 0) return refreshAfter;
+        return maxStale.isZero() ? null : ttl;
+    }
+
+    @Override
+    public String toString()
+    {
+        if (pinned) return "pinned" + (disk ? ", disk" : "");
+        return "ttl=" + (ttl.isZero() ? "none" : ttl)
+                + (refreshAt() != null ? ", refresh-at=" + refreshAt() + ", max-stale=" + maxStale : "")
+                + (maxWeight != null ? ", max-weight=" + maxWeight : ", max-entries=" + maxEntries)
+                + (disk ? ", disk" : "");
+    }
+
+    private static <T> T setting(Environment environment, String cacheName, String name, Class<T> type, T defaultValue)
+    {
+        T common = environment.getProperty(PREFIX + name, type, defaultValue);
+        return environment.getProperty(PREFIX + cacheName + "." + name, type, common);
+    }
+}
@@ -0,0 +1,73 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Shows the hit rate, size, weight, load latency percentiles and evictions
+ * by cause of every cache at /actuator/cachestats: the entity caches, the
+ * raw upstream responses ("raw") and the rendered bodies ("rendered")
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint
+{
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final RawResponseCache rawResponseCache;
+    private final RenderedResponseCache renderedResponseCache;
+
+    @Autowired
+    public CacheStatsEndpoint(MeterRegistry meterRegistry, ObjectProvider<CacheManager> cacheManager,
+                              RawResponseCache rawResponseCache, RenderedResponseCache renderedResponseCache)
+    {
+        this.meterRegistry = meterRegistry;
+        this.cacheManager = cacheManager;
+        this.rawResponseCache = rawResponseCache;
+        this.renderedResponseCache = renderedResponseCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches()
+    {
+        Map<String, Object> caches = new TreeMap<>();
+        caches.put(RawResponseCache.NAME, CacheMetrics.snapshot(meterRegistry, RawResponseCache.NAME, rawResponseCache.nativeCache()));
+        caches.put(RenderedResponseCache.NAME, CacheMetrics.snapshot(meterRegistry, RenderedResponseCache.NAME, renderedResponseCache.nativeCache()));
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager != null) {
+            for (String name : manager.getCacheNames()) {
+                Map<String, Object> stats = cache(name);
+                if (stats != null) caches.put(name, stats);
+            }
+        }
+        return caches;
+    }
+
+    /**
+     * @param name the cache name
+     * @return the stats of the cache, null (a 404) if there is no such cache
+     */
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String name)
+    {
+        if (name.equals(RawResponseCache.NAME)) return CacheMetrics.snapshot(meterRegistry, name, rawResponseCache.nativeCache());
+        if (name.equals(RenderedResponseCache.NAME)) return CacheMetrics.snapshot(meterRegistry, name, renderedResponseCache.nativeCache());
+        CacheManager manager = cacheManager.getIfAvailable();
+        org.springframework.cache.Cache cache = manager == null || !manager.getCacheNames().contains(name) ? null : manager.getCache(name);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) return null;
+        Map<String, Object> stats = CacheMetrics.snapshot(meterRegistry, name, nativeCache);
+        if (manager instanceof TwoTierCacheManager twoTier && twoTier.policies().containsKey(name)) {
+            stats.put("policy", twoTier.policies().get(name).toString());
+        }
+        return stats;
+    }
+}
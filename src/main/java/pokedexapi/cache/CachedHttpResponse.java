@@ -0,0 +1,65 @@
+package pokedexapi.cache;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link HttpResponse} built from a {@link RawResponseCache} entry, so
+ * callers of callUrl see the same type whether the body came from the
+ * cache or was just read from upstream
+ *
+ * @param uri   the url the body was fetched from
+ * @param entry the cached entry
+ */
+record CachedHttpResponse(URI uri, RawResponseCache.Entry entry) implements HttpResponse<String>
+{
+    @Override
+    public int statusCode()
+    {
+        return entry.statusCode();
+    }
+
+    @Override
+    public HttpRequest request()
+    {
+        return HttpRequest.newBuilder(uri).GET().build();
+    }
+
+    @Override
+    public Optional<HttpResponse<String>> previousResponse()
+    {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpHeaders headers()
+    {
+        return HttpHeaders.of(Map.of("content-type", List.of(entry.contentType())), (name, value) -> true);
+    }
+
+    @Override
+    public String body()
+    {
+        return new String(entry.body(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Optional<SSLSession> sslSession()
+    {
+        return Optional.empty();
+    }
+
+    @Override
+    public HttpClient.Version version()
+    {
+        return HttpClient.Version.HTTP_1_1;
+    }
+}
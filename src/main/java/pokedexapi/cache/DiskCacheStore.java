@@ -0,0 +1,324 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The on-disk tier of one {@link TwoTierCache}. Every entry is a file
+ * named after the hash of its key, holding a one-line header (when the
+ * value was first cached, the class of the value and the key, url-encoded)
+ * followed by the value as JSON. The time is carried over from memory, not
+ * the time of the spill, so an entry read back is no younger than it was.
+ * Files are written to a temporary name and moved into place, so a
+ * reader never sees half an entry, and are dropped once older than the
+ * disk ttl.
+ * <p>
+ * Only values of the types the cache holds are read back: a header naming
+ * any other class is rejected before anything is decoded. On file systems
+ * with POSIX permissions the directory is kept to its owner.
+ * <p>
+ * The disk tier never fails a lookup: an entry that cannot be read or
+ * written is counted as an error and treated as absent.
+ */
+class DiskCacheStore
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(DiskCacheStore.class);
+    private static final String SUFFIX = ".json";
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private final String name;
+    private final Path directory;
+    private final JsonMapper jsonMapper;
+    private final List<Class<?>> valueTypes;
+    private final long ttlMillis;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param name          the name of the cache
+     * @param directory     where its entries are kept, created owner-only if missing
+     * @param jsonMapper    writes and reads the entries
+     * @param valueTypes    the types the values of the cache are; an entry of any other class is not read
+     * @param ttl           how long an entry is kept
+     * @param meterRegistry where loads, spills and errors are counted
+     */
+    DiskCacheStore(String name, Path directory, JsonMapper jsonMapper, List<Class<?>> valueTypes, Duration ttl,
+                   MeterRegistry meterRegistry)
+    {
+        this.name = name;
+        this.directory = directory;
+        this.jsonMapper = jsonMapper;
+        this.valueTypes = List.copyOf(valueTypes);
+        this.ttlMillis = ttl.toMillis();
+        this.meterRegistry = meterRegistry;
+        try {
+            createPrivateDirectory(directory);
+        }
+        catch (IOException ioe) {
+            throw new UncheckedIOException("Cannot create cache directory " + directory, ioe);
+        }
+    }
+
+    /**
+     * @param key the cache key
+     * @return the value stored for the key with when it was cached, or null if there is none or it has expired
+     */
+    Loaded load(Object key)
+    {
+        Path file = file(key);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        }
+        catch (NoSuchFileException nsfe) {
+            count("miss");
+            return null;
+        }
+        catch (IOException ioe) {
+            return failed("read", key, ioe);
+        }
+        try {
+            int newline = indexOf(bytes, (byte) '\n');
+            String[] header = new String(bytes, 0, newline, StandardCharsets.UTF_8).split(" ", 3);
+            long writtenAt = Long.parseLong(header[0]);
+            if (System.currentTimeMillis() - writtenAt >= ttlMillis) {
+                Files.deleteIfExists(file);
+                count("expired");
+                return null;
+            }
+            Class<?> type = Class.forName(header[1], false, DiskCacheStore.class.getClassLoader());
+            if (!accepts(type)) throw new IllegalArgumentException(type.getName() + " is not a " + name + " value");
+            Object value = jsonMapper.readValue(bytes, newline + 1, bytes.length - newline - 1, type);
+            count("load");
+            return new Loaded(value, writtenAt);
+        }
+        catch (Exception e) {
+            evict(key);
+            return failed("decode", key, e);
+        }
+    }
+
+    /**
+     * Writes a value evicted from memory, replacing any older copy
+     *
+     * @param key       the cache key
+     * @param value     the value
+     * @param writtenAt when the value was cached, in epoch millis
+     */
+    void spill(Object key, Object value, long writtenAt)
+    {
+        if (!accepts(value.getClass())) {
+            failed("write", key, new IllegalArgumentException(value.getClass().getName() + " is not a " + name + " value"));
+            return;
+        }
+        Path file = file(key);
+        try {
+            byte[] header = (writtenAt + " " + value.getClass().getName() + " "
+                    + URLEncoder.encode(String.valueOf(key), StandardCharsets.UTF_8) + "\n").getBytes(StandardCharsets.UTF_8);
+            byte[] body = jsonMapper.writeValueAsBytes(value);
+            Path temp = Files.createTempFile(directory, "spill", ".tmp");
+            try {
+                Files.write(temp, header);
+                Files.write(temp, body, StandardOpenOption.APPEND);
+                // sweep goes by the modified time
+                Files.setLastModifiedTime(temp, FileTime.fromMillis(writtenAt));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally {
+                Files.deleteIfExists(temp);
+            }
+            count("spill");
+        }
+        catch (Exception e) {
+            failed("write", key, e);
+        }
+    }
+
+    /**
+     * @param key the cache key whose copy is to be dropped
+     */
+    void evict(Object key)
+    {
+        try {
+            if (Files.deleteIfExists(file(key))) count("evict");
+        }
+        catch (IOException ioe) {
+            failed("delete", key, ioe);
+        }
+    }
+
+    /**
+     * Drops the entries whose key matches, reading only the header of each
+     * file; entries written before keys were kept in the header are left
+     * to expire
+     *
+     * @param key tells which keys to drop
+     * @return how many entries were dropped
+     */
+    long evictIf(Predicate<String> key)
+    {
+        AtomicLong evicted = new AtomicLong();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> {
+                        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                            String[] header = String.valueOf(reader.readLine()).split(" ", 3);
+                            if (header.length < 3 || !key.test(URLDecoder.decode(header[2], StandardCharsets.UTF_8))) return;
+                        }
+                        catch (IOException ioe) {
+                            LOGGER.debug("Failed to read {}: {}", file, ioe.getMessage());
+                            return;
+                        }
+                        try {
+                            if (Files.deleteIfExists(file)) {
+                                evicted.incrementAndGet();
+                                count("evict");
+                            }
+                        }
+                        catch (IOException ioe) {
+                            LOGGER.warn("Failed to delete {}: {}", file, ioe.getMessage());
+                        }
+                    });
+        }
+        catch (IOException ioe) {
+            LOGGER.warn("Failed to scan {}: {}", directory, ioe.getMessage());
+        }
+        return evicted.get();
+    }
+
+    /**
+     * Drops every entry
+     */
+    void clear()
+    {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                }
+                catch (IOException ioe) {
+                    LOGGER.warn("Failed to delete {}: {}", file, ioe.getMessage());
+                }
+            });
+        }
+        catch (IOException ioe) {
+            LOGGER.warn("Failed to clear {}: {}", directory, ioe.getMessage());
+        }
+    }
+
+    /**
+     * Drops the entries that have outlived the disk ttl, so a long-stopped
+     * instance does not start on a directory full of dead entries
+     */
+    void sweep()
+    {
+        long oldest = System.currentTimeMillis() - ttlMillis;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .forEach(file -> {
+                        try {
+                            if (Files.getLastModifiedTime(file).toMillis() < oldest && Files.deleteIfExists(file)) count("expired");
+                        }
+                        catch (IOException ioe) {
+                            LOGGER.debug("Failed to sweep {}: {}", file, ioe.getMessage());
+                        }
+                    });
+        }
+        catch (IOException ioe) {
+            LOGGER.warn("Failed to sweep {}: {}", directory, ioe.getMessage());
+        }
+    }
+
+    /**
+     * Creates a directory, and any missing parents, readable by its owner only
+     * where the file system has POSIX permissions
+     *
+     * @param directory the directory
+     * @throws IOException if it cannot be created, or is not ours to close up
+     */
+    static void createPrivateDirectory(Path directory) throws IOException
+    {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(directory);
+            return;
+        }
+        Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        // a directory left by an earlier version, or by someone else, is closed up or refused
+        Files.setPosixFilePermissions(directory, OWNER_ONLY);
+    }
+
+    /**
+     * @param type the class of a value
+     * @return whether values of the class belong in this cache
+     */
+    private boolean accepts(Class<?> type)
+    {
+        for (Class<?> valueType : valueTypes) {
+            if (valueType.isAssignableFrom(type)) return true;
+        }
+        return false;
+    }
+
+    private Path file(Object key)
+    {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(String.valueOf(key).getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash, 0, 16) + SUFFIX);
+        }
+        catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private Loaded failed(String action, Object key, Exception e)
+    {
+        count("error");
+        LOGGER.warn("Failed to {} {} entry {}: {}", action, name, key, e.getMessage());
+        return null;
+    }
+
+    private void count(String result)
+    {
+        meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", name, "result", result).increment();
+    }
+
+    /**
+     * A value read back from disk and when it was first cached
+     */
+    record Loaded(Object value, long writtenAt)
+    {
+    }
+
+    private static int indexOf(byte[] bytes, byte b)
+    {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == b) return i;
+        }
+        throw new IllegalArgumentException("no header");
+    }
+}
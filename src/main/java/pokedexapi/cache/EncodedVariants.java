@@ -0,0 +1,166 @@
+package pokedexapi.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A cached body together with its gzip and deflate encodings, compressed
+ * once when the cache is filled so a hit never compresses on the fly.
+ * Bodies too small to gain from it, or that do not shrink, are only kept
+ * as they are.
+ */
+public final class EncodedVariants
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(EncodedVariants.class);
+    /* Below this a compressed body saves less than the headers cost */
+    static final int MIN_COMPRESS_BYTES = 1024;
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    private final byte[] identity;
+    private final byte[] gzip;
+    private final byte[] deflate;
+
+    private EncodedVariants(byte[] identity, byte[] gzip, byte[] deflate)
+    {
+        this.identity = identity;
+        this.gzip = gzip;
+        this.deflate = deflate;
+    }
+
+    /**
+     * @param identity the body as upstream sent it
+     * @return the body with whichever encodings are worth keeping
+     */
+    public static EncodedVariants of(byte[] identity)
+    {
+        if (identity.length < MIN_COMPRESS_BYTES) return identityOnly(identity);
+        return new EncodedVariants(identity,
+                smaller(identity, compress(identity, GZIP)),
+                smaller(identity, compress(identity, DEFLATE)));
+    }
+
+    /**
+     * @param identity the body as upstream sent it
+     * @return the body without any other encoding, for bodies that are not cached
+     */
+    public static EncodedVariants identityOnly(byte[] identity)
+    {
+        return new EncodedVariants(identity, null, null);
+    }
+
+    /**
+     * @return the body as upstream sent it
+     */
+    public byte[] identity()
+    {
+        return identity;
+    }
+
+    /**
+     * @return true if there is an encoding to choose from
+     */
+    public boolean isCompressed()
+    {
+        return gzip != null || deflate != null;
+    }
+
+    /**
+     * @return the bytes held for every variant, for cache weighing
+     */
+    public long weight()
+    {
+        return identity.length + (gzip == null ? 0 : gzip.length) + (deflate == null ? 0 : deflate.length);
+    }
+
+    /**
+     * Picks the variant the client prefers from its Accept-Encoding;
+     * gzip wins a tie, and identity is used when nothing else is acceptable
+     *
+     * @param acceptEncoding the Accept-Encoding header, may be null
+     * @return the chosen variant
+     */
+    public Variant select(String acceptEncoding)
+    {
+        if (acceptEncoding == null || !isCompressed()) return new Variant(null, identity);
+        float gzipQ = gzip == null ? 0 : quality(acceptEncoding, GZIP);
+        float deflateQ = deflate == null ? 0 : quality(acceptEncoding, DEFLATE);
+        if (gzipQ > 0 && gzipQ >= deflateQ) return new Variant(GZIP, gzip);
+        if (deflateQ > 0) return new Variant(DEFLATE, deflate);
+        return new Variant(null, identity);
+    }
+
+    /**
+     * The q-value a client gives an encoding, 0 if it is not acceptable
+     *
+     * @param acceptEncoding the Accept-Encoding header
+     * @param encoding       the encoding to look for
+     * @return its q-value
+     */
+    static float quality(String acceptEncoding, String encoding)
+    {
+        float wildcard = 0;
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            float q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(param.substring(2));
+                    }
+                    catch (NumberFormatException nfe) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals(encoding)) return q;
+            if (name.equals("*")) wildcard = q;
+        }
+        return wildcard;
+    }
+
+    private static byte[] compress(byte[] identity, String encoding)
+    {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(identity.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream out = encoding.equals(GZIP)
+                ? new GZIPOutputStream(compressed) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}
+                : new DeflaterOutputStream(compressed, deflater)) {
+            out.write(identity);
+        }
+        catch (IOException ioe) {
+            LOGGER.warn("Failed to {} a cached body: {}", encoding, ioe.getMessage());
+            return null;
+        }
+        finally {
+            // a Deflater handed to DeflaterOutputStream is not ended by close
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] smaller(byte[] identity, byte[] compressed)
+    {
+        return compressed != null && compressed.length < identity.length ? compressed : null;
+    }
+
+    /**
+     * One encoding of the body
+     *
+     * @param encoding the Content-Encoding, null for identity
+     * @param bytes    the encoded body
+     */
+    public record Variant(String encoding, byte[] bytes)
+    {
+    }
+}
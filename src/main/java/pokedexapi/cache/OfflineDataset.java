@@ -0,0 +1,255 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot of PokeAPI served from local, memory-mapped files, so the
+ * whole API can be answered with no upstream call at all. The snapshot is
+ * written by {@link OfflineDatasetWriter}: per resource family, one data
+ * file with the JSON bodies back to back and one index of where each body
+ * starts, under its id and its name. The index is read into memory on
+ * open; bodies are read straight from the mapped data files.
+ * <p>
+ * Lists are answered from the full list of a family, paged on request.
+ * Entities decoded from the snapshot are kept, so the same instance is
+ * handed out again and the rendered response cache keeps matching.
+ */
+public class OfflineDataset
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(OfflineDataset.class);
+    static final int MAGIC = 0x504B4458;
+    static final String DATA = ".dat";
+    static final String INDEX = ".idx";
+    static final String API_ROOT = "/api/v2/";
+    private final String pokeApiBaseUrl;
+    private final String host;
+    private final JsonMapper jsonMapper;
+    private final Map<String, ByteBuffer> data = new HashMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private final Map<String, JsonNode> lists = new ConcurrentHashMap<>();
+    private final Cache<String, Object> decoded;
+
+    private OfflineDataset(String pokeApiBaseUrl, JsonMapper jsonMapper, long maxDecoded)
+    {
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.host = String.valueOf(URI.create(this.pokeApiBaseUrl).getHost()).toLowerCase(Locale.ROOT);
+        this.jsonMapper = jsonMapper;
+        this.decoded = Caffeine.newBuilder().maximumSize(maxDecoded).build();
+    }
+
+    /**
+     * Maps every family of a snapshot
+     *
+     * @param directory      where the snapshot was written
+     * @param pokeApiBaseUrl the base url the snapshot stands in for
+     * @param jsonMapper     decodes entities
+     * @param maxDecoded     how many decoded entities are kept
+     * @return the dataset
+     * @throws IOException if the snapshot cannot be read
+     */
+    public static OfflineDataset open(Path directory, String pokeApiBaseUrl, JsonMapper jsonMapper, long maxDecoded) throws IOException
+    {
+        OfflineDataset dataset = new OfflineDataset(pokeApiBaseUrl, jsonMapper, maxDecoded);
+        List<Path> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.filter(file -> file.getFileName().toString().endsWith(INDEX)).sorted().toList();
+        }
+        if (indexes.isEmpty()) throw new IOException("No offline dataset in " + directory);
+        for (Path indexFile : indexes) {
+            String fileName = indexFile.getFileName().toString();
+            dataset.map(fileName.substring(0, fileName.length() - INDEX.length()), directory);
+        }
+        LOGGER.info("offline dataset {}: {} families, {} keys", directory, dataset.data.size(), dataset.index.size());
+        return dataset;
+    }
+
+    /**
+     * @param url a PokeAPI url, absolute or relative to the host
+     * @return whether the url is answered by the dataset rather than upstream
+     */
+    public boolean covers(String url)
+    {
+        try {
+            URI uri = URI.create(url.trim());
+            return (uri.getHost() == null || uri.getHost().toLowerCase(Locale.ROOT).equals(host))
+                    && uri.getPath() != null && uri.getPath().contains(API_ROOT);
+        }
+        catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param url a PokeAPI url
+     * @return the JSON body stored for the url, or null if the snapshot does not have it
+     */
+    public byte[] body(String url)
+    {
+        URI uri = URI.create(url.trim());
+        String key = key(uri.getPath());
+        Location location = index.get(key);
+        if (location == null) return null;
+        if (key.contains("/")) return read(location);
+        // a list, paged the way PokeAPI pages it
+        return page(key, uri.getRawQuery() == null ? "" : uri.getRawQuery());
+    }
+
+    /**
+     * The typed form of {@link #body(String)}
+     *
+     * @param url  a PokeAPI url
+     * @param type what the body is decoded into
+     * @return the decoded resource, or null if the snapshot does not have it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T resource(String url, Class<?> type)
+    {
+        String cacheKey = type.getName() + " " + url;
+        Object resource = decoded.getIfPresent(cacheKey);
+        if (resource != null) return (T) resource;
+        byte[] body = body(url);
+        if (body == null) return null;
+        resource = jsonMapper.readValue(body, type);
+        decoded.put(cacheKey, resource);
+        return (T) resource;
+    }
+
+    /**
+     * The raw form of {@link #body(String)}, as callUrl hands it out
+     *
+     * @param url a PokeAPI url
+     * @return the body with status 200, or a 404 if the snapshot does not have it
+     */
+    public HttpResponse<String> response(String url)
+    {
+        return new CachedHttpResponse(URI.create(url.trim()), entry(url));
+    }
+
+    /**
+     * The streaming form of {@link #body(String)}, as streamUrl hands it out
+     *
+     * @param url a PokeAPI url
+     * @return the body with status 200, or a 404 if the snapshot does not have it
+     */
+    public PassthroughBody open(String url)
+    {
+        return PassthroughBody.of(entry(url));
+    }
+
+    private RawResponseCache.Entry entry(String url)
+    {
+        byte[] body = body(url);
+        if (body == null) {
+            return new RawResponseCache.Entry(EncodedVariants.identityOnly("{\"detail\":\"Not found.\"}".getBytes(StandardCharsets.UTF_8)), 404,
+                    "application/json", null, null, Long.MAX_VALUE);
+        }
+        return new RawResponseCache.Entry(EncodedVariants.identityOnly(body), 200, "application/json", null, null, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param path the path of a url, or of a resource in a dump (api/v2/pokemon/25)
+     * @return the key the resource is indexed under, e.g. pokemon/25 or pokemon/25/encounters
+     */
+    static String key(String path)
+    {
+        // a path relative to a dump (api/v2/pokemon/25) has no leading slash
+        String key = path == null ? "" : path.startsWith("/") || path.contains("://") ? path : "/" + path;
+        int root = key.indexOf(API_ROOT);
+        if (root >= 0) key = key.substring(root + API_ROOT.length());
+        key = key.replaceAll("/{2,}", "/");
+        if (key.startsWith("/")) key = key.substring(1);
+        if (key.endsWith("/")) key = key.substring(0, key.length() - 1);
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A page of the full list of a family
+     *
+     * @param family the family
+     * @param query  the limit and offset, as PokeAPI takes them
+     * @return the page as PokeAPI would answer it
+     */
+    private byte[] page(String family, String query)
+    {
+        int limit = 20;
+        int offset = 0;
+        for (String parameter : query.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair.length < 2) continue;
+            try {
+                if (pair[0].equals("limit")) limit = Math.max(0, Integer.parseInt(pair[1]));
+                else if (pair[0].equals("offset")) offset = Math.max(0, Integer.parseInt(pair[1]));
+            }
+            catch (NumberFormatException nfe) {
+                return null;
+            }
+        }
+        JsonNode results = lists.computeIfAbsent(family, f -> jsonMapper.readTree(read(index.get(f))).get("results"));
+        int count = results.size();
+        List<JsonNode> pageResults = new ArrayList<>();
+        for (int i = offset; i < Math.min(count, offset + limit); i++) pageResults.add(results.get(i));
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", count);
+        page.put("next", offset + limit < count ? pokeApiBaseUrl + family + "?offset=" + (offset + limit) + "&limit=" + limit : null);
+        page.put("previous", offset > 0 ? pokeApiBaseUrl + family + "?offset=" + Math.max(0, offset - limit) + "&limit=" + limit : null);
+        page.put("results", pageResults);
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    private byte[] read(Location location)
+    {
+        byte[] body = new byte[location.length()];
+        data.get(location.family()).get(location.offset(), body);
+        return body;
+    }
+
+    private void map(String family, Path directory) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(directory.resolve(family + DATA), StandardOpenOption.READ)) {
+            data.put(family, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        try (InputStream file = Files.newInputStream(directory.resolve(family + INDEX));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not an offline dataset index: " + family + INDEX);
+            int keys = in.readInt();
+            for (int i = 0; i < keys; i++) {
+                String key = in.readUTF();
+                index.put(key, new Location(family, in.readInt(), in.readInt()));
+            }
+        }
+    }
+
+    /**
+     * Where a body is in the data file of its family
+     */
+    private record Location(String family, int offset, int length)
+    {
+    }
+}
@@ -0,0 +1,144 @@
+package pokedexapi.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Builds the snapshot served by the offline profile, either from a static
+ * dump laid out like PokeAPI's api-data repository (every resource in
+ * api/v2/&lt;family&gt;/&lt;id&gt;/index.json) or by crawling a running PokeAPI.
+ * <pre>
+ * java -cp pokedexapi.jar -Dloader.main=pokedexapi.cache.OfflineDatasetImporter \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --out /var/lib/pokedexapi/offline (--dump api-data/data | --crawl https://pokeapi.co/api/v2/) \
+ *     [--families pokemon,pokemon-species,...] [--concurrency 8]
+ * </pre>
+ * A crawl takes every family PokeAPI lists at its root unless given some,
+ * and fetches the encounters of every Pokemon along with it.
+ */
+public final class OfflineDatasetImporter
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(OfflineDatasetImporter.class);
+    private static final String DEFAULT_BASE_URL = "https://pokeapi.co/api/v2/";
+
+    private OfflineDatasetImporter() {}
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        if (!options.containsKey("out") || options.containsKey("dump") == options.containsKey("crawl")) {
+            System.err.println("usage: --out <dir> (--dump <api-data dir> | --crawl <base url>) [--families a,b] [--concurrency n]");
+            System.exit(2);
+        }
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        String baseUrl = options.getOrDefault("crawl", options.getOrDefault("base-url", DEFAULT_BASE_URL));
+        List<String> families = options.containsKey("families") ? Arrays.asList(options.get("families").split(",")) : List.of();
+        try (OfflineDatasetWriter writer = new OfflineDatasetWriter(Path.of(options.get("out")), baseUrl, jsonMapper)) {
+            if (options.containsKey("dump")) importDump(Path.of(options.get("dump")), families, writer);
+            else crawl(baseUrl, families, Integer.parseInt(options.getOrDefault("concurrency", "8")), jsonMapper, writer);
+        }
+    }
+
+    /**
+     * Adds every index.json under a dump
+     *
+     * @param dump     the root of the dump
+     * @param families the families to take, all of them if empty
+     * @param writer   where the resources go
+     * @throws IOException if the dump cannot be read
+     */
+    static void importDump(Path dump, List<String> families, OfflineDatasetWriter writer) throws IOException
+    {
+        AtomicInteger imported = new AtomicInteger();
+        try (Stream<Path> files = Files.walk(dump)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().equals("index.json"))::iterator) {
+                String path = dump.relativize(file.getParent()).toString().replace('\\', '/');
+                String key = OfflineDataset.key(path);
+                // the root and family lists (api/v2/pokemon/index.json) are built from the resources instead
+                if (!key.contains("/")) continue;
+                if (!families.isEmpty() && !families.contains(key.split("/")[0])) continue;
+                writer.add(key, Files.readAllBytes(file));
+                imported.incrementAndGet();
+            }
+        }
+        LOGGER.info("imported {} resources from {}", imported.get(), dump);
+    }
+
+    /**
+     * Lists every family and fetches every resource in it
+     *
+     * @param baseUrl     the PokeAPI to crawl
+     * @param families    the families to take, every family PokeAPI lists if empty
+     * @param concurrency how many fetches run at once
+     * @param jsonMapper  reads the lists
+     * @param writer      where the resources go
+     * @throws Exception if a list cannot be fetched
+     */
+    static void crawl(String baseUrl, List<String> families, int concurrency, JsonMapper jsonMapper, OfflineDatasetWriter writer) throws Exception
+    {
+        String base = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).followRedirects(HttpClient.Redirect.NORMAL).build();
+        List<String> toCrawl = families.isEmpty() ? new ArrayList<>(jsonMapper.readTree(get(client, base)).propertyNames()) : families;
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        AtomicInteger failed = new AtomicInteger();
+        for (String family : toCrawl) {
+            JsonNode results = jsonMapper.readTree(get(client, base + family + "?limit=100000&offset=0")).get("results");
+            List<String> urls = new ArrayList<>();
+            results.forEach(result -> {
+                String url = result.get("url").asString();
+                urls.add(url);
+                if (family.equals("pokemon")) urls.add(url + "encounters");
+            });
+            try (ExecutorService fetches = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("offline-crawl-", 0).factory())) {
+                for (String url : urls) {
+                    permits.acquire();
+                    fetches.execute(() -> {
+                        try {
+                            writer.add(URI.create(url).getPath(), get(client, url));
+                        }
+                        catch (Exception e) {
+                            failed.incrementAndGet();
+                            LOGGER.warn("Failed to fetch {}: {}", url, e.getMessage());
+                        }
+                        finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
+            LOGGER.info("crawled {}: {} resources", family, urls.size());
+        }
+        if (failed.get() > 0) LOGGER.warn("{} resources could not be fetched and are missing from the snapshot", failed.get());
+    }
+
+    private static byte[] get(HttpClient client, String url) throws IOException, InterruptedException
+    {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) throw new IOException(url + " returned " + response.statusCode());
+        return response.body();
+    }
+}
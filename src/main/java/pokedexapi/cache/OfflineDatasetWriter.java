@@ -0,0 +1,204 @@
+package pokedexapi.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes an {@link OfflineDataset} snapshot. Bodies are appended to the
+ * data file of their family as they come; a resource with an id and a
+ * name is indexed under both and goes into the list of its family, and
+ * its sub-resources (pokemon/25/encounters) are indexed under both as
+ * well. The indexes and lists are written on close.
+ * <p>
+ * Only reserving room in a data file and indexing are serialized; the
+ * body is read and written to its place outside the lock, so concurrent
+ * crawl fetches do not queue behind each other's disk writes.
+ */
+public class OfflineDatasetWriter implements Closeable
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(OfflineDatasetWriter.class);
+    private final Path directory;
+    private final String pokeApiBaseUrl;
+    private final JsonMapper jsonMapper;
+    private final Map<String, Family> families = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param directory      where the snapshot is written
+     * @param pokeApiBaseUrl the base url the urls in the lists are given under
+     * @param jsonMapper     reads the id and name of every resource
+     * @throws IOException if the directory cannot be created
+     */
+    public OfflineDatasetWriter(Path directory, String pokeApiBaseUrl, JsonMapper jsonMapper) throws IOException
+    {
+        this.directory = Files.createDirectories(directory);
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Adds one body to the snapshot
+     *
+     * @param path the path of the resource, e.g. pokemon/25 or /api/v2/pokemon/25/encounters/
+     * @param body the JSON body
+     * @throws IOException if the body cannot be written
+     */
+    public void add(String path, byte[] body) throws IOException
+    {
+        String key = OfflineDataset.key(path);
+        String[] segments = key.split("/");
+        if (segments.length < 2) return; // lists are built from the resources themselves
+        JsonNode resource = segments.length == 2 ? jsonMapper.readTree(body) : null;
+        Family family;
+        int[] location;
+        lock.lock();
+        try {
+            family = families.get(segments[0]);
+            if (family == null) {
+                family = new Family(FileChannel.open(directory.resolve(segments[0] + OfflineDataset.DATA),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+                families.put(segments[0], family);
+            }
+            if ((long) family.size + body.length > Integer.MAX_VALUE) throw new IOException(segments[0] + " does not fit one data file");
+            location = new int[]{family.size, body.length};
+            family.size += body.length;
+            family.index.put(key, location);
+            if (resource != null) {
+                JsonNode name = resource.get("name");
+                JsonNode id = resource.get("id");
+                if (name != null && name.isString()) family.index.put(segments[0] + "/" + name.asString().toLowerCase(Locale.ROOT), location);
+                if (id != null && id.isNumber()) {
+                    family.list.put(id.asInt(), name != null && name.isString() ? name.asString() : null);
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        write(family.data, body, location[0]);
+    }
+
+    /**
+     * Writes the lists and indexes of every family
+     *
+     * @throws IOException if they cannot be written
+     */
+    @Override
+    public void close() throws IOException
+    {
+        lock.lock();
+        try {
+            for (Map.Entry<String, Family> entry : families.entrySet()) {
+                finish(entry.getKey(), entry.getValue());
+            }
+            families.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the list and index of one family
+     *
+     * @param name   the family
+     * @param family what was added to it
+     * @throws IOException if they cannot be written
+     */
+    private void finish(String name, Family family) throws IOException
+    {
+        List<Map<String, String>> results = family.list.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(resource -> {
+                    Map<String, String> result = new LinkedHashMap<>();
+                    if (resource.getValue() != null) result.put("name", resource.getValue());
+                    result.put("url", pokeApiBaseUrl + name + "/" + resource.getKey() + "/");
+                    return result;
+                })
+                .toList();
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("count", results.size());
+        page.put("next", null);
+        page.put("previous", null);
+        page.put("results", results);
+        byte[] list = jsonMapper.writeValueAsBytes(page);
+        family.index.put(name, new int[]{family.size, list.length});
+        write(family.data, list, family.size);
+        family.data.close();
+
+        // sub-resources are looked up by the name of their resource as often as by its id
+        Map<String, int[]> byName = new TreeMap<>();
+        for (Map.Entry<String, int[]> key : family.index.entrySet()) {
+            String[] segments = key.getKey().split("/", 3);
+            if (segments.length < 3 || !segments[1].chars().allMatch(Character::isDigit)) continue;
+            String resourceName = family.list.get(Integer.parseInt(segments[1]));
+            if (resourceName != null) byName.put(name + "/" + resourceName.toLowerCase(Locale.ROOT) + "/" + segments[2], key.getValue());
+        }
+        family.index.putAll(byName);
+
+        try (OutputStream file = Files.newOutputStream(directory.resolve(name + OfflineDataset.INDEX));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(OfflineDataset.MAGIC);
+            out.writeInt(family.index.size());
+            for (Map.Entry<String, int[]> key : family.index.entrySet()) {
+                out.writeUTF(key.getKey());
+                out.writeInt(key.getValue()[0]);
+                out.writeInt(key.getValue()[1]);
+            }
+        }
+        LOGGER.info("wrote {}: {} resources, {} bytes", name, family.list.size(), family.size + list.length);
+    }
+
+    /**
+     * Writes bytes at their place in a data file; positional writes to one
+     * channel are safe from several threads at once
+     *
+     * @param data     the data file
+     * @param bytes    what to write
+     * @param position where it goes
+     * @throws IOException if it cannot be written
+     */
+    private static void write(FileChannel data, byte[] bytes, long position) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) position += data.write(buffer, position);
+    }
+
+    /**
+     * The data file, index and list of one family as it is written
+     */
+    private static final class Family
+    {
+        private final FileChannel data;
+        private final Map<String, int[]> index = new TreeMap<>();
+        private final Map<Integer, String> list = new HashMap<>();
+        private int size;
+
+        private Family(FileChannel data)
+        {
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package pokedexapi.cache;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+/**
+ * A raw upstream body on its way to the client, either the bytes of a
+ * {@link RawResponseCache} entry or the live upstream stream, together
+ * with the upstream headers worth passing on. The body is read once; a
+ * caller that does not hand it on must close it.
+ *
+ * @param statusCode the upstream status
+ * @param headers    the headers to send along with the body
+ * @param stream     the body
+ * @param variants   the precompressed forms of a cached body, null for a live one
+ */
+public record PassthroughBody(int statusCode, HttpHeaders headers, InputStream stream,
+                              EncodedVariants variants) implements Closeable
+{
+    /* Upstream headers that describe the body rather than the connection */
+    private static final String[] FORWARDED = {
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL
+    };
+
+    /**
+     * @param entry a cached entry
+     * @return its body, with the headers it was cached with
+     */
+    static PassthroughBody of(RawResponseCache.Entry entry)
+    {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, entry.contentType());
+        headers.setContentLength(entry.body().length);
+        if (entry.etag() != null) headers.set(HttpHeaders.ETAG, entry.etag());
+        if (entry.lastModified() != null) headers.set(HttpHeaders.LAST_MODIFIED, entry.lastModified());
+        return new PassthroughBody(entry.statusCode(), headers, new ByteArrayInputStream(entry.body()), entry.variants());
+    }
+
+    /**
+     * @param response a live upstream response
+     * @param stream   its body, possibly wrapped
+     * @return the body, with the upstream headers that describe it
+     */
+    static PassthroughBody of(HttpResponse<?> response, InputStream stream)
+    {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : FORWARDED) {
+            response.headers().firstValue(name).ifPresent(value -> headers.set(name, value));
+        }
+        if (!headers.containsHeader(HttpHeaders.CONTENT_TYPE)) headers.set(HttpHeaders.CONTENT_TYPE, "application/json");
+        return new PassthroughBody(response.statusCode(), headers, stream, null);
+    }
+
+    /**
+     * Swaps a cached body for the precompressed variant the client accepts,
+     * so a hit is never compressed on the fly
+     *
+     * @param acceptEncoding the Accept-Encoding of the request, may be null
+     * @return the body to send, this one if it has no variants
+     */
+    public PassthroughBody encodedFor(String acceptEncoding)
+    {
+        if (variants == null || !variants.isCompressed()) return this;
+        HttpHeaders encoded = new HttpHeaders();
+        encoded.addAll(headers);
+        // caches in between must not hand a gzip body to a client that did not ask for one
+        encoded.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        EncodedVariants.Variant variant = variants.select(acceptEncoding);
+        if (variant.encoding() == null) return new PassthroughBody(statusCode, encoded, stream, variants);
+        encoded.set(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        encoded.setContentLength(variant.bytes().length);
+        String etag = encoded.getETag();
+        // a strong validator names one representation, so each encoding gets its own
+        if (etag != null && etag.startsWith("\"")) {
+            encoded.setETag(etag.substring(0, etag.length() - 1) + "-" + variant.encoding() + "\"");
+        }
+        return new PassthroughBody(statusCode, encoded, new ByteArrayInputStream(variant.bytes()), variants);
+    }
+
+    /**
+     * @return the body as a resource that is copied straight to the client
+     * without ever being held whole
+     */
+    public Resource resource()
+    {
+        return new InputStreamResource(stream);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        stream.close();
+    }
+}
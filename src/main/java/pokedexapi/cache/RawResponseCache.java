@@ -0,0 +1,455 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokedexapi.upstream.UpstreamHttpClient;
+import pokedexapi.upstream.UpstreamUrls;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Caches the raw bodies callUrl hands back to the passthrough endpoints
+ * (type, gender, stat, characteristic, machine, evolution, encounters).
+ * Bodies are kept as bytes, keyed by url, together with the upstream
+ * ETag and Last-Modified. An entry is served as-is while fresh according
+ * to the upstream Cache-Control max-age (or the default ttl); once stale
+ * it is revalidated with a conditional GET, and a 304 only moves its
+ * expiry forward.
+ * <p>
+ * The open methods hand the same bodies out as a {@link PassthroughBody}
+ * for streaming: a miss is copied into the cache as it is read through to
+ * the client rather than being read whole first. Cached bodies are also
+ * kept gzip and deflate encoded, compressed once when they are stored.
+ */
+@Component
+public class RawResponseCache
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(RawResponseCache.class);
+    private static final long NO_STORE = -1;
+    public static final String NAME = "raw";
+    private final UpstreamHttpClient upstreamHttpClient;
+    private final MeterRegistry meterRegistry;
+    private final String cacheablePrefix;
+    private final Duration defaultTtl;
+    private final long maxBytes;
+    private final Cache<String, Entry> cache;
+
+    @Autowired
+    public RawResponseCache(UpstreamHttpClient upstreamHttpClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                            @Value("${pokedexapi.cache.raw.max-bytes:67108864}") long maxBytes,
+                            @Value("${pokedexapi.cache.raw.default-ttl:10m}") Duration defaultTtl,
+                            @Value("${pokedexapi.cache.raw.retention:24h}") Duration retention)
+    {
+        this.upstreamHttpClient = upstreamHttpClient;
+        this.meterRegistry = meterRegistry;
+        this.cacheablePrefix = UpstreamUrls.normalize(pokeApiBaseUrl);
+        this.defaultTtl = defaultTtl;
+        this.maxBytes = maxBytes;
+        // entries outlive their freshness so a stale entry can still be revalidated
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String url, Entry entry) -> (int) Math.min(Integer.MAX_VALUE, url.length() + entry.variants().weight()))
+                .expireAfterWrite(retention)
+                .removalListener((String url, Entry entry, RemovalCause cause) -> CacheMetrics.removed(meterRegistry, NAME, cause))
+                .recordStats()
+                .build();
+        meterRegistry.gauge("pokedexapi.cache.raw.bytes", cache,
+                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        CacheMetrics.bind(meterRegistry, NAME, cache);
+    }
+
+    /**
+     * Returns the cached response for the url if it is still fresh
+     *
+     * @param url the url to look up
+     * @return the cached response or null
+     */
+    public HttpResponse<String> getIfFresh(String url)
+    {
+        Entry entry = cache.getIfPresent(UpstreamUrls.normalize(url));
+        if (entry == null || !entry.isFresh(System.currentTimeMillis())) return null;
+        count("hit");
+        return new CachedHttpResponse(URI.create(url), entry);
+    }
+
+    /**
+     * Returns the cached response for the url even if it is past its
+     * freshness, for when upstream cannot be asked
+     *
+     * @param url the url to look up
+     * @return the cached response or null
+     */
+    public HttpResponse<String> getStale(String url)
+    {
+        Entry entry = cache.getIfPresent(UpstreamUrls.normalize(url));
+        if (entry == null) return null;
+        count("stale");
+        return new CachedHttpResponse(URI.create(url), entry);
+    }
+
+    /**
+     * Returns the cached body for the url if it is still fresh
+     *
+     * @param url the url to look up
+     * @return the cached body or null
+     */
+    public PassthroughBody openIfFresh(String url)
+    {
+        Entry entry = cache.getIfPresent(UpstreamUrls.normalize(url));
+        if (entry == null || !entry.isFresh(System.currentTimeMillis())) return null;
+        count("hit");
+        return PassthroughBody.of(entry);
+    }
+
+    /**
+     * Returns the cached body for the url even if it is past its
+     * freshness, for when upstream cannot be asked
+     *
+     * @param url the url to look up
+     * @return the cached body or null
+     */
+    public PassthroughBody openStale(String url)
+    {
+        Entry entry = cache.getIfPresent(UpstreamUrls.normalize(url));
+        if (entry == null) return null;
+        count("stale");
+        return PassthroughBody.of(entry);
+    }
+
+    /**
+     * The streaming form of {@link #fetch(String)}. Returns once upstream
+     * has sent its headers; a cacheable 200 is added to the cache when the
+     * caller has read it to the end. Anything but a 200 is read whole, as
+     * error bodies are small and a retried attempt must not hold on to its
+     * connection.
+     *
+     * @param url the url to fetch
+     * @return the body, cached or live
+     * @throws URISyntaxException   if the url is malformed
+     * @throws IOException          if the request could not be sent
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public PassthroughBody open(String url) throws URISyntaxException, IOException, InterruptedException
+    {
+        String key = UpstreamUrls.normalize(url);
+        if (!key.startsWith(cacheablePrefix)) {
+            return streamed(upstreamHttpClient.send(upstreamHttpClient.newRequest(url).GET().build(),
+                    HttpResponse.BodyHandlers.ofInputStream()), null);
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh(now)) {
+            count("hit");
+            return PassthroughBody.of(cached);
+        }
+        HttpResponse<InputStream> response = send(conditionalRequest(url, cached), HttpResponse.BodyHandlers.ofInputStream());
+        long freshFor = freshnessMillis(response.headers(), defaultTtl);
+
+        if (response.statusCode() == 304 && cached != null) {
+            response.body().close();
+            return PassthroughBody.of(revalidated(key, cached, now, freshFor));
+        }
+        count("miss");
+        if (response.statusCode() != 200 || freshFor == NO_STORE) return streamed(response, null);
+        Entry headersOnly = entryOf(response, new byte[0], now, freshFor);
+        return streamed(response, body -> cache.put(key, headersOnly.withBody(body)));
+    }
+
+    /**
+     * Fetches the url, answering from the cache when fresh and
+     * revalidating with a conditional GET when stale
+     *
+     * @param url the url to fetch
+     * @return the response, cached or live
+     * @throws URISyntaxException   if the url is malformed
+     * @throws IOException          if the request could not be sent
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public HttpResponse<String> fetch(String url) throws URISyntaxException, IOException, InterruptedException
+    {
+        String key = UpstreamUrls.normalize(url);
+        if (!key.startsWith(cacheablePrefix)) return upstreamHttpClient.get(url);
+
+        long now = System.currentTimeMillis();
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh(now)) {
+            count("hit");
+            return new CachedHttpResponse(URI.create(url), cached);
+        }
+        HttpResponse<byte[]> response = send(conditionalRequest(url, cached), HttpResponse.BodyHandlers.ofByteArray());
+        long freshFor = freshnessMillis(response.headers(), defaultTtl);
+
+        if (response.statusCode() == 304 && cached != null) {
+            return new CachedHttpResponse(URI.create(url), revalidated(key, cached, now, freshFor));
+        }
+        count("miss");
+        Entry entry = entryOf(response, response.body(), now, freshFor);
+        if (response.statusCode() == 200 && freshFor != NO_STORE) {
+            entry = entry.withBody(entry.body());
+            cache.put(key, entry);
+        }
+        return new CachedHttpResponse(response.uri(), entry);
+    }
+
+    /**
+     * @return how many responses are held
+     */
+    public long size()
+    {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Drops the responses whose url matches; PokeAPI urls are matched
+     * relative to the base url, e.g. pokemon-species/1
+     *
+     * @param key tells which urls to drop
+     * @return how many were dropped
+     */
+    public long invalidateIf(Predicate<String> key)
+    {
+        long invalidated = 0;
+        for (String url : cache.asMap().keySet()) {
+            String relative = url.startsWith(cacheablePrefix + "/") ? url.substring(cacheablePrefix.length() + 1) : url;
+            if (key.test(relative) && cache.asMap().remove(url) != null) invalidated++;
+        }
+        LOGGER.info("{}: {} responses invalidated", NAME, invalidated);
+        return invalidated;
+    }
+
+    /**
+     * @return the entries, for the cachestats endpoint
+     */
+    Cache<String, Entry> nativeCache()
+    {
+        return cache;
+    }
+
+    /**
+     * Sends a request for a cacheable url, timing it as a load of the cache
+     *
+     * @param request     the request
+     * @param bodyHandler how the body is read
+     * @return the response
+     * @throws IOException          if the request could not be sent
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException, InterruptedException
+    {
+        long start = System.nanoTime();
+        String result = "failure";
+        try {
+            HttpResponse<T> response = upstreamHttpClient.send(request, bodyHandler);
+            if (response.statusCode() < 500) result = "success";
+            return response;
+        }
+        finally {
+            CacheMetrics.load(meterRegistry, NAME, result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private HttpRequest conditionalRequest(String url, Entry cached) throws URISyntaxException
+    {
+        HttpRequest.Builder request = upstreamHttpClient.newRequest(url).GET();
+        if (cached != null) {
+            if (cached.etag() != null) request.header("If-None-Match", cached.etag());
+            if (cached.lastModified() != null) request.header("If-Modified-Since", cached.lastModified());
+        }
+        return request.build();
+    }
+
+    private Entry revalidated(String key, Entry cached, long now, long freshFor)
+    {
+        Entry revalidated = cached.withExpiry(now + Math.max(freshFor, 0));
+        cache.put(key, revalidated);
+        count("revalidated");
+        LOGGER.debug("revalidated {}", key);
+        return revalidated;
+    }
+
+    private static Entry entryOf(HttpResponse<?> response, byte[] body, long now, long freshFor)
+    {
+        return new Entry(EncodedVariants.identityOnly(body), response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse("application/json"),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null),
+                now + Math.max(freshFor, 0));
+    }
+
+    /**
+     * Hands a live body on as a stream, or reads it whole when it is not a 200
+     *
+     * @param response the live response
+     * @param fill     takes the complete body once it has been read through, null if it is not to be cached
+     * @return the body
+     * @throws IOException if a non-200 body could not be read
+     */
+    private PassthroughBody streamed(HttpResponse<InputStream> response, Consumer<byte[]> fill) throws IOException
+    {
+        if (response.statusCode() != 200) {
+            try (InputStream body = response.body()) {
+                return PassthroughBody.of(response, new ByteArrayInputStream(body.readAllBytes()));
+            }
+        }
+        return PassthroughBody.of(response, fill == null ? response.body() : new CacheFill(response.body(), maxBytes, fill));
+    }
+
+    /**
+     * How long a response may be served without revalidating, from its
+     * Cache-Control header, or the default ttl when it does not say
+     *
+     * @param headers    the response headers
+     * @param defaultTtl used when there is no max-age
+     * @return milliseconds of freshness, or -1 when the response must not be stored
+     */
+    static long freshnessMillis(HttpHeaders headers, Duration defaultTtl)
+    {
+        String cacheControl = headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+        long age = headers.firstValueAsLong("Age").orElse(0L);
+        long maxAge = -1;
+        for (String directive : cacheControl.split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store")) return NO_STORE;
+            if (directive.equals("no-cache")) return 0;
+            if (directive.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                }
+                catch (NumberFormatException nfe) {
+                    LOGGER.debug("ignoring malformed {}", directive);
+                }
+            }
+        }
+        if (maxAge < 0) return defaultTtl.toMillis();
+        return Math.max(maxAge - age, 0) * 1000;
+    }
+
+    private void count(String result)
+    {
+        meterRegistry.counter("pokedexapi.cache.raw.requests", "result", result).increment();
+    }
+
+    /**
+     * A cached upstream body, its precompressed variants, and what is
+     * needed to revalidate it
+     */
+    record Entry(EncodedVariants variants, int statusCode, String contentType, String etag, String lastModified, long expiresAt)
+    {
+        byte[] body()
+        {
+            return variants.identity();
+        }
+
+        boolean isFresh(long now)
+        {
+            return now < expiresAt;
+        }
+
+        Entry withExpiry(long newExpiresAt)
+        {
+            return new Entry(variants, statusCode, contentType, etag, lastModified, newExpiresAt);
+        }
+
+        /**
+         * @param newBody the complete body, about to be cached
+         * @return this entry holding the body and its compressed variants
+         */
+        Entry withBody(byte[] newBody)
+        {
+            return new Entry(EncodedVariants.of(newBody), statusCode, contentType, etag, lastModified, expiresAt);
+        }
+    }
+
+    /**
+     * Copies a body into memory as it is read through, and hands the copy
+     * on once the end is reached. A body that is closed early or grows
+     * past the size of the whole cache is not kept.
+     */
+    private static final class CacheFill extends FilterInputStream
+    {
+        private final long limit;
+        private final Consumer<byte[]> fill;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        CacheFill(InputStream in, long limit, Consumer<byte[]> fill)
+        {
+            super(in);
+            this.limit = limit;
+            this.fill = fill;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if (b < 0) complete();
+            else if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int n = super.read(buffer, offset, length);
+            if (n < 0) complete();
+            else if (copy != null) {
+                copy.write(buffer, offset, n);
+                checkLimit();
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException
+        {
+            // skipped bytes never reach the copy
+            copy = null;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return false;
+        }
+
+        private void checkLimit()
+        {
+            if (copy.size() > limit) copy = null;
+        }
+
+        private void complete()
+        {
+            if (copy == null) return;
+            fill.accept(copy.toByteArray());
+            copy = null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokedexapi.upstream.UpstreamUrls;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the JSON bytes of hot entities (a Pokemon with its moves, species)
+ * so a request for an entity already rendered writes the bytes out without
+ * walking the object graph again. Evolution chains are not parsed at all and
+ * go out from the raw cache as PokeAPI sent them. Entries are keyed by
+ * family, id and projection (pokemon-species/1#full) and remember,
+ * weakly, which entity instance they were rendered from: once the entity
+ * cache evicts or refreshes that instance the bytes no longer match and
+ * are rendered again, so invalidation follows the entity cache without
+ * being told.
+ * <p>
+ * Rendered bodies are stored with their gzip and deflate variants.
+ */
+@Component
+public class RenderedResponseCache
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(RenderedResponseCache.class);
+    public static final String NAME = "rendered";
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Rendered> cache;
+
+    @Autowired
+    public RenderedResponseCache(@Qualifier("jsonMapper") JsonMapper jsonMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${pokedexapi.cache.rendered.max-bytes:33554432}") long maxBytes,
+                                 @Value("${pokedexapi.cache.rendered.ttl:60m}") Duration ttl)
+    {
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Rendered rendered) -> (int) Math.min(Integer.MAX_VALUE, key.length() + rendered.body().weight()))
+                .expireAfterWrite(ttl)
+                .removalListener((String key, Rendered rendered, RemovalCause cause) -> CacheMetrics.removed(meterRegistry, NAME, cause))
+                .recordStats()
+                .build();
+        meterRegistry.gauge("pokedexapi.cache.rendered.bytes", cache,
+                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+        CacheMetrics.bind(meterRegistry, NAME, cache);
+    }
+
+    /**
+     * The JSON bytes of the entity, rendered once per entity instance
+     *
+     * @param type       the resource class
+     * @param id         the id of the entity
+     * @param projection which view of the entity is rendered
+     * @param entity     the entity as the entity cache handed it out
+     * @return the rendered body and its compressed variants
+     */
+    public EncodedVariants render(Class<?> type, Object id, String projection, Object entity)
+    {
+        String key = UpstreamUrls.resourcePath(type) + "/" + id + "#" + projection;
+        Rendered rendered = cache.getIfPresent(key);
+        if (rendered != null && rendered.source().get() == entity) {
+            count("hit");
+            return rendered.body();
+        }
+        count(rendered == null ? "miss" : "invalidated");
+        long start = System.nanoTime();
+        EncodedVariants body = EncodedVariants.of(jsonMapper.writeValueAsBytes(entity));
+        CacheMetrics.load(meterRegistry, NAME, "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        cache.put(key, new Rendered(new WeakReference<>(entity), body));
+        LOGGER.debug("rendered {} ({} bytes)", key, body.identity().length);
+        return body;
+    }
+
+    /**
+     * @return how many bodies are held
+     */
+    public long size()
+    {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Drops the bodies whose key matches
+     *
+     * @param key tells which keys, e.g. pokemon-species/1#full, to drop
+     * @return how many were dropped
+     */
+    public long invalidateIf(Predicate<String> key)
+    {
+        long invalidated = 0;
+        for (String k : cache.asMap().keySet()) {
+            if (key.test(k) && cache.asMap().remove(k) != null) invalidated++;
+        }
+        LOGGER.info("{}: {} bodies invalidated", NAME, invalidated);
+        return invalidated;
+    }
+
+    /**
+     * @return the rendered bodies, for the cachestats endpoint
+     */
+    Cache<String, ?> nativeCache()
+    {
+        return cache;
+    }
+
+    private void count(String result)
+    {
+        meterRegistry.counter("pokedexapi.cache.rendered.requests", "result", result).increment();
+    }
+
+    /**
+     * Rendered bytes and the entity instance they came from
+     */
+    private record Rendered(WeakReference<Object> source, EncodedVariants body)
+    {
+    }
+}
@@ -0,0 +1,164 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokedexapi.upstream.UpstreamUrls;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns every spelling of a resource key (pikachu, Pikachu, 25, 025) into
+ * the one numeric id before the lookup reaches the request coalescer and
+ * the entity cache, so a UI that mixes names and ids fetches and caches
+ * each resource once. Names are learned from the resources fetched by
+ * name and from the full lists read by the known-name filter; a name not
+ * learned yet is passed on lowercased. Only the configured families are
+ * canonicalized.
+ * <p>
+ * The aliases are written next to the disk cache on shutdown and read
+ * back on start, so a restarted instance resolves names at once.
+ */
+@Component
+public class ResourceAliases implements DisposableBean
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(ResourceAliases.class);
+    private static final String FILE = "aliases.json";
+    private final JsonMapper jsonMapper;
+    private final List<String> families;
+    private final Path file;
+    private final Map<String, Map<String, Integer>> aliases = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResourceAliases(@Qualifier("jsonMapper") JsonMapper jsonMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${pokedexapi.cache.aliases.families:pokemon,pokemon-species}") List<String> families,
+                           @Value("${pokedexapi.cache.disk.enabled:true}") boolean diskEnabled,
+                           @Value("${pokedexapi.cache.disk.directory:${user.home}/.pokedexapi/cache}") String diskDirectory)
+    {
+        this.jsonMapper = jsonMapper;
+        this.families = families.stream().map(String::trim).filter(f -> !f.isEmpty()).toList();
+        this.file = diskEnabled ? Path.of(diskDirectory, FILE) : null;
+        this.families.forEach(family -> aliases.put(family, new ConcurrentHashMap<>()));
+        load();
+        this.families.forEach(family -> meterRegistry.gauge("pokedexapi.cache.aliases", Tags.of("family", family), aliases.get(family), Map::size));
+    }
+
+    /**
+     * @param type     the resource class
+     * @param nameOrId the name or id as the caller gave it
+     * @return the id the key is known under, else the key lowercased; the key as given for other families
+     */
+    public String canonical(Class<?> type, String nameOrId)
+    {
+        Map<String, Integer> family = aliases.get(UpstreamUrls.resourcePath(type));
+        if (family == null || nameOrId == null) return nameOrId;
+        String key = nameOrId.trim().toLowerCase(Locale.ROOT);
+        if (isId(key)) return String.valueOf(Integer.parseInt(key));
+        Integer id = family.get(key);
+        return id == null ? key : id.toString();
+    }
+
+    /**
+     * Learns the id of a resource that was looked up by name. Keys that
+     * were already ids or known names cost nothing; a new name reads the
+     * id off the resource once
+     *
+     * @param type      the resource class
+     * @param requested the key the resource was looked up with, after {@link #canonical}
+     * @param resource  the resource, may be null
+     */
+    public void learn(Class<?> type, String requested, Object resource)
+    {
+        String family = UpstreamUrls.resourcePath(type);
+        if (resource == null || requested == null || !aliases.containsKey(family) || isId(requested)) return;
+        try {
+            JsonNode tree = jsonMapper.valueToTree(resource);
+            int id = tree.path("id").asInt(0);
+            if (id <= 0) return;
+            learn(family, requested, id);
+            if (tree.path("name").isString()) learn(family, tree.path("name").asString(), id);
+        }
+        catch (Exception e) {
+            LOGGER.debug("Failed to read the id of {} {}: {}", family, requested, e.getMessage());
+        }
+    }
+
+    /**
+     * @param family the PokeAPI endpoint name, e.g. pokemon-species
+     * @param name   a name of the resource
+     * @param id     its id
+     */
+    public void learn(String family, String name, int id)
+    {
+        Map<String, Integer> known = aliases.get(family);
+        if (known != null && name != null && !name.isBlank()) known.put(name.trim().toLowerCase(Locale.ROOT), id);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (file == null) return;
+        try {
+            DiskCacheStore.createPrivateDirectory(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "aliases", ".tmp");
+            try {
+                jsonMapper.writeValue(temp.toFile(), new TreeMap<>(aliases));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally {
+                Files.deleteIfExists(temp);
+            }
+            LOGGER.info("saved aliases to {}", file);
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to save aliases to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads back the aliases of the families still configured
+     */
+    private void load()
+    {
+        if (file == null) return;
+        try {
+            Map<String, Map<String, Integer>> saved = jsonMapper.readValue(Files.readAllBytes(file), new TypeReference<>()
+            {
+            });
+            saved.forEach((family, names) -> {
+                if (aliases.containsKey(family)) aliases.get(family).putAll(names);
+            });
+            LOGGER.info("loaded aliases from {}", file);
+        }
+        catch (NoSuchFileException nsfe) {
+            LOGGER.debug("No aliases saved at {}", file);
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to load aliases from {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean isId(String key)
+    {
+        return !key.isEmpty() && key.length() <= 9 && key.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
+}
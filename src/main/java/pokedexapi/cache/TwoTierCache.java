@@ -0,0 +1,387 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A Spring cache with a Caffeine tier in memory and a {@link DiskCacheStore}
+ * behind it. Lookups that miss memory check disk before reporting a miss,
+ * and promote what they find back into memory; entries evicted from
+ * memory for size are spilled to disk. A cache whose policy keeps it off
+ * disk has no disk tier and is a plain Caffeine cache.
+ * <p>
+ * Entries older than the refresh age of the cache's policy are served
+ * stale while one reload runs: in the background on the refresh executor
+ * when the caller hands over a loader, otherwise by reporting a miss to
+ * the one caller that gets to reload it. A reload that fails leaves the
+ * stale entry in place, so it keeps being served until it expires.
+ * <p>
+ * Every entry carries the time it was cached. It goes to disk with the
+ * entry and comes back with it, so an entry promoted from disk, or read
+ * after a restart, keeps only what was left of its ttl and is refreshed
+ * as soon as it is due rather than starting over.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(TwoTierCache.class);
+    /* how long a reload has to land before another caller may start one */
+    private static final long REFRESH_LEASE_NANOS = Duration.ofSeconds(30).toNanos();
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> memory;
+    private final DiskCacheStore disk;
+    private final long expireAfterNanos;
+    private final Duration refreshAt;
+    private final Ticker ticker;
+    private final LongSupplier clock;
+    private final Executor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Object, Long> refreshing = new ConcurrentHashMap<>();
+
+    /**
+     * @param name            the cache name
+     * @param memory          the memory tier, bounded by the cache's policy
+     * @param expireAfter     the age at which entries expire, null if they never do
+     * @param disk            the disk tier, null if the cache has none
+     * @param refreshAt       the age from which entries are reloaded, null if they never are
+     * @param ticker          the clock entry ages in memory are read from
+     * @param clock           the wall clock, in epoch millis, write times on disk are kept in
+     * @param refreshExecutor runs the background reloads
+     * @param meterRegistry   where loads and evictions are recorded
+     */
+    TwoTierCache(String name, Caffeine<Object, Object> memory, Duration expireAfter, DiskCacheStore disk,
+                 Duration refreshAt, Ticker ticker, LongSupplier clock, Executor refreshExecutor, MeterRegistry meterRegistry)
+    {
+        super(true);
+        this.name = name;
+        this.disk = disk;
+        this.expireAfterNanos = expireAfter == null ? Long.MAX_VALUE : expireAfter.toNanos();
+        this.refreshAt = refreshAt;
+        this.ticker = ticker;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.meterRegistry = meterRegistry;
+        if (expireAfter != null) memory.expireAfter(new SinceWritten());
+        // the listener runs on Caffeine's executor, so spilling never holds up the caller
+        this.memory = memory
+                .ticker(ticker)
+                .removalListener((Object key, Object value, RemovalCause cause) -> {
+                    CacheMetrics.removed(meterRegistry, name, cause);
+                    if (cause == RemovalCause.SIZE && disk != null) spill(key, (Entry) value);
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache()
+    {
+        return memory;
+    }
+
+    @Override
+    protected Object lookup(Object key)
+    {
+        Entry entry = present(key);
+        if (entry == null) return null;
+        // with no loader at hand, one caller is told it missed and reloads; the rest are served stale
+        if (due(entry) && claim(key)) {
+            LOGGER.debug("{} entry {} handed to a caller to refresh", name, key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader)
+    {
+        Entry entry = (Entry) memory.get(key, k -> {
+            Entry loaded = disk == null ? null : fromDisk(k);
+            if (loaded != null) return loaded;
+            try {
+                return new Entry(toStoreValue(load(valueLoader)), ticker.read());
+            }
+            catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+        if (due(entry)) refresh(key, () -> {
+            try {
+                put(key, load(valueLoader));
+            }
+            catch (Exception e) {
+                LOGGER.warn("Failed to refresh {} entry {}, still serving it stale: {}", name, key, e.getMessage());
+            }
+        });
+        return (T) fromStoreValue(entry.value());
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key)
+    {
+        Object value = lookup(key);
+        if (value == null) return null;
+        return CompletableFuture.completedFuture(isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader)
+    {
+        Entry entry = present(key);
+        if (entry != null) {
+            if (due(entry)) refresh(key, () -> load(valueLoader).whenComplete((loaded, e) -> {
+                if (e == null) put(key, loaded);
+                else LOGGER.warn("Failed to refresh {} entry {}, still serving it stale: {}", name, key, e.getMessage());
+            }));
+            return CompletableFuture.completedFuture((T) fromStoreValue(entry.value()));
+        }
+        return load(valueLoader).thenApply(loaded -> {
+            put(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value)
+    {
+        memory.put(key, new Entry(toStoreValue(value), ticker.read()));
+        refreshing.remove(key);
+        // the copy on disk, if any, is now older than memory
+        if (disk != null) disk.evict(key);
+    }
+
+    @Override
+    public void evict(Object key)
+    {
+        memory.invalidate(key);
+        refreshing.remove(key);
+        if (disk != null) disk.evict(key);
+    }
+
+    @Override
+    public void clear()
+    {
+        memory.invalidateAll();
+        refreshing.clear();
+        if (disk != null) disk.clear();
+    }
+
+    /**
+     * @return how many entries are held in memory
+     */
+    public long size()
+    {
+        return memory.estimatedSize();
+    }
+
+    /**
+     * Drops the entries whose key matches, from memory and disk
+     *
+     * @param key tells which keys, as strings, to drop
+     * @return how many entries were dropped; one held in both tiers counts twice
+     */
+    public long evictIf(Predicate<String> key)
+    {
+        long evicted = 0;
+        for (Object k : memory.asMap().keySet()) {
+            if (key.test(String.valueOf(k)) && memory.asMap().remove(k) != null) {
+                refreshing.remove(k);
+                evicted++;
+            }
+        }
+        if (disk != null) evicted += disk.evictIf(key);
+        LOGGER.info("{}: {} entries invalidated", name, evicted);
+        return evicted;
+    }
+
+    /**
+     * Writes every entry held in memory to disk, so it survives a restart
+     */
+    void flush()
+    {
+        if (disk != null) memory.asMap().forEach((key, entry) -> spill(key, (Entry) entry));
+    }
+
+    /**
+     * Writes an entry to disk with the time it was cached; cached nulls are not worth keeping
+     *
+     * @param key   the cache key
+     * @param entry the stored entry
+     */
+    void spill(Object key, Entry entry)
+    {
+        if (entry == null || entry.value() == NullValue.INSTANCE) return;
+        long age = TimeUnit.NANOSECONDS.toMillis(ticker.read() - entry.writtenAt());
+        disk.spill(key, entry.value(), clock.getAsLong() - age);
+    }
+
+    /**
+     * Runs a loader the caller handed over, timing it
+     *
+     * @param valueLoader the loader
+     * @return what it loaded
+     * @throws Exception whatever the loader throws
+     */
+    private <T> T load(Callable<T> valueLoader) throws Exception
+    {
+        long start = System.nanoTime();
+        String result = "failure";
+        try {
+            T loaded = valueLoader.call();
+            result = "success";
+            return loaded;
+        }
+        finally {
+            CacheMetrics.load(meterRegistry, name, result).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The asynchronous form of {@link #load(Callable)}
+     *
+     * @param valueLoader the loader
+     * @return the future of what it loads
+     */
+    private <T> CompletableFuture<T> load(Supplier<CompletableFuture<T>> valueLoader)
+    {
+        long start = System.nanoTime();
+        return valueLoader.get().whenComplete((loaded, e) -> CacheMetrics.load(meterRegistry, name, e == null ? "success" : "failure")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * @param key the cache key
+     * @return the stored entry from memory, or from disk promoted into memory, null if neither has it
+     */
+    private Entry present(Object key)
+    {
+        Entry entry = (Entry) memory.getIfPresent(key);
+        if (entry != null || disk == null) return entry;
+        entry = fromDisk(key);
+        if (entry == null) return null;
+        // a put that landed meanwhile is newer than the copy on disk
+        Object current = memory.asMap().putIfAbsent(key, entry);
+        return current == null ? entry : (Entry) current;
+    }
+
+    /**
+     * Reads an entry back from disk, aged by the time since it was cached
+     *
+     * @param key the cache key
+     * @return the entry, null if the disk has none or it has outlived the memory ttl
+     */
+    private Entry fromDisk(Object key)
+    {
+        DiskCacheStore.Loaded loaded = disk.load(key);
+        if (loaded == null) return null;
+        long age = TimeUnit.MILLISECONDS.toNanos(Math.max(0, clock.getAsLong() - loaded.writtenAt()));
+        if (age >= expireAfterNanos) {
+            disk.evict(key);
+            return null;
+        }
+        return new Entry(loaded.value(), ticker.read() - age);
+    }
+
+    /**
+     * @param entry the stored entry
+     * @return whether the entry is old enough to be reloaded
+     */
+    private boolean due(Entry entry)
+    {
+        return refreshAt != null && ticker.read() - entry.writtenAt() >= refreshAt.toNanos();
+    }
+
+    /**
+     * Starts a background reload of the entry, unless one is already running
+     *
+     * @param key    the cache key
+     * @param reload reloads the entry and puts it
+     */
+    private void refresh(Object key, Runnable reload)
+    {
+        if (!claim(key)) return;
+        try {
+            refreshExecutor.execute(reload);
+        }
+        catch (RejectedExecutionException ree) {
+            // the executor is saturated; the entry is served stale and the next caller tries again
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Takes the lease on reloading an entry. The lease is given back when
+     * the reload puts the entry; one that never lands lapses, so a reload
+     * that failed is tried again by a later caller
+     *
+     * @param key the cache key
+     * @return whether the caller holds the lease and is to reload the entry
+     */
+    private boolean claim(Object key)
+    {
+        long now = System.nanoTime();
+        long lease = now + REFRESH_LEASE_NANOS;
+        Long until = refreshing.get(key);
+        if (until == null) return refreshing.putIfAbsent(key, lease) == null;
+        return until - now <= 0 && refreshing.replace(key, until, lease);
+    }
+
+    /**
+     * A stored value and when it was cached, in ticker nanos
+     */
+    record Entry(Object value, long writtenAt)
+    {
+    }
+
+    /**
+     * Expires an entry once it is expireAfter old, counted from when it
+     * was cached rather than from when it was put in memory
+     */
+    private final class SinceWritten implements Expiry<Object, Object>
+    {
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime)
+        {
+            return Math.max(0, expireAfterNanos - (currentTime - ((Entry) value).writtenAt()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration)
+        {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration)
+        {
+            return currentDuration;
+        }
+    }
+}
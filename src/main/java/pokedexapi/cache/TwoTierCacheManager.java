@@ -0,0 +1,158 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The CacheManager behind the PokeApiClient entity caches, and the
+ * registry of their policies. Each named cache is built with its own
+ * {@link CachePolicy} (ttl, entry or serialized-weight bound, pinning,
+ * disk) and its own stats, bound to Micrometer under its name.
+ * <p>
+ * Caches are {@link TwoTierCache}s in front of a directory of their own
+ * under the disk tier root. Entries the memory tier evicts for size spill
+ * to disk, and everything still in memory is flushed on shutdown, so a
+ * restart starts warm instead of refetching every resource from PokeAPI.
+ * Entries due for refresh are reloaded on a bounded executor while the
+ * stale value is served.
+ */
+public class TwoTierCacheManager implements CacheManager, DisposableBean
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(TwoTierCacheManager.class);
+    private final Environment environment;
+    private final Path directory;
+    private final Duration diskTtl;
+    private final JsonMapper jsonMapper;
+    private final List<Class<?>> valueTypes;
+    private final MeterRegistry meterRegistry;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CachePolicy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * @param environment     where each cache's policy is read from
+     * @param directory       the root of the disk tier, null to keep every cache in memory only
+     * @param diskTtl         how long an entry is kept on disk
+     * @param jsonMapper      writes and reads the entries on disk, and weighs entries by their serialized size
+     * @param valueTypes      the types cached values are; an entry on disk of any other class is not read back
+     * @param meterRegistry   where cache stats and disk loads, spills and evictions are recorded
+     * @param refreshExecutor runs the background reloads of entries due for refresh
+     */
+    public TwoTierCacheManager(Environment environment, Path directory, Duration diskTtl,
+                               JsonMapper jsonMapper, List<Class<?>> valueTypes, MeterRegistry meterRegistry,
+                               Executor refreshExecutor)
+    {
+        this.environment = environment;
+        this.directory = directory;
+        this.diskTtl = diskTtl;
+        this.jsonMapper = jsonMapper;
+        this.valueTypes = List.copyOf(valueTypes);
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Cache getCache(String name)
+    {
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames()
+    {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * @return the policy each cache was built with, by cache name
+     */
+    public Map<String, CachePolicy> policies()
+    {
+        return Collections.unmodifiableMap(policies);
+    }
+
+    /**
+     * Flushes the memory tier of every cache to disk
+     */
+    @Override
+    public void destroy()
+    {
+        if (directory == null) return;
+        caches.values().forEach(TwoTierCache::flush);
+        LOGGER.info("flushed {} caches to {}", caches.size(), directory);
+    }
+
+    private TwoTierCache create(String name)
+    {
+        CachePolicy policy = CachePolicy.of(environment, name);
+        DiskCacheStore disk = null;
+        if (directory != null && policy.disk()) {
+            disk = new DiskCacheStore(name, directory.resolve(fileName(name)), jsonMapper, valueTypes, diskTtl, meterRegistry);
+            disk.sweep();
+        }
+        TwoTierCache cache = new TwoTierCache(name, memoryTier(policy), policy.expireAfter(), disk,
+                policy.refreshAt(), Ticker.systemTicker(), System::currentTimeMillis, refreshExecutor, meterRegistry);
+        CacheMetrics.bind(meterRegistry, name, (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache());
+        policies.put(name, policy);
+        LOGGER.info("created cache {} ({})", name, policy);
+        return cache;
+    }
+
+    private Caffeine<Object, Object> memoryTier(CachePolicy policy)
+    {
+        Caffeine<Object, Object> memory = Caffeine.newBuilder();
+        if (policy.pinned()) return memory;
+        // the cache sets the expiry itself, counting an entry's age from when it was first cached
+        if (policy.maxWeight() != null) {
+            memory.maximumWeight(policy.maxWeight().toBytes())
+                    .weigher((Object key, Object entry) -> serializedSize(((TwoTierCache.Entry) entry).value()));
+        }
+        else {
+            memory.maximumSize(policy.maxEntries());
+        }
+        return memory;
+    }
+
+    /**
+     * What an entry weighs: its size as JSON, which is also what it costs on disk
+     *
+     * @param value the stored value
+     * @return the weight in bytes
+     */
+    private int serializedSize(Object value)
+    {
+        if (value == NullValue.INSTANCE) return 1;
+        try {
+            return jsonMapper.writeValueAsBytes(value).length;
+        }
+        catch (RuntimeException re) {
+            LOGGER.debug("cannot weigh {}: {}", value.getClass().getName(), re.getMessage());
+            return 1;
+        }
+    }
+
+    private static String fileName(String cacheName)
+    {
+        return cacheName.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -1,22 +1,33 @@
 package pokedexapi.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.resolver.DefaultAddressResolverGroup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import pokedexapi.cache.TwoTierCacheManager;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 import skaro.pokeapi.PokeApiReactorCachingConfiguration;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.PokeApiResource;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Profile("!test")
@@ -25,27 +36,57 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class MyPokeApiReactorCachingConfiguration
 {
+    // shared with UpstreamClientConfiguration so every path to PokeAPI is sized the same way
+    @Value("${pokedexapi.upstream.max-connections-per-host:64}")
+    private int maxConnectionsPerHost = 64;
+    @Value("${pokedexapi.upstream.pending-acquire-max:256}")
+    private int pendingAcquireMax = 256;
+    @Value("${pokedexapi.upstream.keep-alive:60s}")
+    private Duration keepAlive = Duration.ofSeconds(60);
+    @Value("${pokedexapi.cache.disk.enabled:true}")
+    private boolean diskEnabled = true;
+    @Value("${pokedexapi.cache.disk.directory:${user.home}/.pokedexapi/cache}")
+    private String diskDirectory;
+    @Value("${pokedexapi.cache.disk.ttl:7d}")
+    private Duration diskTtl = Duration.ofDays(7);
+
     @Bean
-    public Caffeine caffeineConfig()
+    public CacheManager cacheManager(Environment environment, @Qualifier("jsonMapper") JsonMapper jsonMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Qualifier("cacheRefreshExecutor") ExecutorService cacheRefreshExecutor)
     {
-        return Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.MINUTES);
+        // each cache gets its own policy from pokedexapi.cache.entity.<name>.*; evicted
+        // entities spill to disk and are read back before going to PokeAPI again, as long
+        // as they are PokeAPI resources or pages of them
+        return new TwoTierCacheManager(environment, diskEnabled ? Path.of(diskDirectory) : null, diskTtl,
+                jsonMapper, List.of(PokeApiResource.class, NamedApiResourceList.class), meterRegistry, cacheRefreshExecutor);
     }
 
-    @Bean
-    public CacheManager cacheManager(Caffeine caffeine)
+    /**
+     * Runs the background reloads of entity cache entries due for refresh.
+     * The queue is bounded: a refresh that does not fit is dropped and the
+     * stale entry is served until a later request tries again
+     */
+    @Bean(name = "cacheRefreshExecutor", destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor(@Value("${pokedexapi.cache.refresh.threads:4}") int threads,
+                                                @Value("${pokedexapi.cache.refresh.queue-size:256}") int queueSize)
     {
-        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCaffeine(caffeine);
-        return caffeineCacheManager;
+        return new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("pokedex-cache-refresh-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     @Bean
     public ConnectionProvider connectionProvider()
     {
-        return ConnectionProvider.builder("Auto refresh & no connection limit")
-                .maxIdleTime(Duration.ofSeconds(10))
-                .maxConnections(500)
-                .pendingAcquireMaxCount(-1)
+        // pools are kept per remote host, so maxConnections is the per-host limit
+        return ConnectionProvider.builder("pokeapi-upstream")
+                .maxIdleTime(keepAlive)
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireMaxCount(pendingAcquireMax) // bounded; the adaptive limiter queues in front of the pool
+                .evictInBackground(keepAlive)
                 .build();
     }
 
@@ -53,13 +94,15 @@ public class MyPokeApiReactorCachingConfiguration
     public HttpClient httpClient(ConnectionProvider connectionProvider)
     {
         return HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11) // negotiated over TLS, H2 multiplexes on one connection
+                .secure()
+                .keepAlive(true)
                 .compress(true)
                 .resolver(DefaultAddressResolverGroup.INSTANCE)
-                .tcpConfiguration(tcpClient ->
-                        tcpClient.option(ChannelOption.SO_RCVBUF, 1048576)  // Set receive buffer size
-                                .option(ChannelOption.SO_SNDBUF, 1048576)  // Set send buffer size
-                                .doOnConnected(connection ->
-                                        connection.addHandlerLast(new HttpObjectAggregator(10485760)))); // Set max message size
+                .option(ChannelOption.SO_RCVBUF, 1048576)  // Set receive buffer size
+                .option(ChannelOption.SO_SNDBUF, 1048576); // Set send buffer size
+        // no HttpObjectAggregator: it cannot sit on H2 stream channels, and WebClient
+        // already aggregates bodies up to skaro.pokeapi.maxBytesToBuffer
     }
 
 //    @Bean
@@ -0,0 +1,31 @@
+package pokedexapi.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import pokedexapi.cache.OfflineDataset;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The offline profile: the gateways answer every PokeAPI url from a local
+ * snapshot written by OfflineDatasetImporter, so the API runs with
+ * pokeapi.co unreachable
+ */
+@Configuration
+@Profile("offline")
+public class OfflineDatasetConfiguration
+{
+    @Bean
+    public OfflineDataset offlineDataset(@Qualifier("jsonMapper") JsonMapper jsonMapper,
+                                         @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                                         @Value("${pokedexapi.offline.directory}") String directory,
+                                         @Value("${pokedexapi.offline.max-decoded:20000}") long maxDecoded) throws IOException
+    {
+        return OfflineDataset.open(Path.of(directory), pokeApiBaseUrl, jsonMapper, maxDecoded);
+    }
+}
@@ -0,0 +1,107 @@
+package pokedexapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Watches for virtual threads pinned to their carrier, which happens when a
+ * virtual thread blocks inside a synchronized section or a native frame. Each
+ * pin longer than the threshold is timed under pokedexapi.threads.pinned, and
+ * the first pin from every distinct frame is logged with its stack.
+ * <p>
+ * Reads the jdk.VirtualThreadPinned event from an in-process JFR stream, so it
+ * only runs when both spring.threads.virtual.enabled and
+ * pokedexapi.threads.pinning-diagnostics.enabled are set.
+ */
+@Component
+public class PinningDiagnostics implements SmartLifecycle
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(PinningDiagnostics.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Timer pinned;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    @Autowired
+    public PinningDiagnostics(MeterRegistry meterRegistry,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                              @Value("${pokedexapi.threads.pinning-diagnostics.enabled:false}") boolean enabled,
+                              @Value("${pokedexapi.threads.pinning-diagnostics.threshold:20ms}") Duration threshold)
+    {
+        this.enabled = virtualThreads && enabled;
+        this.threshold = threshold;
+        this.pinned = Timer.builder("pokedexapi.threads.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start()
+    {
+        if (!enabled || stream != null) return;
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        LOGGER.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @Override
+    public void stop()
+    {
+        if (stream == null) return;
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return stream != null;
+    }
+
+    /**
+     * Times one pin and logs its stack the first time its top frame is seen
+     *
+     * @param event the jdk.VirtualThreadPinned event
+     */
+    void onPinned(RecordedEvent event)
+    {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return;
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (reportedFrames.add(describe(frames.getFirst()))) {
+            LOGGER.warn("Virtual thread pinned for {} ms at\n\t{}", event.getDuration().toMillis(),
+                    frames.stream().limit(LOGGED_FRAMES).map(PinningDiagnostics::describe).collect(Collectors.joining("\n\t")));
+        }
+        else {
+            LOGGER.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), describe(frames.getFirst()));
+        }
+    }
+
+    private static String describe(RecordedFrame frame)
+    {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,95 @@
+package pokedexapi.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.support.RestClientHttpServiceGroupConfigurer;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the single java.net.http client used for every call to PokeAPI that
+ * does not go through the PokeApiClient. The client negotiates HTTP/2 (falling
+ * back to HTTP/1.1), keeps connections alive between calls and runs on a bounded
+ * executor instead of the unbounded default. A full executor queue rejects the
+ * work rather than running it on the submitting thread, which may be the
+ * client's selector; {@link pokedexapi.upstream.UpstreamHttpClient} answers
+ * such a rejection as upstream being unavailable. The @HttpExchange services share it
+ * as well, so only the reactor-netty pool in {@link MyPokeApiReactorCachingConfiguration}
+ * holds its own connections, and that pool is sized from the same properties.
+ * <p>
+ * With spring.threads.virtual.enabled the client runs on virtual threads too,
+ * matching Tomcat; the per-host permits and the adaptive limit still bound
+ * how many requests are upstream at once.
+ */
+@Configuration
+public class UpstreamClientConfiguration
+{
+    @Bean(name = "upstreamExecutor", destroyMethod = "shutdown")
+    public ExecutorService upstreamExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                            @Value("${pokedexapi.upstream.executor-threads:16}") int threads,
+                                            @Value("${pokedexapi.upstream.executor-queue-size:512}") int queueSize)
+    {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokeapi-upstream-", 0).factory());
+        }
+        return new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueSize),
+                Thread.ofPlatform().name("pokeapi-upstream-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs the attempts of hedged lookups; they spend their time blocked
+     * on upstream, so each gets a virtual thread of its own
+     */
+    @Bean(name = "hedgeExecutor", destroyMethod = "shutdown")
+    public ExecutorService hedgeExecutor()
+    {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokeapi-hedge-", 0).factory());
+    }
+
+    /**
+     * Runs the lookups of the async service so the servlet thread is
+     * released while they wait on upstream
+     */
+    @Bean(name = "serviceExecutor", destroyMethod = "shutdown")
+    public ExecutorService serviceExecutor()
+    {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokedex-service-", 0).factory());
+    }
+
+    @Bean(name = "pokeApiHttpClient")
+    public HttpClient pokeApiHttpClient(@Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+                                        @Value("${pokedexapi.upstream.connect-timeout:5s}") Duration connectTimeout)
+    {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(upstreamExecutor)
+                .build();
+    }
+
+    /**
+     * Points every @HttpExchange group (see {@link PokemonExchangeConfig})
+     * at the shared upstream client instead of a client of its own.
+     */
+    @Bean
+    public RestClientHttpServiceGroupConfigurer upstreamHttpServiceGroupConfigurer(@Qualifier("pokeApiHttpClient") HttpClient pokeApiHttpClient,
+                                                                                   @Value("${pokedexapi.upstream.request-timeout:30s}") Duration requestTimeout)
+    {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(pokeApiHttpClient);
+        requestFactory.setReadTimeout(requestTimeout);
+        return groups -> groups.forEachClient((group, builder) -> builder.requestFactory(requestFactory));
+    }
+}
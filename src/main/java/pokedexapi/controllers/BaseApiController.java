@@ -5,17 +5,35 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import pokedexapi.cache.EncodedVariants;
+import pokedexapi.cache.PassthroughBody;
+import pokedexapi.cache.RenderedResponseCache;
+import pokedexapi.service.EvolutionChainIndex;
+import pokedexapi.service.KnownNameFilter;
 import pokedexapi.service.PokemonLocationEncounterService;
 import pokedexapi.service.PokemonService;
+import pokedexapi.upstream.PokeApiGateway;
+import pokedexapi.upstream.ReactivePokeApiGateway;
+import pokedexapi.upstream.UpstreamUnavailableException;
+import reactor.core.publisher.Mono;
 import skaro.pokeapi.client.PokeApiClient;
 import skaro.pokeapi.resource.pokemon.Pokemon;
 
+import java.io.IOException;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
 
 import static pokedexapi.utilities.Constants.GIF_IMAGE_URL;
 
@@ -25,11 +43,19 @@ public class BaseApiController
 {
     /* Logging instance */
     private static final Logger LOGGER = LogManager.getLogger(BaseApiController.class);
+    protected static final String FULL_PROJECTION = "full";
     @Value("${skaro.pokeapi.baseUri}")
     protected String pokeApiBaseUrl;
+    @Value("${pokedexapi.upstream.circuit.open-duration:30s}")
+    protected Duration upstreamRetryAfter;
     protected final PokemonService pokemonService;
     protected final PokeApiClient pokeApiClient;
     protected final PokemonLocationEncounterService pokemonLocationEncounterService;
+    protected PokeApiGateway pokeApiGateway;
+    protected ReactivePokeApiGateway reactivePokeApiGateway;
+    protected RenderedResponseCache renderedResponseCache;
+    protected KnownNameFilter knownNameFilter;
+    protected EvolutionChainIndex evolutionChainIndex;
 
     @Autowired
     protected BaseApiController(@Qualifier("PokemonApiService") PokemonService pokemonService,
@@ -49,10 +75,75 @@ public class BaseApiController
         this.pokemonLocationEncounterService = null;
     }
 
+    /**
+     * PokeApiClient lookups go through the gateway so they share
+     * the circuit breakers and bulkheads of the service
+     *
+     * @param pokeApiGateway the gateway
+     */
+    @Autowired
+    protected void setPokeApiGateway(PokeApiGateway pokeApiGateway)
+    {
+        this.pokeApiGateway = pokeApiGateway;
+    }
+
+    /**
+     * Handlers that return a Mono look resources up through the
+     * reactive gateway, so no thread waits while PokeAPI answers
+     *
+     * @param reactivePokeApiGateway the gateway
+     */
+    @Autowired
+    protected void setReactivePokeApiGateway(ReactivePokeApiGateway reactivePokeApiGateway)
+    {
+        this.reactivePokeApiGateway = reactivePokeApiGateway;
+    }
+
+    /**
+     * Hot entities are written out as cached JSON bytes
+     *
+     * @param renderedResponseCache the cache
+     */
+    @Autowired
+    protected void setRenderedResponseCache(RenderedResponseCache renderedResponseCache)
+    {
+        this.renderedResponseCache = renderedResponseCache;
+    }
+
+    /**
+     * Names and ids PokeAPI does not know are answered as not found without asking it
+     *
+     * @param knownNameFilter the filter
+     */
+    @Autowired
+    protected void setKnownNameFilter(KnownNameFilter knownNameFilter)
+    {
+        this.knownNameFilter = knownNameFilter;
+    }
+
+    /**
+     * Evolution chains of Pokemon ids are looked up in an index read from PokeAPI
+     *
+     * @param evolutionChainIndex the index
+     */
+    @Autowired(required = false)
+    protected void setEvolutionChainIndex(EvolutionChainIndex evolutionChainIndex)
+    {
+        this.evolutionChainIndex = evolutionChainIndex;
+    }
+
+    /**
+     * @param pokemonIDToEvolutionChainMap the table to scan when the index is not built yet
+     * @param pokemonId                    the id of a Pokemon
+     * @return the id of its evolution chain, 0 if it has none
+     * @deprecated use {@link EvolutionChainIndex#chainOf(int)}
+     */
     @Deprecated(forRemoval = true)
     protected Integer getEvolutionChainID(Map<Integer, List<List<Integer>>> pokemonIDToEvolutionChainMap, String pokemonId)
     {
         LOGGER.info("id: {}", pokemonId);
+        int chainId = evolutionChainIndex == null ? 0 : evolutionChainIndex.chainOf(pokemonId);
+        if (chainId > 0) return chainId;
         List<Integer> keys = pokemonIDToEvolutionChainMap.keySet().stream().toList();
         Integer keyToReturn = 0;
         keysLoop:
@@ -82,11 +173,27 @@ public class BaseApiController
             return pokemonService.getPokemonByIdOrName(nameOrId);
         }
         catch (Exception e) {
+            rethrowIfUnavailable(e);
             LOGGER.error("Failed to retrieve Pokemon with name or id: {}", nameOrId, e);
             return null;
         }
     }
 
+    /**
+     * Fetch the pokemon resource without blocking
+     *
+     * @param nameOrId String the name or id of a Pokemon
+     * @return the Pokemon, or empty if it could not be retrieved
+     */
+    protected Mono<Pokemon> retrievePokemonAsync(String nameOrId)
+    {
+        return knownNameFilter.lookup(Pokemon.class, nameOrId, reactivePokeApiGateway.getResource(Pokemon.class, nameOrId))
+                .onErrorResume(e -> !isUnavailable(e), e -> {
+                    LOGGER.error("Failed to retrieve Pokemon with name or id: {}", nameOrId, e);
+                    return Mono.empty();
+                });
+    }
+
     @Deprecated(forRemoval = true)
     protected void setGifImage(Pokemon pokemon)
     {
@@ -129,6 +236,103 @@ public class BaseApiController
         }};
     }
 
+    /**
+     * Answers a request that could not reach PokeAPI because its circuit is
+     * open or its bulkhead or executor is full with a 503, and tells the
+     * client to come back once the circuit may have closed
+     *
+     * @param e the failure
+     * @return the 503 response
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<?> upstreamUnavailable(UpstreamUnavailableException e)
+    {
+        LOGGER.warn("Upstream unavailable: {}", e.getMessage());
+        long retryAfter = upstreamRetryAfter == null ? 30 : Math.max(1, upstreamRetryAfter.toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(e.getMessage());
+    }
+
+    /**
+     * Lets an unavailable upstream through a catch block, so it is answered
+     * with a 503 rather than as a bad request or an internal error
+     *
+     * @param throwable what was caught
+     * @throws UpstreamUnavailableException if that is what it was
+     */
+    protected static void rethrowIfUnavailable(Throwable throwable)
+    {
+        if (unwrap(throwable) instanceof UpstreamUnavailableException unavailable) throw unavailable;
+    }
+
+    /**
+     * @param throwable what a lookup failed with
+     * @return whether it failed because upstream is unavailable
+     */
+    protected static boolean isUnavailable(Throwable throwable)
+    {
+        return unwrap(throwable) instanceof UpstreamUnavailableException;
+    }
+
+    /**
+     * Gets the real failure out of a failed future
+     *
+     * @param throwable what the future completed with
+     * @return the cause the lookup threw
+     */
+    protected static Throwable unwrap(Throwable throwable)
+    {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    /**
+     * Hands a passthrough body to the client with its upstream headers,
+     * copied across as it is read rather than buffered; a cached body goes
+     * out precompressed when the client accepts it. Anything but a 200 is
+     * answered by onFailure instead
+     *
+     * @param body           the upstream body
+     * @param acceptEncoding the Accept-Encoding of the request, may be null
+     * @param onFailure      builds the answer for any other upstream status
+     * @return the response entity
+     */
+    protected static ResponseEntity<?> passthrough(PassthroughBody body, String acceptEncoding,
+                                                   IntFunction<ResponseEntity<?>> onFailure)
+    {
+        if (body.statusCode() == 200) {
+            PassthroughBody encoded = body.encodedFor(acceptEncoding);
+            return ResponseEntity.ok().headers(encoded.headers()).body(encoded.resource());
+        }
+        try {
+            body.close();
+        }
+        catch (IOException ioe) {
+            LOGGER.debug("Failed to close upstream body: {}", ioe.getMessage());
+        }
+        return onFailure.apply(body.statusCode());
+    }
+
+    /**
+     * Answers with the entity's cached JSON bytes, in the encoding the
+     * client accepts, instead of serializing the entity again
+     *
+     * @param type           the resource class
+     * @param id             the id of the entity
+     * @param entity         the entity
+     * @param acceptEncoding the Accept-Encoding of the request, may be null
+     * @return the response entity
+     */
+    protected ResponseEntity<byte[]> rendered(Class<?> type, Object id, Object entity, String acceptEncoding)
+    {
+        EncodedVariants body = renderedResponseCache.render(type, id, FULL_PROJECTION, entity);
+        EncodedVariants.Variant variant = body.select(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (body.isCompressed()) response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (variant.encoding() != null) response.header(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        return response.body(variant.bytes());
+    }
+
     protected HttpResponse<String> fallbackCallUrl(String url) throws Exception
     {
         try {
@@ -0,0 +1,98 @@
+package pokedexapi.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import pokedexapi.cache.PassthroughBody;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs the {@link PokemonService} lookups on the service executor.
+ * The lookups keep going through the upstream gateway, so coalescing,
+ * retries, the breakers and the concurrency limit all still apply; the
+ * servlet thread is handed back as soon as the future is returned.
+ */
+@Service
+public class AsyncPokemonApiService implements AsyncPokemonService
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(AsyncPokemonApiService.class);
+    private final PokemonService pokemonService;
+    private final ExecutorService serviceExecutor;
+
+    @Autowired
+    public AsyncPokemonApiService(@Qualifier("PokemonApiService") PokemonService pokemonService,
+                                  @Qualifier("serviceExecutor") ExecutorService serviceExecutor)
+    {
+        this.pokemonService = pokemonService;
+        this.serviceExecutor = serviceExecutor;
+    }
+
+    @Override
+    public CompletableFuture<Pokemon> getPokemonByIdOrName(String nameOrId)
+    {
+        return supply(() -> pokemonService.getPokemonByIdOrName(nameOrId));
+    }
+
+    @Override
+    public CompletableFuture<NamedApiResourceList<Pokemon>> getAllPokemons(Integer limit, Integer offset)
+    {
+        return supply(() -> pokemonService.getAllPokemons(limit, offset));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<String>> callUrl(String url)
+    {
+        return supply(() -> pokemonService.callUrl(url));
+    }
+
+    @Override
+    public CompletableFuture<PassthroughBody> streamUrl(String url)
+    {
+        return supply(() -> pokemonService.streamUrl(url));
+    }
+
+    @Override
+    public CompletableFuture<PokemonSpecies> getPokemonSpeciesData(String id)
+    {
+        return supply(() -> pokemonService.getPokemonSpeciesData(id));
+    }
+
+    @Override
+    public CompletableFuture<EvolutionChain> getPokemonEvolutionChain(String chainUrl)
+    {
+        return supply(() -> pokemonService.getPokemonEvolutionChain(chainUrl));
+    }
+
+    private <T> CompletableFuture<T> supply(Lookup<T> lookup)
+    {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return lookup.get();
+            }
+            catch (RuntimeException re) {
+                throw re;
+            }
+            catch (Exception e) {
+                LOGGER.debug("async lookup failed: {}", e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, serviceExecutor);
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T>
+    {
+        T get() throws Exception;
+    }
+}
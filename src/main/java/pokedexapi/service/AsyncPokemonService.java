@@ -0,0 +1,30 @@
+package pokedexapi.service;
+
+import pokedexapi.cache.PassthroughBody;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The lookups of {@link PokemonService} that the controllers serve
+ * asynchronously, so no servlet thread waits on upstream. Failures
+ * complete the future exceptionally instead of being thrown.
+ */
+public interface AsyncPokemonService
+{
+    CompletableFuture<Pokemon> getPokemonByIdOrName(String nameOrId);
+
+    CompletableFuture<NamedApiResourceList<Pokemon>> getAllPokemons(Integer limit, Integer offset);
+
+    CompletableFuture<HttpResponse<String>> callUrl(String url);
+
+    CompletableFuture<PassthroughBody> streamUrl(String url);
+
+    CompletableFuture<PokemonSpecies> getPokemonSpeciesData(String id);
+
+    CompletableFuture<EvolutionChain> getPokemonEvolutionChain(String chainUrl);
+}
@@ -0,0 +1,80 @@
+package pokedexapi.service;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache administration at /actuator/cacheadmin:
+ * <pre>
+ * GET    /actuator/cacheadmin                          every cache with its size, and the last jobs
+ * GET    /actuator/cacheadmin/{job}                    one job and how far it got
+ * DELETE /actuator/cacheadmin?cache=&amp;key=&amp;prefix=      drop one key, a key prefix or a whole cache
+ * POST   /actuator/cacheadmin {"families": [...], "names": [...], "concurrency": n}
+ *                                                      fetch a family, or some of it, again
+ * </pre>
+ * Invalidations and warms answer at once with the job they started.
+ * <p>
+ * The endpoint changes state, so it is left out of the default web
+ * exposure. Expose it only on a separate management.server.port that is not
+ * reachable from outside, or with Spring Security guarding /actuator/cacheadmin.
+ */
+@Component
+@Endpoint(id = "cacheadmin")
+public class CacheAdminEndpoint
+{
+    private final CacheAdminService cacheAdminService;
+
+    @Autowired
+    public CacheAdminEndpoint(CacheAdminService cacheAdminService)
+    {
+        this.cacheAdminService = cacheAdminService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> caches()
+    {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("caches", cacheAdminService.sizes());
+        caches.put("jobs", cacheAdminService.jobs());
+        return caches;
+    }
+
+    @ReadOperation
+    public Map<String, Object> job(@Selector String job)
+    {
+        return cacheAdminService.job(job);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidate(@Nullable String cache, @Nullable String key, @Nullable String prefix)
+    {
+        try {
+            return cacheAdminService.invalidate(cache, key, prefix);
+        }
+        catch (IllegalArgumentException iae) {
+            throw new InvalidEndpointRequestException(iae.getMessage(), iae.getMessage());
+        }
+    }
+
+    @WriteOperation
+    public Map<String, Object> warm(List<String> families, @Nullable List<String> names, @Nullable Integer concurrency)
+    {
+        try {
+            return cacheAdminService.warm(families, names, concurrency);
+        }
+        catch (IllegalArgumentException iae) {
+            throw new InvalidEndpointRequestException(iae.getMessage(), iae.getMessage());
+        }
+    }
+}
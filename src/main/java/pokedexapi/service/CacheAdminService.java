@@ -0,0 +1,284 @@
+package pokedexapi.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import pokedexapi.cache.RawResponseCache;
+import pokedexapi.cache.RenderedResponseCache;
+import pokedexapi.cache.TwoTierCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Lets an operator drop what is cached without a restart, and fetch it
+ * again. Every cache is addressed with the same keys: entity cache entries
+ * as &lt;cache&gt;/&lt;key&gt; (pokemon-species/1), raw responses by their
+ * url relative to PokeAPI (pokemon-species/1, pokemon?limit=20&amp;offset=0),
+ * rendered bodies as &lt;family&gt;/&lt;id&gt;#&lt;projection&gt; and
+ * remembered 404s as &lt;family&gt;/&lt;name&gt;. So a prefix such as
+ * pokemon-species/ reaches a resource family in every cache at once.
+ * <p>
+ * Invalidations and re-warms run as background jobs; the last few are
+ * kept with their progress so they can be followed at /actuator/cacheadmin.
+ * Re-warms fetch through the gateway at the warm-up rate, with at most
+ * max-concurrency fetches of a job at once.
+ */
+@Service
+public class CacheAdminService
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(CacheAdminService.class);
+    private static final int KEPT_JOBS = 20;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final RawResponseCache rawResponseCache;
+    private final RenderedResponseCache renderedResponseCache;
+    private final KnownNameFilter knownNameFilter;
+    private final CacheWarmupService cacheWarmupService;
+    private final int maxConcurrency;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Map<String, Job> jobs = new LinkedHashMap<>()
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Job> eldest)
+        {
+            return size() > KEPT_JOBS;
+        }
+    };
+
+    @Autowired
+    public CacheAdminService(ObjectProvider<CacheManager> cacheManager,
+                             RawResponseCache rawResponseCache,
+                             RenderedResponseCache renderedResponseCache,
+                             KnownNameFilter knownNameFilter,
+                             CacheWarmupService cacheWarmupService,
+                             @Value("${pokedexapi.cache.admin.max-concurrency:8}") int maxConcurrency)
+    {
+        this.cacheManager = cacheManager;
+        this.rawResponseCache = rawResponseCache;
+        this.renderedResponseCache = renderedResponseCache;
+        this.knownNameFilter = knownNameFilter;
+        this.cacheWarmupService = cacheWarmupService;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * @return the number of entries in every cache, entity caches by name
+     */
+    public Map<String, Long> sizes()
+    {
+        Map<String, Long> sizes = new TreeMap<>();
+        sizes.put(RawResponseCache.NAME, rawResponseCache.size());
+        sizes.put(RenderedResponseCache.NAME, renderedResponseCache.size());
+        sizes.put(KnownNameFilter.NEGATIVE, knownNameFilter.size());
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager != null) {
+            for (String name : manager.getCacheNames()) {
+                Cache cache = manager.getCache(name);
+                if (cache instanceof TwoTierCache twoTier) sizes.put(name, twoTier.size());
+                else if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                    sizes.put(name, caffeine.estimatedSize());
+                }
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Starts dropping entries in the background
+     *
+     * @param cache  the cache to drop them from, null for every cache
+     * @param key    the one key to drop, or null
+     * @param prefix the prefix of the keys to drop, or null
+     * @return the job; with neither key nor prefix the whole cache is dropped
+     */
+    public Map<String, Object> invalidate(String cache, String key, String prefix)
+    {
+        if (cache == null && key == null && prefix == null) {
+            throw new IllegalArgumentException("give a cache, a key or a prefix; every cache is never dropped at once");
+        }
+        if (cache != null && !sizes().containsKey(cache)) throw new IllegalArgumentException("no cache named " + cache);
+        Predicate<String> match = key != null ? key::equals : prefix != null ? k -> k.startsWith(prefix) : k -> true;
+        String target = (cache == null ? "*" : cache) + " " + (key != null ? key : prefix != null ? prefix + "*" : "*");
+        Job job = submit("invalidate", target);
+        Thread.ofVirtual().name("pokedex-cache-admin-" + job.id).start(() -> job.run(() -> {
+            for (String name : sizes().keySet()) {
+                if (cache == null || cache.equals(name)) job.invalidated(name, invalidate(name, match));
+            }
+        }));
+        return job.snapshot();
+    }
+
+    /**
+     * Starts fetching resources again in the background
+     *
+     * @param families    the PokeAPI endpoint names, e.g. pokemon-species
+     * @param names       the names or ids to fetch in each family, null or empty for all of them
+     * @param concurrency how many fetches run at once, capped at max-concurrency
+     * @return the job
+     */
+    public Map<String, Object> warm(List<String> families, List<String> names, Integer concurrency)
+    {
+        if (families == null || families.isEmpty()) throw new IllegalArgumentException("give the families to warm");
+        int permits = Math.min(maxConcurrency, concurrency == null || concurrency < 1 ? maxConcurrency : concurrency);
+        List<String> keys = names == null || names.isEmpty() ? null : List.copyOf(names);
+        Job job = submit("warm", families + (keys == null ? "" : " " + keys));
+        Thread.ofVirtual().name("pokedex-cache-admin-" + job.id).start(() -> job.run(() -> {
+            for (String family : families) {
+                CacheWarmupService.Progress progress = new CacheWarmupService.Progress();
+                job.track(family, progress);
+                cacheWarmupService.warm(family, keys, permits, progress);
+            }
+        }));
+        return job.snapshot();
+    }
+
+    /**
+     * @return the last jobs, newest first
+     */
+    public List<Map<String, Object>> jobs()
+    {
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> snapshots.addFirst(job.snapshot()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * @param id the job id
+     * @return the job, null if there is no such job or it is too old to be kept
+     */
+    public Map<String, Object> job(String id)
+    {
+        synchronized (jobs) {
+            Job job = jobs.get(id);
+            return job == null ? null : job.snapshot();
+        }
+    }
+
+    /**
+     * Drops the matching entries of one cache
+     *
+     * @param name  the cache name
+     * @param match tells which keys to drop
+     * @return how many entries were dropped
+     */
+    private long invalidate(String name, Predicate<String> match)
+    {
+        if (name.equals(RawResponseCache.NAME)) return rawResponseCache.invalidateIf(match);
+        if (name.equals(RenderedResponseCache.NAME)) return renderedResponseCache.invalidateIf(match);
+        if (name.equals(KnownNameFilter.NEGATIVE)) return knownNameFilter.invalidateIf(match);
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(name);
+        String prefix = name + "/";
+        if (cache instanceof TwoTierCache twoTier) return twoTier.evictIf(k -> match.test(prefix + k));
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            long invalidated = 0;
+            for (Object k : caffeine.asMap().keySet()) {
+                if (match.test(prefix + k) && caffeine.asMap().remove(k) != null) invalidated++;
+            }
+            return invalidated;
+        }
+        return 0;
+    }
+
+    private Job submit(String kind, String target)
+    {
+        Job job = new Job(String.valueOf(ids.incrementAndGet()), kind, target);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        LOGGER.info("cache admin job {}: {} {}", job.id, kind, target);
+        return job;
+    }
+
+    /**
+     * One invalidation or re-warm and how far it got
+     */
+    private static final class Job
+    {
+        private final String id;
+        private final String kind;
+        private final String target;
+        private final Instant startedAt = Instant.now();
+        private final Map<String, Long> invalidated = new TreeMap<>();
+        private final Map<String, CacheWarmupService.Progress> progress = new LinkedHashMap<>();
+        private volatile CacheWarmupService.State state = CacheWarmupService.State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Job(String id, String kind, String target)
+        {
+            this.id = id;
+            this.kind = kind;
+            this.target = target;
+        }
+
+        private void run(Work work)
+        {
+            try {
+                work.run();
+                state = CacheWarmupService.State.DONE;
+            }
+            catch (Exception e) {
+                LOGGER.error("Cache admin job {} failed: {}", id, e.getMessage());
+                error = e.getMessage();
+                state = CacheWarmupService.State.FAILED;
+            }
+            finishedAt = Instant.now();
+            LOGGER.info("cache admin job {} {} after {}", id, state.name().toLowerCase(Locale.ROOT), Duration.between(startedAt, finishedAt));
+        }
+
+        private synchronized void invalidated(String cache, long count)
+        {
+            invalidated.merge(cache, count, Long::sum);
+        }
+
+        private synchronized void track(String family, CacheWarmupService.Progress familyProgress)
+        {
+            progress.put(family, familyProgress);
+        }
+
+        private synchronized Map<String, Object> snapshot()
+        {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("id", id);
+            snapshot.put("kind", kind);
+            snapshot.put("target", target);
+            snapshot.put("state", state);
+            snapshot.put("startedAt", startedAt);
+            if (finishedAt != null) snapshot.put("finishedAt", finishedAt);
+            if (error != null) snapshot.put("error", error);
+            if (!invalidated.isEmpty()) snapshot.put("invalidated", new TreeMap<>(invalidated));
+            if (!progress.isEmpty()) {
+                Map<String, Object> families = new LinkedHashMap<>();
+                progress.forEach((family, p) -> families.put(family, p.snapshot()));
+                snapshot.put("families", families);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * The body of a job
+     */
+    @FunctionalInterface
+    private interface Work
+    {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,30 @@
+package pokedexapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Shows how far the cache warm-up got, family by family, at /actuator/warmup
+ */
+@Component
+@Endpoint(id = "warmup")
+public class CacheWarmupEndpoint
+{
+    private final CacheWarmupService cacheWarmupService;
+
+    @Autowired
+    public CacheWarmupEndpoint(CacheWarmupService cacheWarmupService)
+    {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> warmup()
+    {
+        return cacheWarmupService.snapshot();
+    }
+}
@@ -0,0 +1,35 @@
+package pokedexapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the cache warm-up as the cacheWarmup health contributor. With
+ * wait-for-readiness it is out of service while the warm-up runs, so a
+ * readiness group that includes it holds traffic back until the caches
+ * are warm; otherwise it only shows the progress.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator
+{
+    private final CacheWarmupService cacheWarmupService;
+    private final boolean waitForReadiness;
+
+    @Autowired
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService,
+                                      @Value("${pokedexapi.cache.warmup.wait-for-readiness:false}") boolean waitForReadiness)
+    {
+        this.cacheWarmupService = cacheWarmupService;
+        this.waitForReadiness = waitForReadiness;
+    }
+
+    @Override
+    public Health health()
+    {
+        Health.Builder health = waitForReadiness && cacheWarmupService.isRunning() ? Health.outOfService() : Health.up();
+        return health.withDetails(cacheWarmupService.snapshot()).build();
+    }
+}
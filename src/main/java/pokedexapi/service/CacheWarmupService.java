@@ -0,0 +1,285 @@
+package pokedexapi.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pokedexapi.upstream.PokeApiGateway;
+import skaro.pokeapi.resource.NamedApiResource;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.PokeApiResource;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills the caches after a deploy, so the first users are not the ones
+ * paying upstream latency for every Pokemon. Each configured resource
+ * family is listed page by page, the way getAllPokemons does, and every
+ * resource in it is fetched through the gateway: pokemon and species as
+ * entities into the entity caches, every other family (types, evolution
+ * chains...) as raw bodies into the raw response cache, which is how the
+ * controllers read them.
+ * <p>
+ * Fetches run with bounded concurrency and are paced to a request rate,
+ * so the warm-up never takes more than its share of the upstream limits.
+ * Progress is shown at /actuator/warmup and, with wait-for-readiness, the
+ * readiness probe stays out of service until the warm-up is over.
+ */
+@Service
+public class CacheWarmupService
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(CacheWarmupService.class);
+    /* families the controllers read as entities; every other family is read as raw bodies */
+    private static final Map<String, Class<? extends PokeApiResource>> ENTITY_FAMILIES =
+            Map.of("pokemon", Pokemon.class, "pokemon-species", PokemonSpecies.class);
+    private final PokeApiGateway pokeApiGateway;
+    private final JsonMapper jsonMapper;
+    private final String pokeApiBaseUrl;
+    private final boolean enabled;
+    private final List<String> families;
+    private final int pageSize;
+    private final int limit;
+    private final int concurrency;
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+    private final Map<String, Progress> progress = new LinkedHashMap<>();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    /**
+     * Where a warm-up is at
+     */
+    public enum State
+    {
+        IDLE, RUNNING, DONE, FAILED
+    }
+
+    @Autowired
+    public CacheWarmupService(PokeApiGateway pokeApiGateway,
+                              @Qualifier("jsonMapper") JsonMapper jsonMapper,
+                              @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                              @Value("${pokedexapi.cache.warmup.enabled:false}") boolean enabled,
+                              @Value("${pokedexapi.cache.warmup.families:pokemon,pokemon-species,type,evolution-chain}") List<String> families,
+                              @Value("${pokedexapi.cache.warmup.page-size:200}") int pageSize,
+                              @Value("${pokedexapi.cache.warmup.limit:0}") int limit,
+                              @Value("${pokedexapi.cache.warmup.concurrency:4}") int concurrency,
+                              @Value("${pokedexapi.cache.warmup.rate:20}") double rate)
+    {
+        this.pokeApiGateway = pokeApiGateway;
+        this.jsonMapper = jsonMapper;
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.enabled = enabled;
+        this.families = families.stream().map(String::trim).filter(f -> !f.isEmpty()).toList();
+        this.pageSize = pageSize;
+        this.limit = limit;
+        this.concurrency = Math.max(1, concurrency);
+        this.intervalNanos = rate > 0 ? (long) (1_000_000_000L / rate) : 0L;
+        this.families.forEach(family -> progress.put(family, new Progress()));
+    }
+
+    /**
+     * Starts the warm-up in the background once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady()
+    {
+        if (enabled) start();
+    }
+
+    /**
+     * Starts warming every configured family in the background
+     *
+     * @return false if a warm-up is already running
+     */
+    public boolean start()
+    {
+        if (state.getAndSet(State.RUNNING) == State.RUNNING) return false;
+        startedAt = Instant.now();
+        finishedAt = null;
+        progress.values().forEach(Progress::reset);
+        Thread.ofVirtual().name("pokedex-warmup").start(this::run);
+        return true;
+    }
+
+    private void run()
+    {
+        LOGGER.info("warming {} from {}", families, pokeApiBaseUrl);
+        State outcome = State.DONE;
+        try {
+            for (String family : families) warm(family, progress.get(family));
+        }
+        catch (Exception e) {
+            LOGGER.error("Cache warm-up failed: {}", e.getMessage());
+            outcome = State.FAILED;
+        }
+        finishedAt = Instant.now();
+        state.set(outcome);
+        LOGGER.info("warm-up {} after {}", outcome.name().toLowerCase(Locale.ROOT), Duration.between(startedAt, finishedAt));
+    }
+
+    /**
+     * @return whether a warm-up is running
+     */
+    public boolean isRunning()
+    {
+        return state.get() == State.RUNNING;
+    }
+
+    /**
+     * @return the state of the warm-up, when it started and finished, and how far each family got
+     */
+    public Map<String, Object> snapshot()
+    {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state.get());
+        if (startedAt != null) snapshot.put("startedAt", startedAt);
+        if (finishedAt != null) snapshot.put("finishedAt", finishedAt);
+        Map<String, Object> byFamily = new LinkedHashMap<>();
+        progress.forEach((family, p) -> byFamily.put(family, p.snapshot()));
+        snapshot.put("families", byFamily);
+        return snapshot;
+    }
+
+    /**
+     * Lists one family and fetches every resource in it
+     *
+     * @param family   the PokeAPI endpoint name, e.g. pokemon-species
+     * @param progress where the family's progress is counted
+     * @throws Exception if the family cannot be listed
+     */
+    private void warm(String family, Progress progress) throws Exception
+    {
+        warm(family, null, concurrency, progress);
+    }
+
+    /**
+     * Fetches some or all resources of a family, at the warm-up rate
+     *
+     * @param family      the PokeAPI endpoint name, e.g. pokemon-species
+     * @param names       the names or ids to fetch, null for every resource the family lists
+     * @param concurrency how many fetches run at once
+     * @param progress    where the family's progress is counted
+     * @throws Exception if the family cannot be listed
+     */
+    void warm(String family, List<String> names, int concurrency, Progress progress) throws Exception
+    {
+        List<Resource> resources = names == null
+                ? list(family).stream().map(resource -> new Resource(resource.name(), resource.url())).toList()
+                : names.stream().map(name -> new Resource(name, pokeApiBaseUrl + family + "/" + name + "/")).toList();
+        progress.total.set(resources.size());
+        Class<? extends PokeApiResource> type = ENTITY_FAMILIES.get(family);
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        try (ExecutorService fetches = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokedex-warmup-", 0).factory())) {
+            for (Resource resource : resources) {
+                permits.acquire();
+                pace();
+                fetches.execute(() -> {
+                    try {
+                        if (type != null) pokeApiGateway.getResource(type, resource.name());
+                        else pokeApiGateway.callUrl(resource.url());
+                        progress.warmed.incrementAndGet();
+                    }
+                    catch (Exception e) {
+                        progress.failed.incrementAndGet();
+                        LOGGER.debug("Failed to warm {}: {}", resource.url(), e.getMessage());
+                    }
+                    finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        LOGGER.info("warmed {}: {} of {} ({} failed)", family, progress.warmed.get(), progress.total.get(), progress.failed.get());
+    }
+
+    /**
+     * Pages through the list of a family
+     *
+     * @param family the PokeAPI endpoint name
+     * @return every resource of the family, at most limit of them
+     * @throws Exception if a page cannot be fetched or read
+     */
+    private List<NamedApiResource<PokeApiResource>> list(String family) throws Exception
+    {
+        List<NamedApiResource<PokeApiResource>> resources = new ArrayList<>();
+        String next = pokeApiBaseUrl + family + "?limit=" + pageSize + "&offset=0";
+        while (next != null && (limit <= 0 || resources.size() < limit)) {
+            HttpResponse<String> response = pokeApiGateway.callUrl(next);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("listing " + family + " returned " + response.statusCode());
+            }
+            NamedApiResourceList<PokeApiResource> page = jsonMapper.readValue(response.body(), new TypeReference<>()
+            {
+            });
+            if (page.results() == null || page.results().isEmpty()) break;
+            resources.addAll(page.results());
+            next = page.next();
+        }
+        return limit > 0 && resources.size() > limit ? resources.subList(0, limit) : resources;
+    }
+
+    /**
+     * Waits for the next slot under the warm-up rate
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void pace() throws InterruptedException
+    {
+        if (intervalNanos == 0) return;
+        long slot = nextSlot.getAndUpdate(next -> Math.max(next, System.nanoTime()) + intervalNanos);
+        long wait = slot - System.nanoTime();
+        if (wait > 0) Thread.sleep(Duration.ofNanos(wait));
+    }
+
+    /**
+     * A resource to fetch, by name for entities and by url for the rest
+     */
+    private record Resource(String name, String url)
+    {
+    }
+
+    /**
+     * How far the warm-up of one family got
+     */
+    static final class Progress
+    {
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger warmed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private void reset()
+        {
+            total.set(0);
+            warmed.set(0);
+            failed.set(0);
+        }
+
+        Map<String, Integer> snapshot()
+        {
+            return Map.of("total", total.get(), "warmed", warmed.get(), "failed", failed.get());
+        }
+    }
+}
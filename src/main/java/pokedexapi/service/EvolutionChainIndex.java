@@ -0,0 +1,456 @@
+package pokedexapi.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pokedexapi.upstream.PokeApiGateway;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tells the evolution chain and stage of a Pokemon id in constant time,
+ * without allocating. The index is read from PokeAPI rather than kept by
+ * hand: every evolution chain is fetched and walked for the species in it
+ * and their stage, and every species for its varieties, so megas, gmax
+ * and regional forms (ids from 10001) land on the chain of their species.
+ * The same walk builds the {@link EvolutionGraph} of the species.
+ * <p>
+ * Ids are kept in two dense int arrays, one for 1..N and one for 10001..,
+ * each slot holding the chain id and the stage packed in one int. The
+ * index is built in the background on the first lookup and again every
+ * refresh interval; a new index replaces the old one in one write, and
+ * one that cannot be built leaves the old one in place and is tried again
+ * after a minute. Until the first one is in, every lookup answers unknown.
+ * <p>
+ * A build costs a fetch per chain and per species, well over a thousand
+ * calls to PokeAPI, so what it read is written next to the disk cache and
+ * read back on start: a restarted instance has its index at once and only
+ * crawls again when the saved one is older than the refresh interval.
+ * When the index is disabled, callers fall back to reading the chain off
+ * the species.
+ */
+@Service
+public class EvolutionChainIndex
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(EvolutionChainIndex.class);
+    /* ids of alternate forms start here */
+    static final int FORM_BASE = 10001;
+    private static final int STAGE_BITS = 4;
+    private static final int STAGE_MASK = (1 << STAGE_BITS) - 1;
+    private static final long RETRY_NANOS = Duration.ofMinutes(1).toNanos();
+    private static final String FILE = "evolution-index.json";
+    private static final int[] NO_VARIETIES = new int[0];
+    private final PokeApiGateway pokeApiGateway;
+    private final JsonMapper jsonMapper;
+    private final String pokeApiBaseUrl;
+    private final boolean enabled;
+    private final long refreshNanos;
+    private final int concurrency;
+    private final Path file;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile long nextLoad = System.nanoTime();
+    private volatile Index index = Index.EMPTY;
+    private volatile EvolutionGraph graph = EvolutionGraph.EMPTY;
+
+    @Autowired
+    public EvolutionChainIndex(PokeApiGateway pokeApiGateway,
+                               @Qualifier("jsonMapper") JsonMapper jsonMapper,
+                               @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                               @Value("${pokedexapi.evolution.index.enabled:true}") boolean enabled,
+                               @Value("${pokedexapi.evolution.index.refresh:24h}") Duration refresh,
+                               @Value("${pokedexapi.evolution.index.concurrency:4}") int concurrency,
+                               @Value("${pokedexapi.cache.disk.enabled:true}") boolean diskEnabled,
+                               @Value("${pokedexapi.cache.disk.directory:${user.home}/.pokedexapi/cache}") String diskDirectory)
+    {
+        this.pokeApiGateway = pokeApiGateway;
+        this.jsonMapper = jsonMapper;
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.enabled = enabled;
+        this.refreshNanos = refresh.toNanos();
+        this.concurrency = Math.max(1, concurrency);
+        this.file = diskEnabled ? Path.of(diskDirectory, FILE) : null;
+        if (enabled) restore();
+    }
+
+    /**
+     * @param pokemonId the id of a Pokemon, forms included
+     * @return the id of its evolution chain, 0 if it is not known (yet)
+     */
+    public int chainOf(int pokemonId)
+    {
+        int slot = slot(pokemonId);
+        return slot >>> STAGE_BITS;
+    }
+
+    /**
+     * @param pokemonId the id of a Pokemon, as the caller gave it
+     * @return the id of its evolution chain, 0 if it is not known (yet) or the key is not an id
+     */
+    public int chainOf(String pokemonId)
+    {
+        return chainOf(parseId(pokemonId));
+    }
+
+    /**
+     * @param pokemonId the id of a Pokemon, forms included
+     * @return how many evolutions its species is from the start of its chain, -1 if it is not known (yet)
+     */
+    public int stageOf(int pokemonId)
+    {
+        int slot = slot(pokemonId);
+        return (slot & STAGE_MASK) - 1;
+    }
+
+    /**
+     * @return the graph of every evolution between species, empty until it is built
+     */
+    public EvolutionGraph graph()
+    {
+        if (enabled && System.nanoTime() - nextLoad >= 0) reload();
+        return graph;
+    }
+
+    /**
+     * @return whether an index has been built
+     */
+    public boolean isBuilt()
+    {
+        return index != Index.EMPTY;
+    }
+
+    /**
+     * Lays the index out the way {@link PokemonService#getEvolutionsMap()} always did
+     *
+     * @return every chain id with its stages and the Pokemon ids at each, empty until the index is built
+     */
+    public Map<Integer, List<List<Integer>>> toMap()
+    {
+        Index current = index;
+        Map<Integer, List<List<Integer>>> chains = new TreeMap<>();
+        current.forEach((pokemonId, chainId, stage) -> {
+            List<List<Integer>> stages = chains.computeIfAbsent(chainId, id -> new ArrayList<>());
+            while (stages.size() <= stage) stages.add(new ArrayList<>());
+            stages.get(stage).add(pokemonId);
+        });
+        return chains;
+    }
+
+    private int slot(int pokemonId)
+    {
+        if (enabled && System.nanoTime() - nextLoad >= 0) reload();
+        return index.slot(pokemonId);
+    }
+
+    /**
+     * Builds the index again on a virtual thread, unless that is already happening
+     */
+    void reload()
+    {
+        if (!loading.compareAndSet(false, true)) return;
+        nextLoad = System.nanoTime() + refreshNanos;
+        Thread.ofVirtual().name("pokedex-evolution-index").start(() -> {
+            try {
+                if (!load()) nextLoad = System.nanoTime() + Math.min(refreshNanos, RETRY_NANOS);
+            }
+            finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reads every evolution chain and the varieties of every species in
+     * them, swaps the index built from them in and saves what was read
+     *
+     * @return whether the index was built
+     */
+    boolean load()
+    {
+        try {
+            List<String> chainUrls = new ArrayList<>();
+            for (JsonNode result : read(pokeApiBaseUrl + "evolution-chain?limit=100000&offset=0").path("results")) {
+                chainUrls.add(result.path("url").asString());
+            }
+            if (chainUrls.isEmpty()) throw new IllegalStateException("listing evolution-chain returned no results");
+            List<JsonNode> chains = new ArrayList<>(chainUrls.size());
+            List<Integer> speciesIds = new ArrayList<>();
+            for (JsonNode chain : fetchAll(chainUrls)) {
+                // only the id and the links are kept, which is what is saved
+                chains.add(jsonMapper.createObjectNode().put("id", chain.path("id").asInt(0)).set("chain", chain.path("chain")));
+                collect(chain.path("chain"), speciesIds);
+            }
+            List<JsonNode> speciesData = fetchAll(speciesIds.stream().map(id -> pokeApiBaseUrl + "pokemon-species/" + id + "/").toList());
+            Map<Integer, int[]> varieties = new TreeMap<>();
+            for (int i = 0; i < speciesIds.size(); i++) {
+                List<Integer> pokemonIds = new ArrayList<>();
+                for (JsonNode variety : speciesData.get(i).path("varieties")) {
+                    int pokemonId = KnownNameFilter.idOf(variety.path("pokemon").path("url").asString());
+                    if (pokemonId > 0) pokemonIds.add(pokemonId);
+                }
+                varieties.put(speciesIds.get(i), pokemonIds.stream().mapToInt(Integer::intValue).toArray());
+            }
+            Source source = new Source(chains, varieties);
+            install(source);
+            save(source);
+            return true;
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to build the evolution index: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Builds the index and the graph from the chains and varieties read, and swaps them in
+     *
+     * @param source the chains and varieties
+     */
+    private void install(Source source)
+    {
+        Builder builder = new Builder();
+        EvolutionGraph.Builder graphBuilder = new EvolutionGraph.Builder();
+        List<int[]> species = new ArrayList<>();
+        for (JsonNode chain : source.chains()) {
+            int chainId = chain.path("id").asInt(0);
+            if (chainId > 0) walk(chain.path("chain"), chainId, 0, 0, species, graphBuilder);
+        }
+        for (int[] s : species) {
+            builder.put(s[0], s[1], s[2]);
+            for (int pokemonId : source.varieties().getOrDefault(s[0], NO_VARIETIES)) builder.put(pokemonId, s[1], s[2]);
+        }
+        graph = graphBuilder.build();
+        index = builder.build();
+        LOGGER.info("evolution index: {} chains, {} species, {} pokemon", source.chains().size(), species.size(), index.size());
+    }
+
+    /**
+     * Writes the chains and varieties read next to the disk cache
+     *
+     * @param source the chains and varieties
+     */
+    private void save(Source source)
+    {
+        if (file == null) return;
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "evolution-index", ".tmp");
+            try {
+                jsonMapper.writeValue(temp.toFile(), source);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally {
+                Files.deleteIfExists(temp);
+            }
+            LOGGER.info("saved the evolution index to {}", file);
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to save the evolution index to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the index from the chains and varieties saved by an earlier
+     * run, and puts the next crawl off until the saved one is due
+     */
+    private void restore()
+    {
+        if (file == null) return;
+        try {
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+            install(jsonMapper.readValue(Files.readAllBytes(file), Source.class));
+            nextLoad = System.nanoTime() + Math.max(0, refreshNanos - Duration.ofMillis(Math.max(0, age)).toNanos());
+            LOGGER.info("loaded the evolution index from {}", file);
+        }
+        catch (NoSuchFileException nsfe) {
+            LOGGER.debug("No evolution index saved at {}", file);
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to load the evolution index from {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Collects the species ids of a chain link and of everything it evolves to
+     *
+     * @param link       the chain link, as PokeAPI writes it
+     * @param speciesIds where each species id is added
+     */
+    private static void collect(JsonNode link, List<Integer> speciesIds)
+    {
+        int speciesId = KnownNameFilter.idOf(link.path("species").path("url").asString(""));
+        if (speciesId > 0) speciesIds.add(speciesId);
+        for (JsonNode next : link.path("evolves_to")) collect(next, speciesIds);
+    }
+
+    /**
+     * Collects the species of a chain link and of everything it evolves to
+     *
+     * @param link     the chain link, as PokeAPI writes it
+     * @param chainId  the id of the chain
+     * @param stage    how deep the link is
+     * @param parentId the species the link evolves from, 0 for the first link
+     * @param species  where each species is added as {species id, chain id, stage}
+     * @param graph    where each link is added with its evolution details
+     */
+    private static void walk(JsonNode link, int chainId, int stage, int parentId, List<int[]> species, EvolutionGraph.Builder graph)
+    {
+        int speciesId = KnownNameFilter.idOf(link.path("species").path("url").asString(""));
+        if (speciesId <= 0 || stage > STAGE_MASK - 1) return;
+        species.add(new int[]{speciesId, chainId, stage});
+        graph.link(speciesId, link.path("species").path("name").asString(""), chainId, parentId, stage, link.path("evolution_details"));
+        for (JsonNode next : link.path("evolves_to")) walk(next, chainId, stage + 1, speciesId, species, graph);
+    }
+
+    /**
+     * Fetches urls through the gateway, at most concurrency at once
+     *
+     * @param urls the urls
+     * @return the bodies read as trees, in the order of the urls
+     * @throws Exception if any of them cannot be fetched or read
+     */
+    private List<JsonNode> fetchAll(List<String> urls) throws Exception
+    {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<JsonNode>> fetches = new ArrayList<>(urls.size());
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pokedex-evolution-index-", 0).factory())) {
+            for (String url : urls) {
+                permits.acquire();
+                fetches.add(executor.submit(() -> {
+                    try {
+                        return read(url);
+                    }
+                    finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<JsonNode> bodies = new ArrayList<>(fetches.size());
+        for (Future<JsonNode> fetch : fetches) bodies.add(fetch.get());
+        return bodies;
+    }
+
+    private JsonNode read(String url) throws Exception
+    {
+        HttpResponse<String> response = pokeApiGateway.callUrl(url);
+        if (response.statusCode() != 200) throw new IllegalStateException(url + " returned " + response.statusCode());
+        return jsonMapper.readTree(response.body());
+    }
+
+    /**
+     * @param key a name or an id
+     * @return the id, 0 if the key is not one
+     */
+    private static int parseId(String key)
+    {
+        if (key == null || key.isEmpty() || key.length() > 9) return 0;
+        int id = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') return 0;
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * What an index is built from, as saved on disk
+     *
+     * @param chains    every evolution chain, its id and its links
+     * @param varieties the Pokemon ids of each species
+     */
+    record Source(List<JsonNode> chains, Map<Integer, int[]> varieties)
+    {
+    }
+
+    /**
+     * Chain id and stage of each Pokemon id; a slot holds chain id
+     * &lt;&lt; STAGE_BITS | stage + 1, and 0 when the id is not known
+     */
+    record Index(int[] ids, int[] forms)
+    {
+        static final Index EMPTY = new Index(new int[0], new int[0]);
+
+        int slot(int pokemonId)
+        {
+            if (pokemonId > 0 && pokemonId < ids.length) return ids[pokemonId];
+            int form = pokemonId - FORM_BASE;
+            return form >= 0 && form < forms.length ? forms[form] : 0;
+        }
+
+        int size()
+        {
+            return (int) (Arrays.stream(ids).filter(slot -> slot != 0).count() + Arrays.stream(forms).filter(slot -> slot != 0).count());
+        }
+
+        void forEach(Visitor visitor)
+        {
+            for (int id = 0; id < ids.length; id++) {
+                if (ids[id] != 0) visitor.visit(id, ids[id] >>> STAGE_BITS, (ids[id] & STAGE_MASK) - 1);
+            }
+            for (int form = 0; form < forms.length; form++) {
+                if (forms[form] != 0) visitor.visit(FORM_BASE + form, forms[form] >>> STAGE_BITS, (forms[form] & STAGE_MASK) - 1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor
+    {
+        void visit(int pokemonId, int chainId, int stage);
+    }
+
+    /**
+     * Fills the two arrays, growing them to the highest id put
+     */
+    static final class Builder
+    {
+        private int[] ids = new int[1100];
+        private int[] forms = new int[300];
+        private int maxId;
+        private int maxForm = -1;
+
+        Builder put(int pokemonId, int chainId, int stage)
+        {
+            int slot = chainId << STAGE_BITS | stage + 1;
+            if (pokemonId >= FORM_BASE) {
+                int form = pokemonId - FORM_BASE;
+                if (form >= forms.length) forms = Arrays.copyOf(forms, Math.max(form + 1, forms.length * 2));
+                forms[form] = slot;
+                maxForm = Math.max(maxForm, form);
+            }
+            else if (pokemonId > 0) {
+                if (pokemonId >= ids.length) ids = Arrays.copyOf(ids, Math.max(pokemonId + 1, ids.length * 2));
+                ids[pokemonId] = slot;
+                maxId = Math.max(maxId, pokemonId);
+            }
+            return this;
+        }
+
+        Index build()
+        {
+            return new Index(Arrays.copyOf(ids, maxId + 1), Arrays.copyOf(forms, maxForm + 1));
+        }
+    }
+}
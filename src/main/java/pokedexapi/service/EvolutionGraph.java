@@ -0,0 +1,324 @@
+package pokedexapi.service;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Every evolution PokeAPI knows as one graph over species ids, so the
+ * questions that otherwise take a walk through several nested chains are
+ * answered from memory: what a species evolves from and into, its whole
+ * family, and what evolves by trade or with a given item.
+ * <p>
+ * The graph is laid out in arrays indexed by species id: the species it
+ * evolves from, its chain and stage, and its evolutions and the details of
+ * the evolution into it as offsets into shared arrays. Trigger, item and
+ * time of day names are kept once and referred to by number. Species that
+ * evolve by each trigger and with each item are listed ahead, so those
+ * queries only copy an array. A graph is never changed once built; the
+ * evolution chain index builds a new one on every refresh.
+ */
+public final class EvolutionGraph
+{
+    static final EvolutionGraph EMPTY = new Builder().build();
+    private static final int[] NONE = new int[0];
+    private final String[] names;
+    private final int[] chains;
+    private final int[] stages;
+    private final int[] parents;
+    private final int[] childStart;
+    private final int[] children;
+    private final int[] detailStart;
+    private final int[] triggers;
+    private final int[] items;
+    private final int[] heldItems;
+    private final int[] minLevels;
+    private final int[] timesOfDay;
+    private final String[] symbols;
+    private final Map<String, Integer> symbolCodes;
+    private final Map<String, Integer> ids;
+    private final int[][] byTrigger;
+    private final int[][] byItem;
+    private final int size;
+
+    /**
+     * One species and how it is reached
+     *
+     * @param id          the species id
+     * @param name        the species name
+     * @param chain       the id of its evolution chain
+     * @param stage       how many evolutions it is from the start of its chain
+     * @param evolvesFrom the name of the species it evolves from, null for the first of a chain
+     * @param evolution   the ways it is evolved into, empty for the first of a chain
+     */
+    public record Species(int id, String name, int chain, int stage, String evolvesFrom, List<Evolution> evolution)
+    {
+    }
+
+    /**
+     * One way a species is evolved into
+     *
+     * @param trigger   what sets it off, e.g. level-up, trade, use-item
+     * @param item      the item used, or null
+     * @param heldItem  the item held, or null
+     * @param minLevel  the lowest level, 0 if there is none
+     * @param timeOfDay day or night, or null
+     */
+    public record Evolution(String trigger, String item, String heldItem, int minLevel, String timeOfDay)
+    {
+    }
+
+    private EvolutionGraph(Builder builder)
+    {
+        int length = builder.maxId + 1;
+        names = new String[length];
+        chains = new int[length];
+        stages = new int[length];
+        parents = new int[length];
+        childStart = new int[length + 1];
+        detailStart = new int[length + 1];
+        ids = new HashMap<>();
+        int details = 0;
+        for (Builder.Link link : builder.links) {
+            names[link.speciesId] = link.name;
+            chains[link.speciesId] = link.chainId;
+            stages[link.speciesId] = link.stage;
+            parents[link.speciesId] = link.parentId;
+            ids.put(link.name, link.speciesId);
+            if (link.parentId > 0 && link.parentId < length) childStart[link.parentId + 1]++;
+            detailStart[link.speciesId + 1] = link.details.size();
+            details += link.details.size();
+        }
+        for (int id = 0; id < length; id++) {
+            childStart[id + 1] += childStart[id];
+            detailStart[id + 1] += detailStart[id];
+        }
+        children = new int[childStart[length]];
+        int[] filled = Arrays.copyOf(childStart, length);
+        for (int id = 1; id < length; id++) {
+            if (names[id] != null && parents[id] > 0 && parents[id] < length) children[filled[parents[id]]++] = id;
+        }
+        triggers = new int[details];
+        items = new int[details];
+        heldItems = new int[details];
+        minLevels = new int[details];
+        timesOfDay = new int[details];
+        symbols = builder.symbols.toArray(String[]::new);
+        symbolCodes = Map.copyOf(builder.symbolCodes);
+        BitSet[] triggered = new BitSet[symbols.length];
+        BitSet[] itemized = new BitSet[symbols.length];
+        for (Builder.Link link : builder.links) {
+            int at = detailStart[link.speciesId];
+            for (int[] detail : link.details) {
+                triggers[at] = detail[0];
+                items[at] = detail[1];
+                heldItems[at] = detail[2];
+                minLevels[at] = detail[3];
+                timesOfDay[at] = detail[4];
+                at++;
+                mark(triggered, detail[0], link.speciesId);
+                mark(itemized, detail[1], link.speciesId);
+                mark(itemized, detail[2], link.speciesId);
+            }
+        }
+        byTrigger = new int[symbols.length][];
+        byItem = new int[symbols.length][];
+        for (int code = 0; code < symbols.length; code++) {
+            byTrigger[code] = triggered[code] == null ? NONE : triggered[code].stream().toArray();
+            byItem[code] = itemized[code] == null ? NONE : itemized[code].stream().toArray();
+        }
+        size = builder.links.size();
+    }
+
+    /**
+     * @return how many species are in the graph
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param nameOrId a species name or id
+     * @return the species id, 0 if the graph has no such species
+     */
+    public int idOf(String nameOrId)
+    {
+        if (nameOrId == null) return 0;
+        String key = nameOrId.trim().toLowerCase(Locale.ROOT);
+        if (!key.isEmpty() && key.length() <= 9 && key.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            int id = Integer.parseInt(key);
+            return contains(id) ? id : 0;
+        }
+        return ids.getOrDefault(key, 0);
+    }
+
+    /**
+     * @param id a species id
+     * @return the species and the ways it is evolved into, null if the graph has no such species
+     */
+    public Species species(int id)
+    {
+        if (!contains(id)) return null;
+        List<Evolution> evolution = new ArrayList<>(detailStart[id + 1] - detailStart[id]);
+        for (int at = detailStart[id]; at < detailStart[id + 1]; at++) {
+            evolution.add(new Evolution(symbol(triggers[at]), symbol(items[at]), symbol(heldItems[at]), minLevels[at], symbol(timesOfDay[at])));
+        }
+        return new Species(id, names[id], chains[id], stages[id], contains(parents[id]) ? names[parents[id]] : null, evolution);
+    }
+
+    /**
+     * @param id a species id
+     * @return the species it evolves from, nearest first
+     */
+    public int[] ancestors(int id)
+    {
+        if (!contains(id)) return NONE;
+        int[] ancestors = new int[stages[id]];
+        int count = 0;
+        for (int parent = parents[id]; contains(parent) && count < ancestors.length; parent = parents[parent]) ancestors[count++] = parent;
+        return count == ancestors.length ? ancestors : Arrays.copyOf(ancestors, count);
+    }
+
+    /**
+     * @param id a species id
+     * @return the species it evolves into, directly or not, stage by stage
+     */
+    public int[] descendants(int id)
+    {
+        if (!contains(id)) return NONE;
+        int[] queue = new int[8];
+        int head = 0;
+        int tail = 0;
+        for (int current = id; ; current = queue[head++]) {
+            for (int at = childStart[current]; at < childStart[current + 1]; at++) {
+                if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+                queue[tail++] = children[at];
+            }
+            if (head == tail) break;
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * @param id a species id
+     * @return the first species of its chain followed by everything that evolves from it
+     */
+    public int[] family(int id)
+    {
+        if (!contains(id)) return NONE;
+        int root = id;
+        while (contains(parents[root])) root = parents[root];
+        int[] descendants = descendants(root);
+        int[] family = new int[descendants.length + 1];
+        family[0] = root;
+        System.arraycopy(descendants, 0, family, 1, descendants.length);
+        return family;
+    }
+
+    /**
+     * @param trigger an evolution trigger name, e.g. trade
+     * @return the species evolved into by it, by id
+     */
+    public int[] evolvingBy(String trigger)
+    {
+        Integer code = trigger == null ? null : symbolCodes.get(trigger.trim().toLowerCase(Locale.ROOT));
+        return code == null ? NONE : byTrigger[code].clone();
+    }
+
+    /**
+     * @param item an item name, e.g. thunder-stone or metal-coat
+     * @return the species evolved into by using or holding it, by id
+     */
+    public int[] evolvingWith(String item)
+    {
+        Integer code = item == null ? null : symbolCodes.get(item.trim().toLowerCase(Locale.ROOT));
+        return code == null ? NONE : byItem[code].clone();
+    }
+
+    /**
+     * @param id a species id
+     * @return its name, null if the graph has no such species
+     */
+    public String name(int id)
+    {
+        return contains(id) ? names[id] : null;
+    }
+
+    private boolean contains(int id)
+    {
+        return id > 0 && id < names.length && names[id] != null;
+    }
+
+    private String symbol(int code)
+    {
+        return code < 0 ? null : symbols[code];
+    }
+
+    private static void mark(BitSet[] sets, int code, int id)
+    {
+        if (code < 0) return;
+        if (sets[code] == null) sets[code] = new BitSet();
+        sets[code].set(id);
+    }
+
+    /**
+     * Collects the links of every chain as they are walked
+     */
+    static final class Builder
+    {
+        private final List<Link> links = new ArrayList<>();
+        private final List<String> symbols = new ArrayList<>();
+        private final Map<String, Integer> symbolCodes = new HashMap<>();
+        private int maxId;
+
+        /**
+         * @param speciesId the species of the chain link
+         * @param name      its name
+         * @param chainId   the id of the chain
+         * @param parentId  the species it evolves from, 0 for the first of a chain
+         * @param stage     how deep the link is
+         * @param details   the evolution_details of the link, as PokeAPI writes them
+         * @return the builder
+         */
+        Builder link(int speciesId, String name, int chainId, int parentId, int stage, JsonNode details)
+        {
+            List<int[]> evolution = new ArrayList<>();
+            for (JsonNode detail : details) {
+                evolution.add(new int[]{
+                        code(detail.path("trigger").path("name").asString("")),
+                        code(detail.path("item").path("name").asString("")),
+                        code(detail.path("held_item").path("name").asString("")),
+                        detail.path("min_level").asInt(0),
+                        code(detail.path("time_of_day").asString(""))});
+            }
+            links.add(new Link(speciesId, name.toLowerCase(Locale.ROOT), chainId, parentId, stage, evolution));
+            maxId = Math.max(maxId, speciesId);
+            return this;
+        }
+
+        private int code(String symbol)
+        {
+            if (symbol.isEmpty()) return -1;
+            return symbolCodes.computeIfAbsent(symbol, s -> {
+                symbols.add(s);
+                return symbols.size() - 1;
+            });
+        }
+
+        EvolutionGraph build()
+        {
+            return new EvolutionGraph(this);
+        }
+
+        private record Link(int speciesId, String name, int chainId, int parentId, int stage, List<int[]> details)
+        {
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package pokedexapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pokedexapi.cache.CacheMetrics;
+import pokedexapi.cache.ResourceAliases;
+import pokedexapi.upstream.PokeApiGateway;
+import pokedexapi.upstream.UpstreamUrls;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps typos and bad ids of the name-or-id lookups away from PokeAPI.
+ * The full list of each configured family (pokemon, pokemon-species) is
+ * read in the background on the first lookup and held as an exact set of
+ * names and a bit set of ids, so a key that is not in it is answered as
+ * not found without a call; a few thousand names fit in less memory than
+ * a Bloom filter needs to keep false positives down. The lists are read
+ * again every refresh interval, so new resources are let through after a
+ * while. Until a family's list is in, every key is let through.
+ * <p>
+ * Keys that are in the list but that PokeAPI still answered with a 404
+ * are remembered for a short while in a negative cache.
+ */
+@Service
+public class KnownNameFilter
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(KnownNameFilter.class);
+    static final String NEGATIVE = "negative";
+    private static final long RETRY_NANOS = Duration.ofMinutes(1).toNanos();
+    private final PokeApiGateway pokeApiGateway;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final String pokeApiBaseUrl;
+    private final boolean enabled;
+    private final List<String> families;
+    private final long refreshNanos;
+    private final Cache<String, Boolean> notFound;
+    private final Map<String, Known> known = new ConcurrentHashMap<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile long nextLoad = System.nanoTime();
+    private ResourceAliases resourceAliases;
+
+    @Autowired
+    public KnownNameFilter(PokeApiGateway pokeApiGateway,
+                           @Qualifier("jsonMapper") JsonMapper jsonMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                           @Value("${pokedexapi.cache.known-names.enabled:true}") boolean enabled,
+                           @Value("${pokedexapi.cache.known-names.families:pokemon,pokemon-species}") List<String> families,
+                           @Value("${pokedexapi.cache.known-names.refresh:24h}") Duration refresh,
+                           @Value("${pokedexapi.cache.negative.ttl:5m}") Duration negativeTtl,
+                           @Value("${pokedexapi.cache.negative.max-entries:10000}") long negativeMaxEntries)
+    {
+        this.pokeApiGateway = pokeApiGateway;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.enabled = enabled;
+        this.families = families.stream().map(String::trim).filter(f -> !f.isEmpty()).toList();
+        this.refreshNanos = refresh.toNanos();
+        this.notFound = Caffeine.newBuilder()
+                .maximumSize(negativeMaxEntries)
+                .expireAfterWrite(negativeTtl)
+                .removalListener((String key, Boolean value, RemovalCause cause) -> CacheMetrics.removed(meterRegistry, NEGATIVE, cause))
+                .recordStats()
+                .build();
+        CacheMetrics.bind(meterRegistry, NEGATIVE, notFound);
+    }
+
+    /**
+     * The names in the lists are taught to the aliases, so name lookups resolve to ids from the start
+     *
+     * @param resourceAliases the aliases
+     */
+    @Autowired(required = false)
+    public void setResourceAliases(ResourceAliases resourceAliases)
+    {
+        this.resourceAliases = resourceAliases;
+    }
+
+    /**
+     * Runs a blocking lookup unless the key is known not to exist
+     *
+     * @param type     the resource class
+     * @param nameOrId the name or id looked up
+     * @param lookup   the lookup
+     * @return what the lookup returned, null if the key was rejected
+     */
+    public <T> T lookup(Class<?> type, String nameOrId, Supplier<T> lookup)
+    {
+        String family = UpstreamUrls.resourcePath(type);
+        if (!mayExist(family, nameOrId)) return null;
+        try {
+            return lookup.get();
+        }
+        catch (RuntimeException e) {
+            if (isNotFound(e)) notFound(family, nameOrId);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a non-blocking lookup unless the key is known not to exist
+     *
+     * @param type     the resource class
+     * @param nameOrId the name or id looked up
+     * @param lookup   the lookup
+     * @return what the lookup emits, empty if the key was rejected
+     */
+    public <T> Mono<T> lookup(Class<?> type, String nameOrId, Mono<T> lookup)
+    {
+        String family = UpstreamUrls.resourcePath(type);
+        return Mono.defer(() -> mayExist(family, nameOrId) ? lookup : Mono.<T>empty())
+                .doOnError(e -> {
+                    if (isNotFound(e)) notFound(family, nameOrId);
+                });
+    }
+
+    /**
+     * @param family   the PokeAPI endpoint name, e.g. pokemon-species
+     * @param nameOrId the name or id looked up
+     * @return false if the key is not in the family's list or PokeAPI said lately it has no such resource
+     */
+    public boolean mayExist(String family, String nameOrId)
+    {
+        if (!enabled) return true;
+        if (notFound.getIfPresent(negativeKey(family, nameOrId)) != null) {
+            rejected(family, NEGATIVE);
+            return false;
+        }
+        if (System.nanoTime() - nextLoad >= 0) reload();
+        Known list = known.get(family);
+        if (list == null || list.contains(key(nameOrId))) return true;
+        rejected(family, "unknown");
+        return false;
+    }
+
+    /**
+     * Remembers that PokeAPI has no resource under the key
+     *
+     * @param family   the PokeAPI endpoint name
+     * @param nameOrId the name or id looked up
+     */
+    public void notFound(String family, String nameOrId)
+    {
+        if (enabled) notFound.put(negativeKey(family, nameOrId), Boolean.TRUE);
+    }
+
+    /**
+     * @return how many misses are remembered
+     */
+    public long size()
+    {
+        return notFound.estimatedSize();
+    }
+
+    /**
+     * Forgets the misses whose key matches
+     *
+     * @param key tells which keys, e.g. pokemon/missingno, to forget
+     * @return how many were forgotten
+     */
+    public long invalidateIf(Predicate<String> key)
+    {
+        long invalidated = 0;
+        for (String k : notFound.asMap().keySet()) {
+            if (key.test(k) && notFound.asMap().remove(k) != null) invalidated++;
+        }
+        return invalidated;
+    }
+
+    /**
+     * Reads the lists of every family again on a virtual thread, unless
+     * that is already happening. A list that could not be read is tried
+     * again after a minute rather than a whole refresh interval
+     */
+    void reload()
+    {
+        if (!loading.compareAndSet(false, true)) return;
+        nextLoad = System.nanoTime() + refreshNanos;
+        Thread.ofVirtual().name("pokedex-known-names").start(() -> {
+            try {
+                boolean loaded = true;
+                for (String family : families) loaded &= load(family);
+                if (!loaded) nextLoad = System.nanoTime() + Math.min(refreshNanos, RETRY_NANOS);
+            }
+            finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reads the full list of a family and swaps it in; a list that
+     * cannot be read leaves the one before it in place
+     *
+     * @param family the PokeAPI endpoint name
+     * @return whether the list was read
+     */
+    boolean load(String family)
+    {
+        try {
+            HttpResponse<String> response = pokeApiGateway.callUrl(pokeApiBaseUrl + family + "?limit=100000&offset=0");
+            if (response.statusCode() != 200) throw new IllegalStateException("listing " + family + " returned " + response.statusCode());
+            Set<String> names = new HashSet<>();
+            BitSet ids = new BitSet();
+            for (JsonNode result : jsonMapper.readTree(response.body()).path("results")) {
+                String name = result.path("name").asString().toLowerCase(Locale.ROOT);
+                names.add(name);
+                int id = idOf(result.path("url").asString());
+                if (id > 0) ids.set(id);
+                if (id > 0 && resourceAliases != null) resourceAliases.learn(family, name, id);
+            }
+            if (names.isEmpty()) throw new IllegalStateException("listing " + family + " returned no results");
+            known.put(family, new Known(Set.copyOf(names), ids));
+            LOGGER.info("known {}: {} names", family, names.size());
+            return true;
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to list {}: {}", family, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param t what a lookup failed with
+     * @return whether PokeAPI answered it with a 404
+     */
+    static boolean isNotFound(Throwable t)
+    {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof WebClientResponseException wcre) return wcre.getStatusCode().value() == 404;
+        }
+        return false;
+    }
+
+    private void rejected(String family, String reason)
+    {
+        meterRegistry.counter("pokedexapi.cache.known-names.rejected", "family", family, "reason", reason).increment();
+    }
+
+    /**
+     * Names in the lists are lowercase; any spelling of one may exist
+     */
+    private static String key(String nameOrId)
+    {
+        return nameOrId == null ? "" : nameOrId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Misses are remembered as spelled, since PokeAPI may know another spelling of the same name
+     */
+    private static String negativeKey(String family, String nameOrId)
+    {
+        return family + "/" + nameOrId;
+    }
+
+    /**
+     * @param url the url of a resource, e.g. https://pokeapi.co/api/v2/pokemon/25/
+     * @return the id at its end, 0 if there is none
+     */
+    static int idOf(String url)
+    {
+        int end = url.endsWith("/") ? url.length() - 1 : url.length();
+        int start = url.lastIndexOf('/', end - 1) + 1;
+        try {
+            return Integer.parseInt(url, start, end, 10);
+        }
+        catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The names and ids of one family as PokeAPI listed them
+     */
+    private record Known(Set<String> names, BitSet ids)
+    {
+        private boolean contains(String key)
+        {
+            if (names.contains(key)) return true;
+            if (key.isEmpty() || key.length() > 9 || !key.chars().allMatch(Character::isDigit)) return false;
+            return ids.get(Integer.parseInt(key));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pokedexapi.service;
 
+import pokedexapi.cache.PassthroughBody;
 import skaro.pokeapi.resource.NamedApiResourceList;
 import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
 import skaro.pokeapi.resource.pokemon.Pokemon;
@@ -17,6 +18,8 @@ public interface PokemonService
 
     HttpResponse<String> callUrl(String url) throws Exception;
 
+    PassthroughBody streamUrl(String url) throws Exception;
+
     PokemonSpecies getPokemonSpeciesData(String id) throws Exception;
 
     List<String> getPokemonLocationAreas(String url) throws Exception;
@@ -0,0 +1,314 @@
+package pokedexapi.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pokedexapi.upstream.PokeApiGateway;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemon.PokemonType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The damage multiplier of every attacking type against every defending
+ * type, read once from the damage relations of each type PokeAPI lists, so
+ * matchups of any number of types and of dual-typed defenders are worked
+ * out in memory instead of with a fetch per type.
+ * <p>
+ * The chart is a float matrix indexed [attack][defend] in PokeAPI's order
+ * of the types; a dual type multiplies the two columns. Types without any
+ * damage relation (unknown, shadow, stellar) are left out. The chart is
+ * built in the background on the first lookup and again every refresh
+ * interval; a new chart replaces the old one in one write, and one that
+ * cannot be built leaves the old one in place and is tried again after a
+ * minute. Until the first one is in, the chart is empty.
+ */
+@Service
+public class TypeChart
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(TypeChart.class);
+    private static final long RETRY_NANOS = Duration.ofMinutes(1).toNanos();
+    private final PokeApiGateway pokeApiGateway;
+    private final JsonMapper jsonMapper;
+    private final String pokeApiBaseUrl;
+    private final boolean enabled;
+    private final long refreshNanos;
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile long nextLoad = System.nanoTime();
+    private volatile Chart chart = Chart.EMPTY;
+
+    @Autowired
+    public TypeChart(PokeApiGateway pokeApiGateway,
+                     @Qualifier("jsonMapper") JsonMapper jsonMapper,
+                     @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl,
+                     @Value("${pokedexapi.types.chart.enabled:true}") boolean enabled,
+                     @Value("${pokedexapi.types.chart.refresh:24h}") Duration refresh)
+    {
+        this.pokeApiGateway = pokeApiGateway;
+        this.jsonMapper = jsonMapper;
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+        this.enabled = enabled;
+        this.refreshNanos = refresh.toNanos();
+    }
+
+    /**
+     * @return the chart, empty until it is built
+     */
+    public Chart chart()
+    {
+        if (enabled && System.nanoTime() - nextLoad >= 0) reload();
+        return chart;
+    }
+
+    /**
+     * @param pokemon a Pokemon, as read from PokeAPI
+     * @return the names of its types, in slot order
+     */
+    public List<String> typesOf(Pokemon pokemon)
+    {
+        List<String> types = new ArrayList<>();
+        if (pokemon == null || pokemon.getTypes() == null) return types;
+        for (PokemonType type : pokemon.getTypes()) {
+            String name = type.getType() == null ? null : type.getType().name();
+            if (name != null && !name.isEmpty()) types.add(name);
+        }
+        return types;
+    }
+
+    /**
+     * Builds the chart again on a virtual thread, unless that is already happening
+     */
+    void reload()
+    {
+        if (!loading.compareAndSet(false, true)) return;
+        nextLoad = System.nanoTime() + refreshNanos;
+        Thread.ofVirtual().name("pokedex-type-chart").start(() -> {
+            try {
+                if (!load()) nextLoad = System.nanoTime() + Math.min(refreshNanos, RETRY_NANOS);
+            }
+            finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reads every type and swaps the chart built from their damage relations in
+     *
+     * @return whether the chart was built
+     */
+    boolean load()
+    {
+        try {
+            Map<String, JsonNode> relations = new LinkedHashMap<>();
+            for (JsonNode result : read(pokeApiBaseUrl + "type?limit=100000&offset=0").path("results")) {
+                JsonNode type = read(result.path("url").asString());
+                relations.put(type.path("name").asString(), type.path("damage_relations"));
+            }
+            Chart built = Chart.of(relations);
+            if (built.size() == 0) throw new IllegalStateException("no type has damage relations");
+            chart = built;
+            LOGGER.info("type chart: {} types", built.size());
+            return true;
+        }
+        catch (Exception e) {
+            LOGGER.warn("Failed to build the type chart: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private JsonNode read(String url) throws Exception
+    {
+        HttpResponse<String> response = pokeApiGateway.callUrl(url);
+        if (response.statusCode() != 200) throw new IllegalStateException(url + " returned " + response.statusCode());
+        return jsonMapper.readTree(response.body());
+    }
+
+    /**
+     * Multipliers of attacking types against defenders
+     *
+     * @param attack      the attacking types, one per row
+     * @param defend      the defenders, one per column; a dual type is written type/type
+     * @param multipliers the multiplier of each attack against each defender
+     */
+    public record Matchups(List<String> attack, List<String> defend, float[][] multipliers)
+    {
+    }
+
+    /**
+     * How every attacking type fares against one Pokemon
+     *
+     * @param pokemon     the Pokemon name
+     * @param types       its types
+     * @param multipliers the multiplier of each attacking type
+     * @param weaknesses  the types that hit it harder than normal
+     * @param resistances the types that hit it less than normal
+     * @param immunities  the types that do not hit it at all
+     */
+    public record Weaknesses(String pokemon, List<String> types, Map<String, Float> multipliers,
+                             List<String> weaknesses, List<String> resistances, List<String> immunities)
+    {
+    }
+
+    /**
+     * One built chart, never changed afterwards
+     */
+    public static final class Chart
+    {
+        static final Chart EMPTY = new Chart(new String[0], new float[0][0]);
+        private final String[] names;
+        private final float[][] multipliers;
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private Chart(String[] names, float[][] multipliers)
+        {
+            this.names = names;
+            this.multipliers = multipliers;
+            for (int code = 0; code < names.length; code++) codes.put(names[code], code);
+        }
+
+        /**
+         * @param relations the damage_relations of each type, by type name in PokeAPI's order
+         * @return the chart of the types that have any relation
+         */
+        static Chart of(Map<String, JsonNode> relations)
+        {
+            List<String> names = new ArrayList<>();
+            relations.forEach((name, damage) -> {
+                for (JsonNode list : damage) {
+                    if (!list.isEmpty()) {
+                        names.add(name);
+                        return;
+                    }
+                }
+            });
+            Chart chart = new Chart(names.toArray(String[]::new), new float[names.size()][names.size()]);
+            for (float[] row : chart.multipliers) Arrays.fill(row, 1f);
+            for (int attack = 0; attack < chart.names.length; attack++) {
+                JsonNode damage = relations.get(chart.names[attack]);
+                chart.set(attack, damage.path("double_damage_to"), 2f);
+                chart.set(attack, damage.path("half_damage_to"), 0.5f);
+                chart.set(attack, damage.path("no_damage_to"), 0f);
+            }
+            return chart;
+        }
+
+        private void set(int attack, JsonNode defenders, float multiplier)
+        {
+            for (JsonNode defender : defenders) {
+                Integer defend = codes.get(defender.path("name").asString(""));
+                if (defend != null) multipliers[attack][defend] = multiplier;
+            }
+        }
+
+        /**
+         * @return how many types are in the chart
+         */
+        public int size()
+        {
+            return names.length;
+        }
+
+        /**
+         * @return the type names, in PokeAPI's order
+         */
+        public List<String> names()
+        {
+            return List.of(names);
+        }
+
+        /**
+         * @param type a type name
+         * @return its row and column in the chart, -1 if it is not in it
+         */
+        public int codeOf(String type)
+        {
+            Integer code = type == null ? null : codes.get(type.trim().toLowerCase(Locale.ROOT));
+            return code == null ? -1 : code;
+        }
+
+        /**
+         * @param attack   the row of the attacking type
+         * @param defender the columns of the defending types
+         * @return the multiplier of the attack against a defender with all those types
+         */
+        public float effectiveness(int attack, int... defender)
+        {
+            float multiplier = 1f;
+            for (int defend : defender) multiplier *= multipliers[attack][defend];
+            return multiplier;
+        }
+
+        /**
+         * @param attack the attacking types, all of them if null or empty
+         * @param defend the defenders, each one type or two written type/type
+         * @return the multiplier of each attack against each defender
+         * @throws IllegalArgumentException if a type is not in the chart
+         */
+        public Matchups matchups(List<String> attack, List<String> defend)
+        {
+            List<String> attacks = attack == null || attack.isEmpty() ? names() : attack;
+            int[] rows = new int[attacks.size()];
+            for (int i = 0; i < rows.length; i++) rows[i] = code(attacks.get(i));
+            int[][] columns = new int[defend.size()][];
+            for (int i = 0; i < columns.length; i++) columns[i] = codes(defend.get(i).split("/"));
+            float[][] result = new float[rows.length][columns.length];
+            for (int i = 0; i < rows.length; i++) {
+                for (int j = 0; j < columns.length; j++) result[i][j] = effectiveness(rows[i], columns[j]);
+            }
+            return new Matchups(attacks, defend, result);
+        }
+
+        /**
+         * @param pokemon the Pokemon name
+         * @param types   its types
+         * @return the multiplier of every attacking type against it
+         * @throws IllegalArgumentException if a type is not in the chart
+         */
+        public Weaknesses weaknesses(String pokemon, List<String> types)
+        {
+            int[] defender = codes(types.toArray(String[]::new));
+            Map<String, Float> byType = new LinkedHashMap<>();
+            List<String> weaknesses = new ArrayList<>();
+            List<String> resistances = new ArrayList<>();
+            List<String> immunities = new ArrayList<>();
+            for (int attack = 0; attack < names.length; attack++) {
+                float multiplier = effectiveness(attack, defender);
+                byType.put(names[attack], multiplier);
+                if (multiplier > 1f) weaknesses.add(names[attack]);
+                else if (multiplier == 0f) immunities.add(names[attack]);
+                else if (multiplier < 1f) resistances.add(names[attack]);
+            }
+            return new Weaknesses(pokemon, types, byType, weaknesses, resistances, immunities);
+        }
+
+        private int[] codes(String[] types)
+        {
+            int[] codes = new int[types.length];
+            for (int i = 0; i < types.length; i++) codes[i] = code(types[i]);
+            return codes;
+        }
+
+        private int code(String type)
+        {
+            int code = codeOf(type);
+            if (code < 0) throw new IllegalArgumentException("no type named " + type);
+            return code;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package pokedexapi.upstream;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for one upstream host. Finished calls report
+ * their round trip times, and the limit is judged once per window of
+ * about one round trip rather than on every call: a window with an
+ * error or a timeout, or whose mean round trip is well above the
+ * long-window baseline (the latency gradient), multiplies the limit down;
+ * otherwise, if the limit was actually being used, it grows by one. One
+ * slow call in a window of fast ones, such as an encounters list among
+ * single lookups, is then not mistaken for congestion. Calls over the
+ * limit wait in a bounded queue.
+ */
+public class AdaptiveLimit
+{
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long timeoutNanos;
+    private final int maxQueue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private double baselineRttNanos;
+    private int inFlight;
+    private int queued;
+    private long windowStart;
+    private int windowSamples;
+    private long windowRttNanos;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    /**
+     * @param initialLimit the limit to start from
+     * @param minLimit     the limit never drops below this
+     * @param maxLimit     the limit never grows above this
+     * @param backoffRatio what the limit is multiplied by on congestion
+     * @param tolerance    how many times the baseline rtt a window may average before it counts as congestion
+     * @param timeoutNanos a call slower than this always counts as congestion
+     * @param maxQueue     how many calls may wait for a slot
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                         double tolerance, long timeoutNanos, int maxQueue)
+    {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.timeoutNanos = timeoutNanos;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Waits for a slot under the current limit
+     *
+     * @param maxWaitNanos how long to wait
+     * @return true if a slot was taken and must be released with {@link #release(long, boolean)}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire(long maxWaitNanos) throws InterruptedException
+    {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueue) return false;
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) return false;
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            }
+            finally {
+                queued--;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a slot if one is free under the current limit, without queueing
+     *
+     * @return true if a slot was taken and must be released with {@link #release(long, boolean)}
+     */
+    public boolean tryAcquire()
+    {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) return false;
+            inFlight++;
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a slot and adjusts the limit once the current window is over
+     *
+     * @param rttNanos how long the call took
+     * @param dropped  true if the call failed in a way that says upstream is struggling
+     */
+    public void release(long rttNanos, boolean dropped)
+    {
+        release(rttNanos, dropped, System.nanoTime());
+    }
+
+    /**
+     * A window opens with the first call released after the last one closed
+     * and closes with the first call released a baseline round trip later;
+     * until there is a baseline, every call closes one
+     */
+    void release(long rttNanos, boolean dropped, long nowNanos)
+    {
+        lock.lock();
+        try {
+            if (windowSamples == 0 && !windowDropped) windowStart = nowNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            if (dropped || rttNanos > timeoutNanos) {
+                windowDropped = true;
+            }
+            else {
+                windowSamples++;
+                windowRttNanos += rttNanos;
+            }
+            if (nowNanos - windowStart >= (long) baselineRttNanos) closeWindow();
+            inFlight--;
+            released.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the limit at most one step for the window just over and folds
+     * its mean round trip into the baseline
+     */
+    private void closeWindow()
+    {
+        double meanRttNanos = windowSamples == 0 ? 0 : (double) windowRttNanos / windowSamples;
+        boolean congested = windowDropped || (baselineRttNanos > 0 && meanRttNanos > baselineRttNanos * tolerance);
+        if (congested) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+        else if (windowMaxInFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (windowSamples > 0) {
+            baselineRttNanos = baselineRttNanos == 0 ? meanRttNanos : baselineRttNanos * 0.95 + meanRttNanos * 0.05;
+        }
+        windowSamples = 0;
+        windowRttNanos = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    public int limit()
+    {
+        lock.lock();
+        try {
+            return (int) limit;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight()
+    {
+        lock.lock();
+        try {
+            return inFlight;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued()
+    {
+        lock.lock();
+        try {
+            return queued;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the long-window baseline round trip time of successful calls in milliseconds
+     */
+    public double averageRttMillis()
+    {
+        lock.lock();
+        try {
+            return baselineRttNanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
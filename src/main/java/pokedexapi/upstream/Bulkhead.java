@@ -0,0 +1,66 @@
+package pokedexapi.upstream;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many calls of one family may be upstream at the same time
+ */
+public class Bulkhead
+{
+    private final int maxConcurrent;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+
+    /**
+     * @param maxConcurrent the most calls allowed at once
+     * @param maxWaitMillis how long a call may wait for a free slot
+     */
+    public Bulkhead(int maxConcurrent, long maxWaitMillis)
+    {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Waits up to the max wait for a free slot
+     *
+     * @return true if a slot was taken and must be released
+     */
+    public boolean tryAcquire()
+    {
+        try {
+            return permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Takes a free slot if there is one, without waiting
+     *
+     * @return true if a slot was taken and must be released
+     */
+    public boolean tryAcquireNow()
+    {
+        return permits.tryAcquire();
+    }
+
+    public void release()
+    {
+        permits.release();
+    }
+
+    public int available()
+    {
+        return permits.availablePermits();
+    }
+
+    public int maxConcurrent()
+    {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,192 @@
+package pokedexapi.upstream;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. Outcomes of the last {@code windowSize} calls
+ * are kept; once at least {@code minimumCalls} are recorded and the share of
+ * failures reaches the threshold the breaker opens and rejects calls. After
+ * {@code openDuration} a few trial calls are let through: if they all succeed
+ * the breaker closes again, the first failure opens it again.
+ */
+public class CircuitBreaker
+{
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final float failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+    private final boolean[] outcomes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    /**
+     * @param failureRateThreshold percentage of failed calls (0-100) that opens the breaker
+     * @param windowSize           how many recent calls are considered
+     * @param minimumCalls         calls needed in the window before the rate is trusted
+     * @param openDurationMillis   how long the breaker stays open before trial calls
+     * @param halfOpenCalls        trial calls that must succeed to close again
+     * @param clock                source of the current time in milliseconds
+     */
+    public CircuitBreaker(float failureRateThreshold, int windowSize, int minimumCalls,
+                          long openDurationMillis, int halfOpenCalls, LongSupplier clock)
+    {
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks to make a call
+     *
+     * @return true if the call may go upstream, false if it must fail fast
+     */
+    public boolean tryAcquire()
+    {
+        lock.lock();
+        try {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationMillis) {
+                state = State.HALF_OPEN;
+                halfOpenPermitted = 0;
+                halfOpenSucceeded = 0;
+            }
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (halfOpenPermitted >= halfOpenCalls) yield false;
+                    halfOpenPermitted++;
+                    yield true;
+                }
+            };
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess()
+    {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSucceeded >= halfOpenCalls) close();
+            }
+            else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure()
+    {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+            }
+            else if (state == State.CLOSED) {
+                record(true);
+                if (recorded >= minimumCalls && failureRate() >= failureRateThreshold) open();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands back a permit that was never used for a call
+     */
+    public void onIgnored()
+    {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermitted > 0) halfOpenPermitted--;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public State state()
+    {
+        lock.lock();
+        try {
+            return state;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the percentage of failed calls in the window, 0 when empty
+     */
+    public float failureRate()
+    {
+        lock.lock();
+        try {
+            return recorded == 0 ? 0 : failures * 100f / recorded;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int bufferedCalls()
+    {
+        lock.lock();
+        try {
+            return recorded;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure)
+    {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) failures--;
+        }
+        else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open()
+    {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close()
+    {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
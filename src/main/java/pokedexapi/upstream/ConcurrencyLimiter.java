@@ -0,0 +1,188 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Keeps an {@link AdaptiveLimit} per upstream host in front of every
+ * upstream call, so bursts queue here (boundedly) instead of flooding
+ * pokeapi.co or the connection pools.
+ */
+@Component
+public class ConcurrencyLimiter
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(ConcurrencyLimiter.class);
+    private static final Duration SLOT_POLL_INTERVAL = Duration.ofMillis(5);
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final Duration timeout;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    @Autowired
+    public ConcurrencyLimiter(MeterRegistry meterRegistry,
+                              @Value("${pokedexapi.upstream.limit.initial:20}") int initialLimit,
+                              @Value("${pokedexapi.upstream.limit.min:4}") int minLimit,
+                              @Value("${pokedexapi.upstream.limit.max:64}") int maxLimit,
+                              @Value("${pokedexapi.upstream.limit.backoff-ratio:0.9}") double backoffRatio,
+                              @Value("${pokedexapi.upstream.limit.rtt-tolerance:2.0}") double tolerance,
+                              @Value("${pokedexapi.upstream.limit.timeout:5s}") Duration timeout,
+                              @Value("${pokedexapi.upstream.limit.max-queue:256}") int maxQueue,
+                              @Value("${pokedexapi.upstream.limit.max-wait:2s}") Duration maxWait)
+    {
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.timeout = timeout;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Runs the call once there is room under the limit of its host
+     *
+     * @param url           the url being called, used to pick the host
+     * @param call          the upstream call
+     * @param droppedResult tells whether a returned value means upstream is struggling
+     * @return what the call returned
+     * @throws E                            whatever the call throws
+     * @throws UpstreamUnavailableException if the queue is full or the wait timed out
+     */
+    public <T, E extends Exception> T call(String url, UpstreamCall<T, E> call,
+                                           Predicate<? super T> droppedResult) throws E
+    {
+        String host = host(url);
+        AdaptiveLimit limit = limits.computeIfAbsent(host, this::newLimit);
+        boolean acquired;
+        try {
+            acquired = limit.acquire(maxWait.toNanos());
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            meterRegistry.counter("pokedexapi.upstream.limit.rejected", "host", host).increment();
+            LOGGER.debug("concurrency limit {} reached for {}", limit.limit(), host);
+            throw new UpstreamUnavailableException(UpstreamFamily.of(url), "concurrency limit reached");
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            T result = call.call();
+            dropped = droppedResult.test(result);
+            return result;
+        }
+        catch (Throwable t) {
+            dropped = isDropped(t);
+            throw t;
+        }
+        finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * The non-blocking form of {@link #call} used by the reactive gateway.
+     * Instead of parking a thread in the queue, it polls for a free slot
+     * until the max wait runs out.
+     *
+     * @param url  the url being called, used to pick the host
+     * @param call the upstream call, subscribed to once a slot is taken
+     * @return the call behind the limit, failing with UpstreamUnavailableException if the wait timed out
+     */
+    public <T> Mono<T> guard(String url, Mono<T> call)
+    {
+        String host = host(url);
+        AdaptiveLimit limit = limits.computeIfAbsent(host, this::newLimit);
+        return Mono.defer(() -> {
+            long deadline = System.nanoTime() + maxWait.toNanos();
+            return Mono.defer(() -> {
+                        if (limit.tryAcquire()) return Mono.just(System.nanoTime());
+                        if (System.nanoTime() - deadline < 0) return Mono.<Long>empty();
+                        meterRegistry.counter("pokedexapi.upstream.limit.rejected", "host", host).increment();
+                        LOGGER.debug("concurrency limit {} reached for {}", limit.limit(), host);
+                        return Mono.<Long>error(new UpstreamUnavailableException(UpstreamFamily.of(url), "concurrency limit reached"));
+                    })
+                    .repeatWhenEmpty(polls -> polls.delayElements(SLOT_POLL_INTERVAL))
+                    .flatMap(start -> {
+                        AtomicBoolean dropped = new AtomicBoolean();
+                        return call
+                                .doOnError(t -> dropped.set(isDropped(t)))
+                                .doFinally(signal -> limit.release(System.nanoTime() - start, dropped.get()));
+                    });
+        });
+    }
+
+    /**
+     * The limits of every host seen so far, for the actuator
+     *
+     * @return host to limit details
+     */
+    public Map<String, Object> snapshot()
+    {
+        Map<String, Object> hosts = new TreeMap<>();
+        limits.forEach((host, limit) -> hosts.put(host, Map.of(
+                "limit", limit.limit(),
+                "inFlight", limit.inFlight(),
+                "queued", limit.queued(),
+                "averageRttMillis", limit.averageRttMillis())));
+        return hosts;
+    }
+
+    private AdaptiveLimit newLimit(String host)
+    {
+        AdaptiveLimit limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, backoffRatio,
+                tolerance, timeout.toNanos(), maxQueue);
+        Tags tags = Tags.of("host", host);
+        meterRegistry.gauge("pokedexapi.upstream.limit", tags, limit, AdaptiveLimit::limit);
+        meterRegistry.gauge("pokedexapi.upstream.limit.inflight", tags, limit, AdaptiveLimit::inFlight);
+        meterRegistry.gauge("pokedexapi.upstream.limit.queued", tags, limit, AdaptiveLimit::queued);
+        return limit;
+    }
+
+    /**
+     * Throttling counts as a drop as well as anything the breaker counts as a failure
+     */
+    private static boolean isDropped(Throwable t)
+    {
+        if (Exceptions.unwrap(t) instanceof WebClientResponseException wcre && wcre.getStatusCode().value() == 429) return true;
+        return UpstreamResilience.isUpstreamFailure(t);
+    }
+
+    private static String host(String url)
+    {
+        try {
+            return String.valueOf(URI.create(url.trim()).getHost()).toLowerCase(Locale.ROOT);
+        }
+        catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package pokedexapi.upstream;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The last few hundred latencies of one kind of call, with a percentile
+ * that is recomputed every fifty samples rather than on
+ * every read
+ */
+public class LatencyWindow
+{
+    private static final int REFRESH_EVERY = 50;
+    private final long[] samples;
+    private final double percentile;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int size;
+    private int sinceRefresh;
+    private volatile long cachedPercentile = -1;
+
+    /**
+     * @param capacity   how many samples are kept
+     * @param percentile the percentile to track, 0-100
+     */
+    public LatencyWindow(int capacity, double percentile)
+    {
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+    }
+
+    public void record(long nanos)
+    {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (size < samples.length) size++;
+            if (++sinceRefresh >= REFRESH_EVERY || cachedPercentile < 0) {
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * size) - 1;
+                cachedPercentile = sorted[Math.clamp(index, 0, size - 1)];
+                sinceRefresh = 0;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the tracked percentile in nanoseconds, or -1 before any sample
+     */
+    public long percentileNanos()
+    {
+        return cachedPercentile;
+    }
+}
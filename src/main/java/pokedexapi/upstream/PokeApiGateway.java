@@ -0,0 +1,223 @@
+package pokedexapi.upstream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokedexapi.cache.OfflineDataset;
+import pokedexapi.cache.PassthroughBody;
+import pokedexapi.cache.RawResponseCache;
+import pokedexapi.cache.ResourceAliases;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.query.PageQuery;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.PokeApiResource;
+
+import java.net.http.HttpResponse;
+import java.util.function.Predicate;
+
+/**
+ * The one way out to PokeAPI. Typed lookups go through PokeApiClient and
+ * raw passthrough urls through the raw body cache; both are coalesced,
+ * run behind the circuit breaker and bulkhead of their family, and wait
+ * for room under the adaptive concurrency limit of the upstream host.
+ * Transient failures are retried within the retry budget, and slow
+ * single-resource lookups may be hedged with a second attempt.
+ * With the offline profile PokeAPI urls are answered from the local
+ * snapshot instead.
+ */
+@Component
+public class PokeApiGateway
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(PokeApiGateway.class);
+    private final PokeApiClient pokeApiClient;
+    private final RequestCoalescer requestCoalescer;
+    private final UpstreamResilience upstreamResilience;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+    private final UpstreamRetry upstreamRetry;
+    private final RawResponseCache rawResponseCache;
+    private final String pokeApiBaseUrl;
+    private OfflineDataset offlineDataset;
+    private ResourceAliases resourceAliases;
+
+    @Autowired
+    public PokeApiGateway(PokeApiClient pokeApiClient,
+                          RequestCoalescer requestCoalescer,
+                          UpstreamResilience upstreamResilience,
+                          ConcurrencyLimiter concurrencyLimiter,
+                          RequestHedger requestHedger,
+                          UpstreamRetry upstreamRetry,
+                          RawResponseCache rawResponseCache,
+                          @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl)
+    {
+        this.pokeApiClient = pokeApiClient;
+        this.requestCoalescer = requestCoalescer;
+        this.upstreamResilience = upstreamResilience;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.requestHedger = requestHedger;
+        this.upstreamRetry = upstreamRetry;
+        this.rawResponseCache = rawResponseCache;
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+    }
+
+    /**
+     * With the offline profile every PokeAPI url is answered from the
+     * local snapshot and never goes upstream
+     *
+     * @param offlineDataset the snapshot
+     */
+    @Autowired(required = false)
+    public void setOfflineDataset(OfflineDataset offlineDataset)
+    {
+        this.offlineDataset = offlineDataset;
+    }
+
+    /**
+     * Names, ids and case variants of a resource are looked up under one key
+     *
+     * @param resourceAliases the aliases
+     */
+    @Autowired(required = false)
+    public void setResourceAliases(ResourceAliases resourceAliases)
+    {
+        this.resourceAliases = resourceAliases;
+    }
+
+    /**
+     * Get a single resource by name or id
+     *
+     * @param type     the resource class
+     * @param nameOrId the name or id of the resource
+     * @return the resource, or null if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> T getResource(Class<T> type, String nameOrId)
+    {
+        String key = resourceAliases == null ? nameOrId : resourceAliases.canonical(type, nameOrId);
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type) + "/" + key;
+        if (offlineDataset != null) return offlineDataset.resource(url, type);
+        T resource = requestCoalescer.execute(url, type,
+                () -> requestHedger.execute(UpstreamFamily.of(url),
+                        () -> retried(url, () -> pokeApiClient.getResource(type, key).block())));
+        if (resourceAliases != null) resourceAliases.learn(type, key, resource);
+        return resource;
+    }
+
+    /**
+     * Get the first page of a resource list
+     *
+     * @param type the resource class
+     * @return the page, or null if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> NamedApiResourceList<T> getResources(Class<T> type)
+    {
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type);
+        if (offlineDataset != null) return offlineDataset.resource(url, NamedApiResourceList.class);
+        return requestCoalescer.execute(url, NamedApiResourceList.class,
+                () -> retried(url, () -> pokeApiClient.getResource(type).block()));
+    }
+
+    /**
+     * Get a page of a resource list
+     *
+     * @param type   the resource class
+     * @param limit  the page size
+     * @param offset where the page starts
+     * @return the page, or null if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> NamedApiResourceList<T> getResources(Class<T> type, Integer limit, Integer offset)
+    {
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type) + "?limit=" + limit + "&offset=" + offset;
+        if (offlineDataset != null) return offlineDataset.resource(url, NamedApiResourceList.class);
+        return requestCoalescer.execute(url, NamedApiResourceList.class,
+                () -> retried(url, () -> pokeApiClient.getResource(type, new PageQuery(limit, offset)).block()));
+    }
+
+    /**
+     * Calls a url and hands back the raw response. Fresh cached bodies are
+     * served directly; when the family's circuit is open, a stale cached
+     * body is served rather than failing.
+     *
+     * @param url the url to call
+     * @return the response
+     * @throws Exception if the call fails and nothing is cached
+     */
+    public HttpResponse<String> callUrl(String url) throws Exception
+    {
+        if (offlineDataset != null && offlineDataset.covers(url)) return offlineDataset.response(url);
+        HttpResponse<String> response = rawResponseCache.getIfFresh(url);
+        if (response != null) return response;
+        try {
+            return requestCoalescer.execute(url, HttpResponse.class,
+                    () -> upstreamRetry.call(UpstreamFamily.of(url),
+                            () -> guarded(url, () -> rawResponseCache.fetch(url), r -> r.statusCode() >= 500 || r.statusCode() == 429),
+                            HttpResponse::statusCode));
+        }
+        catch (UpstreamUnavailableException uue) {
+            HttpResponse<String> stale = rawResponseCache.getStale(url);
+            if (stale == null) throw uue;
+            LOGGER.warn("{}, serving stale {}", uue.getMessage(), url);
+            return stale;
+        }
+    }
+
+    /**
+     * The streaming form of {@link #callUrl(String)}, for passthrough
+     * endpoints that copy the body straight to the client. Guards and
+     * retries cover the call up to the upstream headers; the body is
+     * read afterwards by the caller. Streams cannot be shared, so these
+     * calls are not coalesced.
+     *
+     * @param url the url to call
+     * @return the body, which the caller must read through or close
+     * @throws Exception if the call fails and nothing is cached
+     */
+    public PassthroughBody streamUrl(String url) throws Exception
+    {
+        if (offlineDataset != null && offlineDataset.covers(url)) return offlineDataset.open(url);
+        PassthroughBody body = rawResponseCache.openIfFresh(url);
+        if (body != null) return body;
+        try {
+            return upstreamRetry.call(UpstreamFamily.of(url),
+                    () -> guarded(url, () -> rawResponseCache.open(url), r -> r.statusCode() >= 500 || r.statusCode() == 429),
+                    PassthroughBody::statusCode);
+        }
+        catch (UpstreamUnavailableException uue) {
+            PassthroughBody stale = rawResponseCache.openStale(url);
+            if (stale == null) throw uue;
+            LOGGER.warn("{}, serving stale {}", uue.getMessage(), url);
+            return stale;
+        }
+    }
+
+    /**
+     * Runs a PokeApiClient call, retrying it on transient failures;
+     * every attempt is guarded on its own
+     *
+     * @param url  the url the call goes to
+     * @param call the upstream call
+     * @return what the call returned
+     */
+    private <T> T retried(String url, UpstreamCall<T, RuntimeException> call)
+    {
+        return upstreamRetry.call(UpstreamFamily.of(url), () -> guarded(url, call, r -> false), r -> -1);
+    }
+
+    /**
+     * Runs one upstream call behind the breaker and bulkhead of its
+     * family and the concurrency limit of its host
+     *
+     * @param url          the url the call goes to
+     * @param call         the upstream call
+     * @param failedResult tells whether a returned value is a failure
+     * @return what the call returned
+     * @throws E whatever the call throws
+     */
+    private <T, E extends Exception> T guarded(String url, UpstreamCall<T, E> call, Predicate<? super T> failedResult) throws E
+    {
+        return upstreamResilience.call(UpstreamFamily.of(url),
+                () -> concurrencyLimiter.call(url, call, failedResult), failedResult);
+    }
+}
@@ -0,0 +1,163 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pokedexapi.cache.OfflineDataset;
+import pokedexapi.cache.ResourceAliases;
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.query.PageQuery;
+import skaro.pokeapi.resource.NamedApiResourceList;
+import skaro.pokeapi.resource.PokeApiResource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The non-blocking twin of {@link PokeApiGateway} for typed lookups. The
+ * PokeApiClient Mono is never blocked on: it is coalesced, run behind the
+ * breaker and bulkhead of its family and the concurrency limit of its host,
+ * and retried within the retry budget, all without holding a thread while
+ * PokeAPI answers. Hedging is left to the blocking gateway.
+ */
+@Component
+public class ReactivePokeApiGateway
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(ReactivePokeApiGateway.class);
+    private final PokeApiClient pokeApiClient;
+    private final UpstreamResilience upstreamResilience;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final UpstreamRetry upstreamRetry;
+    private final Counter absorbed;
+    private final String pokeApiBaseUrl;
+    private final ConcurrentMap<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private OfflineDataset offlineDataset;
+    private ResourceAliases resourceAliases;
+
+    @Autowired
+    public ReactivePokeApiGateway(PokeApiClient pokeApiClient,
+                                  UpstreamResilience upstreamResilience,
+                                  ConcurrencyLimiter concurrencyLimiter,
+                                  UpstreamRetry upstreamRetry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${skaro.pokeapi.baseUri}") String pokeApiBaseUrl)
+    {
+        this.pokeApiClient = pokeApiClient;
+        this.upstreamResilience = upstreamResilience;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.upstreamRetry = upstreamRetry;
+        this.absorbed = Counter.builder("pokedexapi.upstream.coalesced.absorbed")
+                .description("Callers that joined a fetch already in flight")
+                .tag("view", "Mono")
+                .register(meterRegistry);
+        this.pokeApiBaseUrl = pokeApiBaseUrl.endsWith("/") ? pokeApiBaseUrl : pokeApiBaseUrl + "/";
+    }
+
+    /**
+     * With the offline profile every lookup is answered from the local snapshot
+     *
+     * @param offlineDataset the snapshot
+     */
+    @Autowired(required = false)
+    public void setOfflineDataset(OfflineDataset offlineDataset)
+    {
+        this.offlineDataset = offlineDataset;
+    }
+
+    /**
+     * Names, ids and case variants of a resource are looked up under one key
+     *
+     * @param resourceAliases the aliases
+     */
+    @Autowired(required = false)
+    public void setResourceAliases(ResourceAliases resourceAliases)
+    {
+        this.resourceAliases = resourceAliases;
+    }
+
+    /**
+     * Get a single resource by name or id
+     *
+     * @param type     the resource class
+     * @param nameOrId the name or id of the resource
+     * @return the resource, empty if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> Mono<T> getResource(Class<T> type, String nameOrId)
+    {
+        String key = resourceAliases == null ? nameOrId : resourceAliases.canonical(type, nameOrId);
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type) + "/" + key;
+        if (offlineDataset != null) return Mono.fromSupplier(() -> offlineDataset.resource(url, type));
+        Mono<T> resource = coalesced(url, type, () -> pokeApiClient.getResource(type, key));
+        return resourceAliases == null ? resource : resource.doOnNext(r -> resourceAliases.learn(type, key, r));
+    }
+
+    /**
+     * Get the first page of a resource list
+     *
+     * @param type the resource class
+     * @return the page, empty if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> Mono<NamedApiResourceList<T>> getResources(Class<T> type)
+    {
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type);
+        if (offlineDataset != null) return Mono.fromSupplier(() -> offlineDataset.resource(url, NamedApiResourceList.class));
+        return coalesced(url, NamedApiResourceList.class, () -> pokeApiClient.getResource(type));
+    }
+
+    /**
+     * Get a page of a resource list
+     *
+     * @param type   the resource class
+     * @param limit  the page size
+     * @param offset where the page starts
+     * @return the page, empty if PokeAPI returned nothing
+     */
+    public <T extends PokeApiResource> Mono<NamedApiResourceList<T>> getResources(Class<T> type, Integer limit, Integer offset)
+    {
+        String url = pokeApiBaseUrl + UpstreamUrls.resourcePath(type) + "?limit=" + limit + "&offset=" + offset;
+        if (offlineDataset != null) return Mono.fromSupplier(() -> offlineDataset.resource(url, NamedApiResourceList.class));
+        return coalesced(url, NamedApiResourceList.class, () -> pokeApiClient.getResource(type, new PageQuery(limit, offset)));
+    }
+
+    /**
+     * Joins the identical call already in flight, or starts a guarded one
+     * that later callers for the same url can join
+     *
+     * @param url  the upstream url being fetched
+     * @param view what the call turns the response into
+     * @param call creates the PokeApiClient Mono, once per attempt
+     * @return the shared result
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesced(String url, Class<?> view, Supplier<Mono<T>> call)
+    {
+        String key = view.getName() + " " + UpstreamUrls.normalize(url);
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> flight = guarded(url, Mono.defer(call))
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(flight);
+            Mono<?> leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) return flight;
+            absorbed.increment();
+            LOGGER.debug("joined in-flight fetch of {}", key);
+            return (Mono<T>) leader;
+        });
+    }
+
+    private <T> Mono<T> guarded(String url, Mono<T> call)
+    {
+        UpstreamFamily family = UpstreamFamily.of(url);
+        return Mono.defer(() -> upstreamResilience.guard(family, concurrencyLimiter.guard(url, call))
+                .retryWhen(upstreamRetry.retrySpec(family)));
+    }
+}
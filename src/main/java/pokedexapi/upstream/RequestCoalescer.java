@@ -0,0 +1,104 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight for upstream fetches. The first caller for a url runs the
+ * call; anyone asking for the same url (and the same kind of result) while
+ * it is still in flight waits for, and shares, that one result.
+ */
+@Component
+public class RequestCoalescer
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(RequestCoalescer.class);
+    private final ConcurrentMap<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("pokedexapi.upstream.coalesced.inflight", inFlight, ConcurrentMap::size);
+    }
+
+    /**
+     * Runs the call, or joins the identical call already in flight
+     *
+     * @param url  the upstream url being fetched
+     * @param view what the call turns the response into, so raw and parsed fetches of one url never share a result
+     * @param call the upstream call
+     * @return the result of the call
+     * @throws E whatever the call threw, for the caller that ran it and every caller that joined it
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(String url, Class<?> view, UpstreamCall<T, E> call) throws E
+    {
+        FlightKey key = new FlightKey(UpstreamUrls.normalize(url), view);
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            leader.callers.incrementAndGet();
+            absorbedCounter(view).increment();
+            LOGGER.debug("joined in-flight fetch of {}", key.url());
+            try {
+                return (T) leader.result.join();
+            }
+            catch (CompletionException ce) {
+                Throwable cause = ce.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                if (cause instanceof Error error) throw error;
+                throw (E) cause;
+            }
+        }
+        try {
+            T value = call.call();
+            flight.result.complete(value);
+            return value;
+        }
+        catch (Exception e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            inFlight.remove(key, flight);
+            callersSummary(view).record(flight.callers.get());
+        }
+    }
+
+    private DistributionSummary callersSummary(Class<?> view)
+    {
+        return DistributionSummary.builder("pokedexapi.upstream.coalesced.callers")
+                .description("Callers served by one upstream fetch")
+                .tag("view", view.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private Counter absorbedCounter(Class<?> view)
+    {
+        return Counter.builder("pokedexapi.upstream.coalesced.absorbed")
+                .description("Callers that joined a fetch already in flight")
+                .tag("view", view.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private record FlightKey(String url, Class<?> view) {}
+
+    private static final class Flight
+    {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
@@ -0,0 +1,195 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedges idempotent single-resource lookups: when the first request has not
+ * answered after the tracked percentile of recent latencies, a second one is
+ * sent and whichever answers first wins. The thread of the losing attempt
+ * is interrupted, which cancels its upstream request. Hedges are drawn from
+ * a {@link TokenBudget} so they never exceed a set share of traffic.
+ */
+@Component
+public class RequestHedger
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(RequestHedger.class);
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService hedgeExecutor;
+    private final boolean enabled;
+    private final Set<UpstreamFamily> families = EnumSet.noneOf(UpstreamFamily.class);
+    private final Map<UpstreamFamily, LatencyWindow> latencies = new EnumMap<>(UpstreamFamily.class);
+    private final long minDelayNanos;
+    private final TokenBudget budget;
+
+    @Autowired
+    public RequestHedger(MeterRegistry meterRegistry,
+                         @Qualifier("hedgeExecutor") ExecutorService hedgeExecutor,
+                         @Value("${pokedexapi.upstream.hedge.enabled:false}") boolean enabled,
+                         @Value("${pokedexapi.upstream.hedge.families:pokemon,species}") List<String> families,
+                         @Value("${pokedexapi.upstream.hedge.percentile:95}") double percentile,
+                         @Value("${pokedexapi.upstream.hedge.min-delay:50ms}") Duration minDelay,
+                         @Value("${pokedexapi.upstream.hedge.budget-ratio:0.05}") double budgetRatio)
+    {
+        this.meterRegistry = meterRegistry;
+        this.hedgeExecutor = hedgeExecutor;
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.budget = new TokenBudget(budgetRatio, 10);
+        for (String family : families) {
+            UpstreamFamily upstreamFamily = UpstreamFamily.valueOf(family.trim().toUpperCase());
+            this.families.add(upstreamFamily);
+            LatencyWindow window = new LatencyWindow(500, percentile);
+            latencies.put(upstreamFamily, window);
+            meterRegistry.gauge("pokedexapi.upstream.hedge.delay", Tags.of("family", upstreamFamily.key()), this,
+                    h -> TimeUnit.NANOSECONDS.toMillis(h.delayNanos(upstreamFamily)));
+        }
+        meterRegistry.gauge("pokedexapi.upstream.hedge.budget", budget, TokenBudget::tokens);
+    }
+
+    /**
+     * Runs the attempt, hedging it with a second one if it is slow
+     *
+     * @param family  the family of the call, only configured families are hedged
+     * @param attempt one upstream attempt, safe to run twice at once
+     * @return the first successful result
+     * @throws E what the attempt threw, if every attempt failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T execute(UpstreamFamily family, UpstreamCall<T, E> attempt) throws E
+    {
+        if (!enabled || !families.contains(family)) return attempt.call();
+        budget.deposit();
+        LatencyWindow window = latencies.get(family);
+        Attempt<T> primary = submit(window, attempt);
+        try {
+            try {
+                T value = primary.result().get(delayNanos(family), TimeUnit.NANOSECONDS);
+                count(family, "not_needed");
+                return value;
+            }
+            catch (TimeoutException te) {
+                if (!budget.tryWithdraw()) {
+                    count(family, "budget_exhausted");
+                    return primary.result().join();
+                }
+                count(family, "hedged");
+                LOGGER.debug("hedging slow {} lookup", family.key());
+                Attempt<T> hedge = submit(window, attempt);
+                return firstSuccessful(family, primary, hedge);
+            }
+            catch (ExecutionException ee) {
+                throw new CompletionException(ee.getCause());
+            }
+            catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                primary.stop();
+                throw new CompletionException(ie);
+            }
+        }
+        catch (CompletionException ce) {
+            Throwable cause = ce.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error error) throw error;
+            throw (E) cause;
+        }
+    }
+
+    /**
+     * @param family the family to look at
+     * @return how long a lookup may take before it is hedged
+     */
+    long delayNanos(UpstreamFamily family)
+    {
+        LatencyWindow window = latencies.get(family);
+        return window == null ? minDelayNanos : Math.max(minDelayNanos, window.percentileNanos());
+    }
+
+    private <T, E extends Exception> Attempt<T> submit(LatencyWindow window, UpstreamCall<T, E> attempt)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = hedgeExecutor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = attempt.call();
+                window.record(System.nanoTime() - start);
+                result.complete(value);
+            }
+            catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    private <T> T firstSuccessful(UpstreamFamily family, Attempt<T> primary, Attempt<T> hedge)
+    {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicBoolean won = new AtomicBoolean();
+        AtomicInteger failed = new AtomicInteger();
+        primary.result().whenComplete((value, error) -> settle(family, winner, won, failed, value, error, "primary", hedge));
+        hedge.result().whenComplete((value, error) -> settle(family, winner, won, failed, value, error, "hedge", primary));
+        return winner.join();
+    }
+
+    private <T> void settle(UpstreamFamily family, CompletableFuture<T> winner, AtomicBoolean won, AtomicInteger failed,
+                            T value, Throwable error, String attempt, Attempt<T> other)
+    {
+        if (error == null) {
+            // count the win before the caller is released
+            if (won.compareAndSet(false, true)) {
+                meterRegistry.counter("pokedexapi.upstream.hedge.wins", "family", family.key(), "winner", attempt).increment();
+                winner.complete(value);
+                other.stop();
+            }
+        }
+        else if (failed.incrementAndGet() == 2) {
+            winner.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+        }
+    }
+
+    private void count(UpstreamFamily family, String outcome)
+    {
+        meterRegistry.counter("pokedexapi.upstream.hedge.requests", "family", family.key(), "outcome", outcome).increment();
+    }
+
+    /**
+     * One attempt in flight: the result it completes, and the task running it
+     *
+     * @param result completes with what the attempt returned or threw
+     * @param task   the task on the hedge executor
+     */
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task)
+    {
+        /**
+         * Interrupts the thread of the attempt, which cancels its upstream request
+         */
+        void stop()
+        {
+            task.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pokedexapi.upstream;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket that caps extra upstream calls (hedges, retries) to a share
+ * of normal traffic: every normal call deposits {@code ratio} of a token,
+ * every extra call withdraws a whole one. The bucket holds at most
+ * {@code maxTokens}, which bounds how many extra calls a burst can make.
+ */
+public class TokenBudget
+{
+    private final double ratio;
+    private final double maxTokens;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+
+    /**
+     * @param ratio     extra calls allowed per normal call, e.g. 0.1 for 10%
+     * @param maxTokens the most tokens the bucket holds; it starts full
+     */
+    public TokenBudget(double ratio, double maxTokens)
+    {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * Records a normal call
+     */
+    public void deposit()
+    {
+        lock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a token for an extra call
+     *
+     * @return true if the extra call may be made
+     */
+    public boolean tryWithdraw()
+    {
+        lock.lock();
+        try {
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public double tokens()
+    {
+        lock.lock();
+        try {
+            return tokens;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
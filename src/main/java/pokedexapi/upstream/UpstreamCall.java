@@ -0,0 +1,15 @@
+package pokedexapi.upstream;
+
+/**
+ * A single blocking call to PokeAPI. The exception type is kept generic
+ * so wrapping a call never forces callers to catch more than the call
+ * itself could throw.
+ *
+ * @param <T> the result of the call
+ * @param <E> the exception the call may throw
+ */
+@FunctionalInterface
+public interface UpstreamCall<T, E extends Exception>
+{
+    T call() throws E;
+}
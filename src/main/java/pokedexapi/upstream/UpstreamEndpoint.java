@@ -0,0 +1,34 @@
+package pokedexapi.upstream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Shows the circuit breaker and bulkhead of every upstream family and
+ * the concurrency limit of every upstream host at /actuator/upstream
+ */
+@Component
+@Endpoint(id = "upstream")
+public class UpstreamEndpoint
+{
+    private final UpstreamResilience upstreamResilience;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    public UpstreamEndpoint(UpstreamResilience upstreamResilience, ConcurrencyLimiter concurrencyLimiter)
+    {
+        this.upstreamResilience = upstreamResilience;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> upstream()
+    {
+        return Map.of("families", upstreamResilience.snapshot(),
+                "limits", concurrencyLimiter.snapshot());
+    }
+}
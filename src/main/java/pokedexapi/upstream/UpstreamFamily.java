@@ -0,0 +1,67 @@
+package pokedexapi.upstream;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The groups of upstream traffic that are isolated from one another, each
+ * with its own circuit breaker and bulkhead. A slow encounters call can
+ * then only use up the encounters share of the upstream capacity.
+ */
+public enum UpstreamFamily
+{
+    POKEMON,
+    SPECIES,
+    EVOLUTION,
+    ENCOUNTERS,
+    LISTS,
+    SPRITES,
+    /* every other single resource: types, moves, items, berries... */
+    REFERENCE;
+
+    /**
+     * Works out which family a url belongs to
+     *
+     * @param url the upstream url
+     * @return the family of the url
+     */
+    public static UpstreamFamily of(String url)
+    {
+        URI uri;
+        try {
+            uri = URI.create(url.trim());
+        }
+        catch (IllegalArgumentException e) {
+            return REFERENCE;
+        }
+        String host = String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT);
+        if (!host.endsWith("pokeapi.co")) return SPRITES;
+
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        if (path.endsWith("/encounters") || path.endsWith("/encounters/")) return ENCOUNTERS;
+
+        List<String> segments = Arrays.stream(path.split("/")).filter(s -> !s.isEmpty()).toList();
+        int version = segments.indexOf("v2");
+        String resource = version >= 0 && segments.size() > version + 1 ? segments.get(version + 1) : "";
+        boolean hasId = version >= 0 && segments.size() > version + 2;
+        String query = uri.getQuery() == null ? "" : uri.getQuery();
+        if (!hasId || query.contains("limit=") || query.contains("offset=")) return LISTS;
+
+        if (resource.startsWith("evolution-")) return EVOLUTION;
+        if (resource.equals("pokemon-species")) return SPECIES;
+        if (resource.equals("pokemon")) return POKEMON;
+        return REFERENCE;
+    }
+
+    /**
+     * The lower-case name used in properties, metrics and actuator output
+     *
+     * @return the key of this family
+     */
+    public String key()
+    {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,118 @@
+package pokedexapi.upstream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for every blocking java.net.http call made to PokeAPI
+ * (and the sprite host). Wraps the shared {@code pokeApiHttpClient}
+ * and caps how many requests may be in flight against any one host.
+ */
+@Component
+public class UpstreamHttpClient
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(UpstreamHttpClient.class);
+    private final HttpClient httpClient;
+    private final int maxConnectionsPerHost;
+    private final Duration acquireTimeout;
+    private final Duration requestTimeout;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamHttpClient(@Qualifier("pokeApiHttpClient") HttpClient httpClient,
+                              @Value("${pokedexapi.upstream.max-connections-per-host:64}") int maxConnectionsPerHost,
+                              @Value("${pokedexapi.upstream.acquire-timeout:5s}") Duration acquireTimeout,
+                              @Value("${pokedexapi.upstream.request-timeout:30s}") Duration requestTimeout)
+    {
+        this.httpClient = httpClient;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.acquireTimeout = acquireTimeout;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sends a GET to the given url and reads the body as a String
+     *
+     * @param url the URL to call
+     * @return the response from the URL
+     * @throws URISyntaxException   if the url is malformed
+     * @throws IOException          if the request could not be sent
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public HttpResponse<String> get(String url) throws URISyntaxException, IOException, InterruptedException
+    {
+        return send(newRequest(url).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Sends the request once a permit for its host is available
+     *
+     * @param request the request to send
+     * @param handler how to read the body
+     * @param <T>     the type of the body
+     * @return the response
+     * @throws IOException                  if the request could not be sent or no permit was granted in time
+     * @throws InterruptedException         if interrupted while waiting
+     * @throws UpstreamUnavailableException if the client's executor is saturated
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException
+    {
+        String host = String.valueOf(request.uri().getHost());
+        Semaphore permits = hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost, true));
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            LOGGER.warn("No upstream permit for {} after {}", host, acquireTimeout);
+            throw new IOException("Timed out waiting for a connection to " + host);
+        }
+        try {
+            return httpClient.send(request, handler);
+        }
+        catch (RejectedExecutionException ree) {
+            throw saturated(request, ree);
+        }
+        catch (IOException ioe) {
+            if (ioe.getCause() instanceof RejectedExecutionException ree) throw saturated(request, ree);
+            throw ioe;
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    private static UpstreamUnavailableException saturated(HttpRequest request, RejectedExecutionException ree)
+    {
+        LOGGER.warn("Upstream executor rejected {}: {}", request.uri(), ree.getMessage());
+        return new UpstreamUnavailableException(UpstreamFamily.of(request.uri().toString()), "upstream executor is saturated");
+    }
+
+    /**
+     * A request builder with the shared timeout already applied
+     *
+     * @param url the URL to call
+     * @return the builder
+     * @throws URISyntaxException if the url is malformed
+     */
+    public HttpRequest.Builder newRequest(String url) throws URISyntaxException
+    {
+        return HttpRequest.newBuilder()
+                .uri(new URI(url))
+                .timeout(requestTimeout);
+    }
+}
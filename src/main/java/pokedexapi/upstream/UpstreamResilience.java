@@ -0,0 +1,247 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Runs upstream calls behind the circuit breaker and bulkhead of their
+ * family. Server errors, timeouts and connection failures count against
+ * the breaker; a 4xx means PokeAPI answered and counts as a success.
+ * <p>
+ * Every setting under pokedexapi.upstream.circuit and .bulkhead can be
+ * overridden per family, e.g. pokedexapi.upstream.bulkhead.encounters.max-concurrent
+ */
+@Component
+public class UpstreamResilience
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(UpstreamResilience.class);
+    private final MeterRegistry meterRegistry;
+    private final Map<UpstreamFamily, CircuitBreaker> breakers = new EnumMap<>(UpstreamFamily.class);
+    private final Map<UpstreamFamily, Bulkhead> bulkheads = new EnumMap<>(UpstreamFamily.class);
+    private final Map<UpstreamFamily, Long> slowCallMillis = new EnumMap<>(UpstreamFamily.class);
+
+    @Autowired
+    public UpstreamResilience(Environment environment, MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+        for (UpstreamFamily family : UpstreamFamily.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(
+                    setting(environment, family, "circuit", "failure-rate-threshold", Float.class, 50f),
+                    setting(environment, family, "circuit", "window-size", Integer.class, 20),
+                    setting(environment, family, "circuit", "minimum-calls", Integer.class, 10),
+                    setting(environment, family, "circuit", "open-duration", Duration.class, Duration.ofSeconds(30)).toMillis(),
+                    setting(environment, family, "circuit", "half-open-calls", Integer.class, 3),
+                    System::currentTimeMillis);
+            Bulkhead bulkhead = new Bulkhead(
+                    setting(environment, family, "bulkhead", "max-concurrent", Integer.class, 32),
+                    setting(environment, family, "bulkhead", "max-wait", Duration.class, Duration.ofMillis(250)).toMillis());
+            breakers.put(family, breaker);
+            bulkheads.put(family, bulkhead);
+            slowCallMillis.put(family, setting(environment, family, "circuit", "slow-call-duration", Duration.class, Duration.ofSeconds(10)).toMillis());
+            meterRegistry.gauge("pokedexapi.upstream.circuit.state", Tags.of("family", family.key()),
+                    breaker, b -> b.state().ordinal());
+            meterRegistry.gauge("pokedexapi.upstream.bulkhead.available", Tags.of("family", family.key()),
+                    bulkhead, Bulkhead::available);
+        }
+    }
+
+    /**
+     * Runs an upstream call that fails by throwing
+     *
+     * @param family the family of the call
+     * @param call   the upstream call
+     * @return what the call returned
+     * @throws E                            whatever the call throws
+     * @throws UpstreamUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public <T, E extends Exception> T call(UpstreamFamily family, UpstreamCall<T, E> call) throws E
+    {
+        return call(family, call, result -> false);
+    }
+
+    /**
+     * Runs an upstream call whose result may itself be a failure, like a 5xx response
+     *
+     * @param family       the family of the call
+     * @param call         the upstream call
+     * @param failedResult tells whether a returned value is a failure
+     * @return what the call returned
+     * @throws E                            whatever the call throws
+     * @throws UpstreamUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public <T, E extends Exception> T call(UpstreamFamily family, UpstreamCall<T, E> call,
+                                           Predicate<? super T> failedResult) throws E
+    {
+        CircuitBreaker breaker = breakers.get(family);
+        if (!breaker.tryAcquire()) {
+            reject(family, "circuit_open");
+            throw new UpstreamUnavailableException(family, "circuit is open");
+        }
+        Bulkhead bulkhead = bulkheads.get(family);
+        if (!bulkhead.tryAcquire()) {
+            breaker.onIgnored();
+            reject(family, "bulkhead_full");
+            throw new UpstreamUnavailableException(family, "too many calls in flight");
+        }
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            onResult(family, breaker, failedResult.test(result), start);
+            return result;
+        }
+        catch (Throwable t) {
+            onError(family, breaker, t);
+            throw t;
+        }
+        finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * The non-blocking form of {@link #call(UpstreamFamily, UpstreamCall)} used by
+     * the reactive gateway; a full bulkhead rejects at once instead of waiting
+     *
+     * @param family the family of the call
+     * @param call   the upstream call, subscribed to once admitted
+     * @return the call behind the breaker and bulkhead, failing with
+     * UpstreamUnavailableException if the circuit is open or the bulkhead is full
+     */
+    public <T> Mono<T> guard(UpstreamFamily family, Mono<T> call)
+    {
+        return Mono.defer(() -> {
+            CircuitBreaker breaker = breakers.get(family);
+            if (!breaker.tryAcquire()) {
+                reject(family, "circuit_open");
+                return Mono.error(new UpstreamUnavailableException(family, "circuit is open"));
+            }
+            Bulkhead bulkhead = bulkheads.get(family);
+            if (!bulkhead.tryAcquireNow()) {
+                breaker.onIgnored();
+                reject(family, "bulkhead_full");
+                return Mono.error(new UpstreamUnavailableException(family, "too many calls in flight"));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnSuccess(result -> {
+                        if (settled.compareAndSet(false, true)) onResult(family, breaker, false, start);
+                    })
+                    .doOnError(t -> {
+                        if (settled.compareAndSet(false, true)) onError(family, breaker, t);
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) breaker.onIgnored();
+                    })
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * @param family the family to look at
+     * @return the current state of the family's circuit
+     */
+    public CircuitBreaker.State state(UpstreamFamily family)
+    {
+        return breakers.get(family).state();
+    }
+
+    /**
+     * The state of every circuit and bulkhead, for the actuator
+     *
+     * @return family key to its details
+     */
+    public Map<String, Object> snapshot()
+    {
+        Map<String, Object> families = new LinkedHashMap<>();
+        for (UpstreamFamily family : UpstreamFamily.values()) {
+            CircuitBreaker breaker = breakers.get(family);
+            Bulkhead bulkhead = bulkheads.get(family);
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("state", breaker.state());
+            details.put("failureRate", breaker.failureRate());
+            details.put("bufferedCalls", breaker.bufferedCalls());
+            details.put("inFlight", bulkhead.maxConcurrent() - bulkhead.available());
+            details.put("maxConcurrent", bulkhead.maxConcurrent());
+            families.put(family.key(), details);
+        }
+        return families;
+    }
+
+    /**
+     * A failure is only what PokeAPI caused: the connection failing or
+     * timing out, or a 5xx answer. A 4xx answer (bad name, unknown id) is
+     * PokeAPI working as intended, and anything else, like a decode error
+     * or a bug of ours, says nothing about upstream
+     *
+     * @param t what the call threw
+     * @return true if it should count against the breaker
+     */
+    static boolean isUpstreamFailure(Throwable t)
+    {
+        Throwable cause = Exceptions.unwrap(t);
+        if (cause instanceof WebClientResponseException wcre) return wcre.getStatusCode().is5xxServerError();
+        return isTransportFailure(cause) || isTransportFailure(cause.getCause());
+    }
+
+    private static boolean isTransportFailure(Throwable t)
+    {
+        return t instanceof IOException
+                || t instanceof TimeoutException
+                || t instanceof WebClientRequestException;
+    }
+
+    private void onResult(UpstreamFamily family, CircuitBreaker breaker, boolean failed, long startNanos)
+    {
+        boolean slow = (System.nanoTime() - startNanos) / 1_000_000 >= slowCallMillis.get(family);
+        if (failed || slow) onFailure(family, breaker);
+        else breaker.onSuccess();
+    }
+
+    private void onError(UpstreamFamily family, CircuitBreaker breaker, Throwable t)
+    {
+        if (t instanceof UpstreamUnavailableException || Exceptions.unwrap(t) instanceof InterruptedException) breaker.onIgnored();
+        else if (isUpstreamFailure(t)) onFailure(family, breaker);
+        else breaker.onSuccess();
+    }
+
+    private void onFailure(UpstreamFamily family, CircuitBreaker breaker)
+    {
+        CircuitBreaker.State before = breaker.state();
+        breaker.onFailure();
+        if (before != CircuitBreaker.State.OPEN && breaker.state() == CircuitBreaker.State.OPEN) {
+            LOGGER.warn("PokeAPI {} circuit opened", family.key());
+        }
+    }
+
+    private void reject(UpstreamFamily family, String reason)
+    {
+        meterRegistry.counter("pokedexapi.upstream.rejected", "family", family.key(), "reason", reason).increment();
+    }
+
+    private static <T> T setting(Environment environment, UpstreamFamily family, String group, String name,
+                                 Class<T> type, T defaultValue)
+    {
+        T common = environment.getProperty("pokedexapi.upstream." + group + "." + name, type, defaultValue);
+        return environment.getProperty("pokedexapi.upstream." + group + "." + family.key() + "." + name, type, common);
+    }
+}
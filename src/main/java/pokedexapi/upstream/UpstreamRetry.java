@@ -0,0 +1,186 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Retries transient upstream failures: connection errors, resets and
+ * timeouts, and the statuses listed in pokedexapi.upstream.retry.statuses.
+ * Waits between attempts use exponential backoff with full jitter, and
+ * every retry is paid for from a {@link TokenBudget} filled by first
+ * attempts, so an upstream outage cannot be multiplied by retries.
+ */
+@Component
+public class UpstreamRetry
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(UpstreamRetry.class);
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Set<Integer> retryableStatuses;
+    private final TokenBudget budget;
+
+    @Autowired
+    public UpstreamRetry(MeterRegistry meterRegistry,
+                         @Value("${pokedexapi.upstream.retry.max-attempts:3}") int maxAttempts,
+                         @Value("${pokedexapi.upstream.retry.base-delay:100ms}") Duration baseDelay,
+                         @Value("${pokedexapi.upstream.retry.max-delay:2s}") Duration maxDelay,
+                         @Value("${pokedexapi.upstream.retry.statuses:429,502,503,504}") List<Integer> retryableStatuses,
+                         @Value("${pokedexapi.upstream.retry.budget-ratio:0.1}") double budgetRatio,
+                         @Value("${pokedexapi.upstream.retry.budget-max:20}") double budgetMax)
+    {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.retryableStatuses = new HashSet<>(retryableStatuses);
+        this.budget = new TokenBudget(budgetRatio, budgetMax);
+        meterRegistry.gauge("pokedexapi.upstream.retry.budget", budget, TokenBudget::tokens);
+    }
+
+    /**
+     * Runs the call, retrying it while it fails transiently and the budget allows
+     *
+     * @param family   the family of the call, for metrics
+     * @param call     the upstream call
+     * @param statusOf reads the status of a returned value, or -1 if it has none
+     * @return what the last attempt returned
+     * @throws E what the last attempt threw
+     */
+    public <T, E extends Exception> T call(UpstreamFamily family, UpstreamCall<T, E> call,
+                                           ToIntFunction<? super T> statusOf) throws E
+    {
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            boolean last = attempt >= maxAttempts;
+            T result;
+            try {
+                result = call.call();
+            }
+            catch (Exception e) {
+                if (!isRetryable(e)) throw e;
+                if (last) {
+                    count(family, "exhausted");
+                    throw e;
+                }
+                if (!retryAllowed(family, attempt, e.toString())) throw e;
+                continue;
+            }
+            int status = statusOf.applyAsInt(result);
+            if (!retryableStatuses.contains(status)) {
+                if (attempt > 1) count(family, "recovered");
+                return result;
+            }
+            if (last) {
+                count(family, "exhausted");
+                return result;
+            }
+            if (!retryAllowed(family, attempt, "status " + status)) return result;
+        }
+    }
+
+    /**
+     * The reactive form of {@link #call}: the same retryable failures, backoff
+     * and budget, for Mono.retryWhen. Build one per call, as building it pays
+     * the first attempt into the budget.
+     *
+     * @param family the family of the call, for metrics
+     * @return the retry spec
+     */
+    public Retry retrySpec(UpstreamFamily family)
+    {
+        budget.deposit();
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            int attempt = (int) signal.totalRetries() + 1;
+            if (!isRetryable(failure)) return Mono.error(failure);
+            if (attempt >= maxAttempts) {
+                count(family, "exhausted");
+                return Mono.error(failure);
+            }
+            if (!budget.tryWithdraw()) {
+                count(family, "budget_exhausted");
+                return Mono.error(failure);
+            }
+            long delay = backoffMillis(attempt);
+            LOGGER.debug("retrying {} call after {} in {}ms", family.key(), failure, delay);
+            count(family, "retried");
+            return Mono.delay(Duration.ofMillis(delay));
+        }));
+    }
+
+    /**
+     * A call is worth retrying when the connection failed or timed out,
+     * or upstream answered with one of the retryable statuses
+     *
+     * @param t what the attempt threw
+     * @return true if another attempt may succeed
+     */
+    boolean isRetryable(Throwable t)
+    {
+        Throwable cause = Exceptions.unwrap(t);
+        if (cause instanceof UpstreamUnavailableException) return false;
+        if (cause instanceof WebClientResponseException wcre) return retryableStatuses.contains(wcre.getStatusCode().value());
+        return cause instanceof WebClientRequestException
+                || cause instanceof IOException
+                || cause instanceof TimeoutException
+                || cause.getCause() instanceof IOException
+                || cause.getCause() instanceof TimeoutException;
+    }
+
+    /**
+     * Full jitter: a random wait between zero and the exponential backoff cap
+     *
+     * @param attempt the attempt that just failed, from 1
+     * @return milliseconds to wait before the next attempt
+     */
+    long backoffMillis(int attempt)
+    {
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private boolean retryAllowed(UpstreamFamily family, int attempt, String reason)
+    {
+        if (!budget.tryWithdraw()) {
+            count(family, "budget_exhausted");
+            return false;
+        }
+        long delay = backoffMillis(attempt);
+        LOGGER.debug("retrying {} call after {} in {}ms", family.key(), reason, delay);
+        count(family, "retried");
+        try {
+            Thread.sleep(delay);
+            return true;
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(UpstreamFamily family, String outcome)
+    {
+        meterRegistry.counter("pokedexapi.upstream.retry.attempts", "family", family.key(), "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,21 @@
+package pokedexapi.upstream;
+
+/**
+ * Thrown instead of calling upstream when a family's circuit is open
+ * or its bulkhead is full, so the request fails fast
+ */
+public class UpstreamUnavailableException extends RuntimeException
+{
+    private final UpstreamFamily family;
+
+    public UpstreamUnavailableException(UpstreamFamily family, String reason)
+    {
+        super("PokeAPI " + family.key() + " calls are unavailable: " + reason);
+        this.family = family;
+    }
+
+    public UpstreamFamily getFamily()
+    {
+        return family;
+    }
+}
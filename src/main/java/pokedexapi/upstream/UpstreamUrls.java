@@ -0,0 +1,50 @@
+package pokedexapi.upstream;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Helpers for turning the many spellings of a PokeAPI url used
+ * around the controllers into one key
+ */
+public final class UpstreamUrls
+{
+    private UpstreamUrls() {}
+
+    /**
+     * Reduces a url to the form used as a key: lower-case
+     * scheme and host, no repeated or trailing slashes in the path
+     *
+     * @param url the url to normalize
+     * @return the normalized url, or the url as given if it cannot be parsed
+     */
+    public static String normalize(String url)
+    {
+        try {
+            URI uri = URI.create(url.trim());
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath().replaceAll("/{2,}", "/");
+            if (path.length() > 1 && path.endsWith("/")) path = path.substring(0, path.length() - 1);
+            StringBuilder normalized = new StringBuilder()
+                    .append(String.valueOf(uri.getScheme()).toLowerCase(Locale.ROOT)).append("://")
+                    .append(String.valueOf(uri.getRawAuthority()).toLowerCase(Locale.ROOT))
+                    .append(path);
+            if (uri.getRawQuery() != null) normalized.append('?').append(uri.getRawQuery());
+            return normalized.toString();
+        }
+        catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * The PokeAPI endpoint name of a resource class,
+     * e.g. PokemonSpecies becomes pokemon-species
+     *
+     * @param type the resource class
+     * @return the endpoint name
+     */
+    public static String resourcePath(Class<?> type)
+    {
+        return type.getSimpleName().replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+    }
+}
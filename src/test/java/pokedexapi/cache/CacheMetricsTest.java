@@ -0,0 +1,50 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheMetricsTest
+{
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Test the snapshot of a cache holds its hit rate, evictions by cause and load percentiles")
+    @SuppressWarnings("unchecked")
+    void testSnapshot()
+    {
+        Cache<String, String> cache = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .maximumSize(1)
+                .removalListener((String key, String value, RemovalCause cause) -> CacheMetrics.removed(meterRegistry, "pokemon", cause))
+                .recordStats()
+                .build();
+        CacheMetrics.bind(meterRegistry, "pokemon", cache);
+        cache.get("pikachu", key -> "v1");
+        cache.getIfPresent("pikachu");
+        cache.put("bulbasaur", "v1");
+        cache.cleanUp();
+        cache.invalidateAll();
+        CacheMetrics.load(meterRegistry, "pokemon", "success").record(Duration.ofMillis(20));
+        CacheMetrics.load(meterRegistry, "pokemon", "success").record(Duration.ofMillis(40));
+
+        Map<String, Object> snapshot = CacheMetrics.snapshot(meterRegistry, "pokemon", cache);
+        assertEquals(2L, snapshot.get("requests"));
+        assertEquals(0.5, snapshot.get("hitRate"));
+        Map<String, Long> evictions = (Map<String, Long>) snapshot.get("evictions");
+        assertEquals(1L, evictions.get("size"));
+        assertEquals(0L, evictions.get("expired"));
+        Map<String, Object> loadMillis = (Map<String, Object>) snapshot.get("loadMillis");
+        assertEquals(2L, loadMillis.get("count"));
+        assertTrue(loadMillis.containsKey("p99"));
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "pokemon").meter());
+    }
+}
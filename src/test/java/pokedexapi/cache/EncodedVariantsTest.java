@@ -0,0 +1,43 @@
+package pokedexapi.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedVariantsTest
+{
+    private static final byte[] LARGE = "{\"name\":\"bulbasaur\"},".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Test the variant follows Accept-Encoding and its q-values")
+    void testSelectFollowsAcceptEncoding()
+    {
+        EncodedVariants variants = EncodedVariants.of(LARGE);
+        assertTrue(variants.isCompressed());
+        assertNull(variants.select(null).encoding());
+        assertEquals("gzip", variants.select("gzip, deflate, br").encoding());
+        assertEquals("deflate", variants.select("gzip;q=0.5, deflate").encoding());
+        assertEquals("deflate", variants.select("gzip;q=0, *").encoding());
+        assertNull(variants.select("br").encoding());
+        assertSame(LARGE, variants.select("identity").bytes());
+    }
+
+    @Test
+    @DisplayName("Test the stored variants decode back to the body and small bodies are not compressed")
+    void testVariantsDecodeToIdentity() throws Exception
+    {
+        EncodedVariants variants = EncodedVariants.of(LARGE);
+        byte[] gzip = variants.select("gzip").bytes();
+        byte[] deflate = variants.select("deflate").bytes();
+        assertTrue(gzip.length < LARGE.length / 10);
+        assertArrayEquals(LARGE, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+        assertArrayEquals(LARGE, new InflaterInputStream(new ByteArrayInputStream(deflate)).readAllBytes());
+        assertFalse(EncodedVariants.of("{}".getBytes(StandardCharsets.UTF_8)).isCompressed());
+    }
+}
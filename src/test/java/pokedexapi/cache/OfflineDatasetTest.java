@@ -0,0 +1,116 @@
+package pokedexapi.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineDatasetTest
+{
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @TempDir
+    Path directory;
+    private OfflineDataset dataset;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        try (OfflineDatasetWriter writer = new OfflineDatasetWriter(directory, BASE, JSON_MAPPER)) {
+            writer.add("/api/v2/pokemon/25/", bytes("{\"id\":25,\"name\":\"pikachu\"}"));
+            writer.add("pokemon/1", bytes("{\"id\":1,\"name\":\"bulbasaur\"}"));
+            writer.add("pokemon/4", bytes("{\"id\":4,\"name\":\"charmander\"}"));
+            writer.add("pokemon/25/encounters", bytes("[]"));
+            writer.add("type/13", bytes("{\"id\":13,\"name\":\"electric\"}"));
+        }
+        dataset = OfflineDataset.open(directory, BASE, JSON_MAPPER, 100);
+    }
+
+    @Test
+    @DisplayName("Test a resource is found under its id and its name, in any spelling of its url")
+    void testResourceByIdAndName()
+    {
+        assertEquals("{\"id\":25,\"name\":\"pikachu\"}", string(dataset.body(BASE + "pokemon/25")));
+        assertArrayEquals(dataset.body(BASE + "pokemon/25"), dataset.body("https://pokeapi.co/api/v2/pokemon/Pikachu/"));
+        assertArrayEquals(dataset.body(BASE + "pokemon/25"), dataset.body("/api/v2/pokemon/pikachu"));
+        assertEquals("[]", string(dataset.body(BASE + "pokemon/25/encounters/")));
+        assertEquals("[]", string(dataset.body(BASE + "pokemon/pikachu/encounters")));
+        assertNull(dataset.body(BASE + "pokemon/26"));
+        assertEquals(404, dataset.response(BASE + "pokemon/26").statusCode());
+        assertEquals(200, dataset.response(BASE + "type/electric").statusCode());
+    }
+
+    @Test
+    @DisplayName("Test lists are paged from the full list of the family")
+    void testListsArePaged()
+    {
+        JsonNode page = JSON_MAPPER.readTree(dataset.body(BASE + "pokemon?limit=1&offset=1"));
+        assertEquals(3, page.get("count").asInt());
+        assertEquals(1, page.get("results").size());
+        assertEquals("charmander", page.get("results").get(0).get("name").asString());
+        assertEquals(BASE + "pokemon/4/", page.get("results").get(0).get("url").asString());
+        assertEquals(BASE + "pokemon?offset=2&limit=1", page.get("next").asString());
+        assertEquals(BASE + "pokemon?offset=0&limit=1", page.get("previous").asString());
+    }
+
+    @Test
+    @DisplayName("Test decoded resources are handed out as the same instance and other hosts are not covered")
+    void testDecodedAndCovered()
+    {
+        Map<?, ?> pikachu = dataset.resource(BASE + "pokemon/pikachu", Map.class);
+        assertEquals(25, pikachu.get("id"));
+        assertSame(pikachu, dataset.resource(BASE + "pokemon/pikachu", Map.class));
+        assertTrue(dataset.covers("/api/v2/pokemon/25/"));
+        assertFalse(dataset.covers("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png"));
+    }
+
+    @Test
+    @DisplayName("Test a dump laid out like api-data is imported by family, without its lists")
+    void testImportDump() throws Exception
+    {
+        Path dump = directory.resolve("api-data");
+        write(dump.resolve("api/v2/index.json"), "{\"pokemon\":\"" + BASE + "pokemon/\"}");
+        write(dump.resolve("api/v2/pokemon/index.json"), "{\"count\":1,\"results\":[]}");
+        write(dump.resolve("api/v2/pokemon/25/index.json"), "{\"id\":25,\"name\":\"pikachu\"}");
+        write(dump.resolve("api/v2/pokemon/25/encounters/index.json"), "[{\"location_area\":{}}]");
+        write(dump.resolve("api/v2/type/13/index.json"), "{\"id\":13,\"name\":\"electric\"}");
+        Path out = directory.resolve("imported");
+        try (OfflineDatasetWriter writer = new OfflineDatasetWriter(out, BASE, JSON_MAPPER)) {
+            OfflineDatasetImporter.importDump(dump, List.of("pokemon"), writer);
+        }
+
+        OfflineDataset imported = OfflineDataset.open(out, BASE, JSON_MAPPER, 100);
+        assertEquals("{\"id\":25,\"name\":\"pikachu\"}", string(imported.body(BASE + "pokemon/pikachu")));
+        assertEquals("[{\"location_area\":{}}]", string(imported.body(BASE + "pokemon/pikachu/encounters")));
+        assertEquals(1, JSON_MAPPER.readTree(imported.body(BASE + "pokemon?limit=20&offset=0")).get("count").asInt());
+        assertNull(imported.body(BASE + "type/13"));
+        assertFalse(Files.exists(out.resolve("api" + OfflineDataset.DATA)));
+    }
+
+    private static void write(Path file, String json) throws Exception
+    {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+    }
+
+    private static byte[] bytes(String json)
+    {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] body)
+    {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,140 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import pokedexapi.upstream.UpstreamHttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RawResponseCacheTest
+{
+    private static final String BASE_URL = "https://pokeapi.co/api/v2/";
+    private static final String TYPE_URL = BASE_URL + "type/1";
+    UpstreamHttpClient upstreamHttpClient;
+    SimpleMeterRegistry meterRegistry;
+    RawResponseCache rawResponseCache;
+
+    @BeforeEach
+    void setUp() throws Exception
+    {
+        upstreamHttpClient = mock(UpstreamHttpClient.class);
+        when(upstreamHttpClient.newRequest(anyString())).thenAnswer(invocation -> HttpRequest.newBuilder(URI.create(invocation.getArgument(0))));
+        meterRegistry = new SimpleMeterRegistry();
+        rawResponseCache = new RawResponseCache(upstreamHttpClient, meterRegistry, BASE_URL, 1024 * 1024, Duration.ofMinutes(10), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Test a fresh entry is served without going upstream")
+    void testFreshEntryIsServedFromCache() throws Exception
+    {
+        HttpResponse<byte[]> ok = response(200, "{\"name\":\"normal\"}", Map.of("Cache-Control", List.of("max-age=60")));
+        doReturn(ok).when(upstreamHttpClient).send(any(), any());
+
+        assertEquals("{\"name\":\"normal\"}", rawResponseCache.fetch(TYPE_URL).body());
+        HttpResponse<String> cached = rawResponseCache.getIfFresh(TYPE_URL);
+        assertNotNull(cached);
+        assertEquals(200, cached.statusCode());
+        assertEquals("{\"name\":\"normal\"}", cached.body());
+        verify(upstreamHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test a stale entry is revalidated and a 304 keeps the cached body")
+    void testStaleEntryIsRevalidated() throws Exception
+    {
+        HttpResponse<byte[]> ok = response(200, "{\"name\":\"normal\"}", Map.of("Cache-Control", List.of("no-cache"), "ETag", List.of("\"abc\"")));
+        HttpResponse<byte[]> notModified = response(304, "", Map.of("Cache-Control", List.of("max-age=60")));
+        doReturn(ok).doReturn(notModified).when(upstreamHttpClient).send(any(), any());
+
+        rawResponseCache.fetch(TYPE_URL);
+        assertNull(rawResponseCache.getIfFresh(TYPE_URL));
+        HttpResponse<String> revalidated = rawResponseCache.fetch(TYPE_URL);
+
+        assertEquals(200, revalidated.statusCode());
+        assertEquals("{\"name\":\"normal\"}", revalidated.body());
+        assertNotNull(rawResponseCache.getIfFresh(TYPE_URL));
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(upstreamHttpClient, times(2)).send(requests.capture(), any());
+        assertEquals("\"abc\"", requests.getAllValues().get(1).headers().firstValue("If-None-Match").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Test not-found responses and urls outside PokeAPI are never cached")
+    void testOnlySuccessfulPokeApiResponsesAreCached() throws Exception
+    {
+        HttpResponse<byte[]> notFound = response(404, "Not Found", Map.of());
+        doReturn(notFound).when(upstreamHttpClient).send(any(), any());
+
+        assertEquals(404, rawResponseCache.fetch(BASE_URL + "type/0").statusCode());
+        assertNull(rawResponseCache.getIfFresh(BASE_URL + "type/0"));
+    }
+
+    @Test
+    @DisplayName("Test a streamed miss is cached only once it has been read through")
+    @SuppressWarnings("unchecked")
+    void testStreamedMissIsCachedWhenReadThrough() throws Exception
+    {
+        HttpResponse<InputStream> ok = mock(HttpResponse.class);
+        when(ok.statusCode()).thenReturn(200);
+        when(ok.body()).thenReturn(new ByteArrayInputStream("{\"name\":\"normal\"}".getBytes(StandardCharsets.UTF_8)));
+        when(ok.headers()).thenReturn(headers(Map.of("Content-Type", List.of("application/json; charset=utf-8"))));
+        doReturn(ok).when(upstreamHttpClient).send(any(), any());
+
+        try (PassthroughBody body = rawResponseCache.open(TYPE_URL)) {
+            assertEquals(200, body.statusCode());
+            assertEquals("application/json; charset=utf-8", body.headers().getFirst("Content-Type"));
+            assertNull(rawResponseCache.openIfFresh(TYPE_URL));
+            assertEquals("{\"name\":\"normal\"}", new String(body.stream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        PassthroughBody cached = rawResponseCache.openIfFresh(TYPE_URL);
+        assertNotNull(cached);
+        assertEquals("17", cached.headers().getFirst("Content-Length"));
+        assertEquals("{\"name\":\"normal\"}", rawResponseCache.getIfFresh(TYPE_URL).body());
+        verify(upstreamHttpClient, times(1)).send(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test freshness follows Cache-Control")
+    void testFreshnessMillis()
+    {
+        Duration defaultTtl = Duration.ofMinutes(10);
+        assertEquals(600_000, RawResponseCache.freshnessMillis(headers(Map.of()), defaultTtl));
+        assertEquals(86_400_000, RawResponseCache.freshnessMillis(headers(Map.of("Cache-Control", List.of("public, max-age=86400"))), defaultTtl));
+        assertEquals(80_000, RawResponseCache.freshnessMillis(headers(Map.of("Cache-Control", List.of("max-age=100"), "Age", List.of("20"))), defaultTtl));
+        assertEquals(0, RawResponseCache.freshnessMillis(headers(Map.of("Cache-Control", List.of("no-cache"))), defaultTtl));
+        assertEquals(-1, RawResponseCache.freshnessMillis(headers(Map.of("Cache-Control", List.of("no-store"))), defaultTtl));
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<byte[]> response(int status, String body, Map<String, List<String>> headers)
+    {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+        when(response.headers()).thenReturn(headers(headers));
+        when(response.uri()).thenReturn(URI.create(TYPE_URL));
+        return response;
+    }
+
+    private HttpHeaders headers(Map<String, List<String>> headers)
+    {
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+}
@@ -0,0 +1,45 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderedResponseCacheTest
+{
+    SimpleMeterRegistry meterRegistry;
+    RenderedResponseCache renderedResponseCache;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        renderedResponseCache = new RenderedResponseCache(JsonMapper.builder().build(), meterRegistry, 1024 * 1024, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Test an entity is rendered once and rendered again when the entity cache hands out a new instance")
+    void testRenderedBytesFollowTheEntityInstance()
+    {
+        Map<String, Object> pokemon = Map.of("id", 25, "name", "pikachu");
+        EncodedVariants first = renderedResponseCache.render(Map.class, 25, "full", pokemon);
+        EncodedVariants second = renderedResponseCache.render(Map.class, 25, "full", pokemon);
+
+        assertSame(first, second);
+        assertTrue(new String(first.identity(), StandardCharsets.UTF_8).contains("\"pikachu\""));
+        assertEquals(1, meterRegistry.counter("pokedexapi.cache.rendered.requests", "result", "hit").count());
+
+        Map<String, Object> refreshed = Map.of("id", 25, "name", "raichu");
+        EncodedVariants third = renderedResponseCache.render(Map.class, 25, "full", refreshed);
+        assertNotSame(first, third);
+        assertTrue(new String(third.identity(), StandardCharsets.UTF_8).contains("\"raichu\""));
+        assertEquals(1, meterRegistry.counter("pokedexapi.cache.rendered.requests", "result", "invalidated").count());
+    }
+}
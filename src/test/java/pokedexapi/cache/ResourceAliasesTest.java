@@ -0,0 +1,54 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import skaro.pokeapi.resource.berry.Berry;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceAliasesTest
+{
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test names, ids and case variants resolve to one id once the name is learned")
+    void testCanonicalKeys()
+    {
+        ResourceAliases aliases = aliases();
+        assertEquals("pikachu", aliases.canonical(Pokemon.class, " Pikachu"));
+        assertEquals("25", aliases.canonical(Pokemon.class, "025"));
+
+        aliases.learn(Pokemon.class, "pikachu", Map.of("id", 25, "name", "pikachu"));
+        assertEquals("25", aliases.canonical(Pokemon.class, "PIKACHU"));
+        assertEquals("pikachu", aliases.canonical(PokemonSpecies.class, "Pikachu"));
+        assertEquals("Cheri", aliases.canonical(Berry.class, "Cheri"));
+    }
+
+    @Test
+    @DisplayName("Test aliases saved on shutdown are known after a restart")
+    void testAliasesSurviveARestart()
+    {
+        ResourceAliases before = aliases();
+        before.learn("pokemon-species", "pikachu", 25);
+        before.destroy();
+
+        assertEquals("25", aliases().canonical(PokemonSpecies.class, "pikachu"));
+    }
+
+    private ResourceAliases aliases()
+    {
+        return new ResourceAliases(JSON_MAPPER, new SimpleMeterRegistry(), List.of("pokemon", "pokemon-species"), true, directory.toString());
+    }
+}
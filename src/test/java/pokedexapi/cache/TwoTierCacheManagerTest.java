@@ -0,0 +1,147 @@
+package pokedexapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.Cache;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheManagerTest
+{
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+    private static final List<Class<?>> BERRIES = List.of(Berry.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test entries flushed on shutdown are loaded from disk after a restart")
+    void testEntriesSurviveARestart()
+    {
+        TwoTierCacheManager before = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+        before.getCache("berries").put("berry/1", new Berry(1, "cheri"));
+        before.destroy();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager after = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, meterRegistry, Runnable::run);
+        Cache berries = after.getCache("berries");
+        assertEquals(new Berry(1, "cheri"), berries.get("berry/1", Berry.class));
+        assertEquals(new Berry(1, "cheri"), berries.get("berry/1", Berry.class));
+        assertNull(berries.get("berry/2"));
+        assertEquals(1, meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", "berries", "result", "load").count());
+        assertEquals(1, meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", "berries", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Test an entry of a class the cache does not hold is rejected instead of decoded")
+    void testForeignTypesAreRejected()
+    {
+        TwoTierCacheManager before = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+        before.getCache("berries").put("berry/1", new Berry(1, "cheri"));
+        before.destroy();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager after = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, List.of(Number.class), meterRegistry, Runnable::run);
+        assertNull(after.getCache("berries").get("berry/1"));
+        assertEquals(0, meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", "berries", "result", "load").count());
+        assertEquals(1, meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", "berries", "result", "error").count());
+    }
+
+    @Test
+    @DisplayName("Test the disk tier directory is readable by its owner only")
+    void testDirectoryIsOwnerOnly() throws Exception
+    {
+        TwoTierCacheManager manager = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+        manager.getCache("berries");
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(directory.resolve("berries")));
+        }
+    }
+
+    @Test
+    @DisplayName("Test entries older than the disk ttl are dropped instead of loaded")
+    void testExpiredEntriesAreDropped() throws Exception
+    {
+        TwoTierCacheManager before = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofMillis(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+        before.getCache("berries").put("berry/1", new Berry(1, "cheri"));
+        before.destroy();
+        Thread.sleep(5);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager after = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofMillis(1), JSON_MAPPER, BERRIES, meterRegistry, Runnable::run);
+        assertNull(after.getCache("berries").get("berry/1"));
+        assertEquals(0, meterRegistry.counter("pokedexapi.cache.disk.requests", "cache", "berries", "result", "load").count());
+    }
+
+    @Test
+    @DisplayName("Test each cache is built with its own policy over the common one")
+    void testPerCachePolicies()
+    {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pokedexapi.cache.entity.max-entries", "2")
+                .withProperty("pokedexapi.cache.entity.type.pinned", "true")
+                .withProperty("pokedexapi.cache.entity.pokemon.max-weight", "1KB")
+                .withProperty("pokedexapi.cache.entity.disk", "false");
+        // as in the application, where Boot converts "1KB" and "60m"
+        environment.setConversionService(new ApplicationConversionService());
+        TwoTierCacheManager manager = new TwoTierCacheManager(environment, directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+
+        Cache types = manager.getCache("type");
+        Cache berries = manager.getCache("berries");
+        for (int i = 0; i < 50; i++) {
+            types.put("type/" + i, new Berry(i, "type"));
+            berries.put("berry/" + i, new Berry(i, "berry"));
+        }
+        manager.getCache("pokemon");
+
+        assertEquals(50, nativeCache(types).estimatedSize());
+        nativeCache(berries).cleanUp();
+        assertTrue(nativeCache(berries).estimatedSize() <= 2);
+        assertTrue(manager.policies().get("type").pinned());
+        assertEquals(DataSize.ofKilobytes(1), manager.policies().get("pokemon").maxWeight());
+        assertFalse(manager.policies().get("pokemon").disk());
+        assertFalse(Files.exists(directory.resolve("berries")));
+        assertEquals(2, manager.policies().get("berries").maxEntries());
+    }
+
+    @Test
+    @DisplayName("Test a key prefix is invalidated in memory and on disk, and other keys are kept")
+    void testEvictByPrefix()
+    {
+        TwoTierCacheManager manager = new TwoTierCacheManager(new MockEnvironment(), directory, Duration.ofDays(1), JSON_MAPPER, BERRIES, new SimpleMeterRegistry(), Runnable::run);
+        TwoTierCache berries = (TwoTierCache) manager.getCache("berries");
+        berries.put("berry/1", new Berry(1, "cheri"));
+        berries.put("berry/2", new Berry(2, "chesto"));
+        berries.put("flavor/1", new Berry(1, "spicy"));
+        berries.flush();
+        berries.put("berry/3", new Berry(3, "pecha"));
+
+        assertEquals(5, berries.evictIf(key -> key.startsWith("berry/")));
+        assertEquals(1, berries.size());
+        assertNull(berries.get("berry/1"));
+        assertNull(berries.get("berry/3"));
+        assertEquals(new Berry(1, "spicy"), berries.get("flavor/1", Berry.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(Cache cache)
+    {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+    }
+
+    record Berry(int id, String name)
+    {
+    }
+}
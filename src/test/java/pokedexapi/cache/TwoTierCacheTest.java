@@ -0,0 +1,130 @@
+package pokedexapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheTest
+{
+    private static final long EPOCH_MILLIS = System.currentTimeMillis();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+    private final TwoTierCache cache = cache(null);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test an entry due for refresh is served stale while a single background reload runs")
+    void testRefreshAheadServesStale() throws Exception
+    {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("v1", cache.get("pikachu", () -> "v" + loads.incrementAndGet()));
+        advance(Duration.ofMinutes(50));
+
+        assertEquals("v1", cache.get("pikachu", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.retrieve("pikachu", () -> CompletableFuture.completedFuture("v" + loads.incrementAndGet())).get());
+        assertEquals(1, refreshes.size());
+        assertEquals(1, loads.get());
+
+        refreshes.poll().run();
+        assertEquals("v2", cache.get("pikachu", () -> "v" + loads.incrementAndGet()));
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test a failed reload keeps the stale entry until it expires")
+    void testFailedRefreshKeepsServingStale()
+    {
+        cache.put("pikachu", "v1");
+        advance(Duration.ofMinutes(50));
+        assertEquals("v1", cache.get("pikachu", () -> { throw new IllegalStateException("upstream down"); }));
+        refreshes.poll().run();
+        assertEquals("v1", cache.get("pikachu", String.class));
+
+        advance(Duration.ofMinutes(80));
+        assertNull(cache.get("pikachu"));
+    }
+
+    @Test
+    @DisplayName("Test without a loader one caller is handed the miss and the rest are served stale")
+    void testLookupHandsOneCallerTheRefresh()
+    {
+        cache.put("pikachu", "v1");
+        advance(Duration.ofMinutes(50));
+        assertNull(cache.get("pikachu"));
+        assertEquals("v1", cache.get("pikachu", String.class));
+
+        cache.put("pikachu", "v2");
+        assertEquals("v2", cache.get("pikachu", String.class));
+    }
+
+    @Test
+    @DisplayName("Test an entry read back from disk keeps its age and is refreshed when due")
+    void testDiskKeepsTheWriteTime()
+    {
+        TwoTierCache before = cache(disk());
+        before.put("pikachu", "v1");
+        advance(Duration.ofMinutes(50));
+        before.flush();
+
+        TwoTierCache after = cache(disk());
+        assertNull(after.get("pikachu"));
+        assertEquals("v1", after.get("pikachu", String.class));
+
+        // only what was left of the ttl: 120 minutes from the first put, not from the promotion
+        advance(Duration.ofMinutes(71));
+        assertNull(after.get("pikachu"));
+    }
+
+    @Test
+    @DisplayName("Test an entry on disk older than the memory ttl is not promoted")
+    void testExpiredDiskEntriesAreNotPromoted()
+    {
+        TwoTierCache before = cache(disk());
+        before.put("pikachu", "v1");
+        advance(Duration.ofMinutes(100));
+        before.flush();
+
+        TwoTierCache after = new TwoTierCache("pokemon", Caffeine.newBuilder().executor(Runnable::run),
+                Duration.ofMinutes(60), disk(), Duration.ofMinutes(45), nanos::get, this::millis, refreshes::add, new SimpleMeterRegistry());
+        assertNull(after.get("pikachu"));
+        assertNull(disk().load("pikachu"));
+    }
+
+    private TwoTierCache cache(DiskCacheStore disk)
+    {
+        return new TwoTierCache("pokemon", Caffeine.newBuilder().executor(Runnable::run), Duration.ofMinutes(120),
+                disk, Duration.ofMinutes(45), nanos::get, this::millis, refreshes::add, new SimpleMeterRegistry());
+    }
+
+    private DiskCacheStore disk()
+    {
+        return new DiskCacheStore("pokemon", directory.resolve("pokemon"), JsonMapper.builder().build(),
+                List.of(String.class), Duration.ofDays(1), new SimpleMeterRegistry());
+    }
+
+    private long millis()
+    {
+        return EPOCH_MILLIS + Duration.ofNanos(nanos.get()).toMillis();
+    }
+
+    private void advance(Duration duration)
+    {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,191 @@
+package pokedexapi.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.env.MockEnvironment;
+import pokedexapi.cache.RawResponseCache;
+import pokedexapi.upstream.ConcurrencyLimiter;
+import pokedexapi.upstream.PokeApiGateway;
+import pokedexapi.upstream.RequestCoalescer;
+import pokedexapi.upstream.RequestHedger;
+import pokedexapi.upstream.UpstreamHttpClient;
+import pokedexapi.upstream.UpstreamResilience;
+import pokedexapi.upstream.UpstreamRetry;
+import skaro.pokeapi.client.PokeApiClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the most concurrent requests each thread mode sustains on the real
+ * upstream path: request threads call {@link PokeApiGateway#callUrl} through the
+ * coalescer, retry, breaker, adaptive limit and raw cache, and the shared
+ * java.net.http client built by {@link UpstreamClientConfiguration} sends them to a
+ * local stub of PokeAPI that answers after a fixed delay. Every request asks for a
+ * url of its own so none is answered from the cache or joined to another.
+ * <p>
+ * The limits in front of upstream are opened wide so the thread mode is what runs
+ * out first. A level is sustained while every request succeeds and the p99 stays
+ * under twice the upstream latency.
+ * <p>
+ * Takes a while, so it only runs with -Dpokedexapi.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "pokedexapi.benchmark", matches = "true")
+class ThreadModeBenchmarkTest
+{
+    /* Logging instance */
+    private static final Logger LOGGER = LogManager.getLogger(ThreadModeBenchmarkTest.class);
+    private static final long UPSTREAM_MILLIS = 200;
+    private static final long SLO_MILLIS = UPSTREAM_MILLIS * 2;
+    private static final int[] LEVELS = {50, 100, 200, 400, 800, 1600, 3200};
+    // server.tomcat.threads.max default
+    private static final int PLATFORM_THREADS = 200;
+    private static final int UNBOUNDED = 100_000;
+    private static final byte[] BODY = "{\"id\":25,\"name\":\"pikachu\"}".getBytes(StandardCharsets.UTF_8);
+    private static HttpServer upstream;
+    private static String baseUrl;
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @BeforeAll
+    static void startUpstream() throws Exception
+    {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), UNBOUNDED);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/api/v2/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_MILLIS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        upstream.start();
+        baseUrl = "http://127.0.0.1:" + upstream.getAddress().getPort() + "/api/v2/";
+    }
+
+    @AfterAll
+    static void stopUpstream()
+    {
+        upstream.stop(0);
+    }
+
+    @Test
+    @DisplayName("Benchmark the sustainable concurrency of platform and virtual threads through the gateway")
+    void benchmarkThreadModes() throws Exception
+    {
+        int platform = maxSustained("platform", false);
+        int virtual = maxSustained("virtual", true);
+        // reported rather than asserted: on a machine with few cores the stub upstream competes for the cpu
+        LOGGER.info("max sustained concurrency through the gateway: platform={} virtual={}", platform, virtual);
+    }
+
+    private int maxSustained(String mode, boolean virtualThreads) throws Exception
+    {
+        UpstreamClientConfiguration configuration = new UpstreamClientConfiguration();
+        ExecutorService upstreamExecutor = configuration.upstreamExecutor(virtualThreads, 16, 512);
+        try {
+            PokeApiGateway gateway = gateway(configuration.pokeApiHttpClient(upstreamExecutor, Duration.ofSeconds(5)));
+            try (ExecutorService requests = requestThreads(virtualThreads)) {
+                // opens the connections and loads the path before anything is timed
+                p99Millis(gateway, requests, LEVELS[0]);
+            }
+            int sustained = 0;
+            for (int level : LEVELS) {
+                long p99;
+                try (ExecutorService requests = requestThreads(virtualThreads)) {
+                    p99 = p99Millis(gateway, requests, level);
+                }
+                LOGGER.info("{}: {} concurrent requests, p99 {} ms", mode, level, p99);
+                if (p99 > SLO_MILLIS) break;
+                sustained = level;
+            }
+            return sustained;
+        }
+        finally {
+            upstreamExecutor.shutdownNow();
+        }
+    }
+
+    private PokeApiGateway gateway(HttpClient httpClient)
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("pokedexapi.upstream.bulkhead.max-concurrent", String.valueOf(UNBOUNDED));
+        UpstreamHttpClient upstreamHttpClient = new UpstreamHttpClient(httpClient, UNBOUNDED,
+                Duration.ofSeconds(5), Duration.ofSeconds(30));
+        return new PokeApiGateway(mock(PokeApiClient.class),
+                new RequestCoalescer(meterRegistry),
+                new UpstreamResilience(environment, meterRegistry),
+                new ConcurrencyLimiter(meterRegistry, UNBOUNDED, 4, UNBOUNDED, 0.9, 2.0,
+                        Duration.ofSeconds(30), UNBOUNDED, Duration.ofSeconds(30)),
+                new RequestHedger(meterRegistry, Executors.newVirtualThreadPerTaskExecutor(), false,
+                        List.of("pokemon"), 95, Duration.ofMillis(50), 0.05),
+                new UpstreamRetry(meterRegistry, 1, Duration.ofMillis(100), Duration.ofSeconds(2),
+                        List.of(429, 502, 503, 504), 0.1, 20),
+                new RawResponseCache(upstreamHttpClient, meterRegistry, baseUrl, 64L << 20,
+                        Duration.ofMinutes(10), Duration.ofHours(24)),
+                baseUrl);
+    }
+
+    private static ExecutorService requestThreads(boolean virtualThreads)
+    {
+        if (virtualThreads) return Executors.newVirtualThreadPerTaskExecutor();
+        return new ThreadPoolExecutor(PLATFORM_THREADS, PLATFORM_THREADS,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    }
+
+    private long p99Millis(PokeApiGateway gateway, ExecutorService requests, int concurrency) throws InterruptedException
+    {
+        List<Future<Long>> calls = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            String url = baseUrl + "pokemon/" + nextId.incrementAndGet();
+            long submitted = System.nanoTime();
+            calls.add(requests.submit(() -> {
+                gateway.callUrl(url);
+                return System.nanoTime() - submitted;
+            }));
+        }
+        long[] latencies = new long[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            try {
+                latencies[i] = calls.get(i).get();
+            }
+            catch (ExecutionException e) {
+                // a failed request counts as missing the SLO
+                LOGGER.warn("request failed at {} concurrent requests", concurrency, e.getCause());
+                latencies[i] = Long.MAX_VALUE;
+            }
+        }
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(concurrency * 0.99) - 1];
+        return p99 == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(p99);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import pokedexapi.service.PokemonApiService;
@@ -32,10 +33,15 @@ import static pokedexapi.utilities.Constants.GIF_IMAGE_URL;
  * ActiveProfiles("test"): Activates the "test" profile for the application context.
  * ExtendWith(SpringExtension.class): Integrates the Spring TestContext Framework with JUnit 5.
  * SpringBootTest: Indicates that the class is a Spring Boot test and will bootstrap the entire container.
+ * TestPropertySource: Keeps the engines that crawl PokeAPI in the background from starting.
  */
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "pokedexapi.evolution.index.enabled=false",
+        "pokedexapi.types.chart.enabled=false",
+        "pokedexapi.cache.known-names.enabled=false"})
 public class BaseApiTest
 {
     private static final Logger logger = LogManager.getLogger(BaseApiTest.class);
@@ -0,0 +1,205 @@
+package pokedexapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import pokedexapi.cache.RawResponseCache;
+import pokedexapi.cache.RenderedResponseCache;
+import pokedexapi.cache.TwoTierCacheManager;
+import pokedexapi.upstream.PokeApiGateway;
+import pokedexapi.upstream.UpstreamHttpClient;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheAdminServiceTest
+{
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+    private RawResponseCache rawResponseCache;
+    private RenderedResponseCache renderedResponseCache;
+    private KnownNameFilter knownNameFilter;
+    private TwoTierCacheManager cacheManager;
+    private CacheWarmupService cacheWarmupService;
+    private CacheAdminService cacheAdminService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception
+    {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamHttpClient upstreamHttpClient = mock(UpstreamHttpClient.class);
+        when(upstreamHttpClient.newRequest(anyString())).thenAnswer(invocation -> HttpRequest.newBuilder(URI.create(invocation.getArgument(0))));
+        doAnswer(invocation -> ok(((HttpRequest) invocation.getArgument(0)).uri())).when(upstreamHttpClient).send(any(), any());
+        rawResponseCache = new RawResponseCache(upstreamHttpClient, meterRegistry, BASE, 1024 * 1024, Duration.ofMinutes(10), Duration.ofHours(1));
+        renderedResponseCache = new RenderedResponseCache(JSON_MAPPER, meterRegistry, 1024 * 1024, Duration.ofMinutes(60));
+        knownNameFilter = new KnownNameFilter(mock(PokeApiGateway.class), JSON_MAPPER, meterRegistry, BASE,
+                true, List.of("pokemon"), Duration.ofHours(24), Duration.ofMinutes(5), 100);
+        cacheManager = new TwoTierCacheManager(new MockEnvironment(), null, Duration.ofDays(1), JSON_MAPPER, List.of(Object.class),
+                meterRegistry, Runnable::run);
+        ObjectProvider<CacheManager> cacheManagerProvider = mock(ObjectProvider.class);
+        when(cacheManagerProvider.getIfAvailable()).thenReturn(cacheManager);
+        cacheWarmupService = mock(CacheWarmupService.class);
+        cacheAdminService = new CacheAdminService(cacheManagerProvider, rawResponseCache, renderedResponseCache, knownNameFilter,
+                cacheWarmupService, 4);
+
+        // pokemon-species/1 and pokemon/25 in every cache that holds resources by id
+        for (String path : List.of("pokemon-species/1", "pokemon/25")) {
+            rawResponseCache.fetch(BASE + path);
+            String[] key = path.split("/");
+            cacheManager.getCache(key[0]).put(key[1], Map.of("id", Integer.parseInt(key[1])));
+        }
+        renderedResponseCache.render(PokemonSpecies.class, 1, "full", Map.of("id", 1));
+        renderedResponseCache.render(Pokemon.class, 25, "full", Map.of("id", 25));
+        knownNameFilter.notFound("pokemon-species", "missingno");
+        knownNameFilter.notFound("pokemon", "missingno");
+    }
+
+    @Test
+    @DisplayName("Test a key is dropped from every cache that holds it under that key")
+    void testInvalidateByKey() throws Exception
+    {
+        Map<String, Object> job = finished(cacheAdminService.invalidate(null, "pokemon-species/1", null));
+
+        assertEquals(CacheWarmupService.State.DONE, job.get("state"));
+        assertEquals("* pokemon-species/1", job.get("target"));
+        assertEquals(Map.of(RawResponseCache.NAME, 1L, RenderedResponseCache.NAME, 0L, KnownNameFilter.NEGATIVE, 0L,
+                "pokemon", 0L, "pokemon-species", 1L), job.get("invalidated"));
+        assertNull(rawResponseCache.getIfFresh(BASE + "pokemon-species/1"));
+        assertNotNull(rawResponseCache.getIfFresh(BASE + "pokemon/25"));
+        assertNull(cacheManager.getCache("pokemon-species").get("1"));
+        assertNotNull(cacheManager.getCache("pokemon").get("25"));
+        assertEquals(2, renderedResponseCache.size());
+    }
+
+    @Test
+    @DisplayName("Test a prefix reaches its family in the raw, rendered, negative and entity caches at once")
+    void testInvalidateByPrefix() throws Exception
+    {
+        Map<String, Object> job = finished(cacheAdminService.invalidate(null, null, "pokemon-species/"));
+
+        assertEquals(Map.of(RawResponseCache.NAME, 1L, RenderedResponseCache.NAME, 1L, KnownNameFilter.NEGATIVE, 1L,
+                "pokemon", 0L, "pokemon-species", 1L), job.get("invalidated"));
+        assertEquals(1, rawResponseCache.size());
+        assertEquals(1, renderedResponseCache.size());
+        assertEquals(1, knownNameFilter.size());
+        assertNull(cacheManager.getCache("pokemon-species").get("1"));
+        assertNotNull(cacheManager.getCache("pokemon").get("25"));
+        assertNotNull(rawResponseCache.getIfFresh(BASE + "pokemon/25"));
+    }
+
+    @Test
+    @DisplayName("Test a cache is dropped whole and alone, and an unknown or missing target is refused")
+    void testInvalidateCache() throws Exception
+    {
+        Map<String, Object> job = finished(cacheAdminService.invalidate(RenderedResponseCache.NAME, null, null));
+
+        assertEquals(Map.of(RenderedResponseCache.NAME, 2L), job.get("invalidated"));
+        assertEquals(0, renderedResponseCache.size());
+        assertEquals(2, rawResponseCache.size());
+        assertEquals(2, knownNameFilter.size());
+        Cache species = cacheManager.getCache("pokemon-species");
+        assertNotNull(species.get("1"));
+
+        finished(cacheAdminService.invalidate("pokemon", null, "pokemon/2"));
+        assertNull(cacheManager.getCache("pokemon").get("25"));
+        assertEquals(2, rawResponseCache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> cacheAdminService.invalidate("berries", null, null));
+        assertThrows(IllegalArgumentException.class, () -> cacheAdminService.invalidate(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Test a re-warm fetches every family given at no more than max-concurrency")
+    @SuppressWarnings("unchecked")
+    void testWarm() throws Exception
+    {
+        Map<String, Object> job = finished(cacheAdminService.warm(List.of("pokemon", "type"), List.of("pikachu"), 100));
+
+        assertEquals(CacheWarmupService.State.DONE, job.get("state"));
+        assertEquals("[pokemon, type] [pikachu]", job.get("target"));
+        verify(cacheWarmupService).warm(eq("pokemon"), eq(List.of("pikachu")), eq(4), any());
+        verify(cacheWarmupService).warm(eq("type"), eq(List.of("pikachu")), eq(4), any());
+        assertEquals(List.of("pokemon", "type"), List.copyOf(((Map<String, Object>) job.get("families")).keySet()));
+
+        finished(cacheAdminService.warm(List.of("pokemon-species"), null, 2));
+        verify(cacheWarmupService).warm(eq("pokemon-species"), isNull(), eq(2), any());
+        assertThrows(IllegalArgumentException.class, () -> cacheAdminService.warm(List.of(), null, null));
+    }
+
+    @Test
+    @DisplayName("Test a re-warm that fails is kept with its error")
+    void testFailedWarm() throws Exception
+    {
+        doThrow(new IllegalStateException("upstream down")).when(cacheWarmupService).warm(anyString(), any(), anyInt(), any());
+
+        Map<String, Object> job = finished(cacheAdminService.warm(List.of("pokemon"), null, null));
+
+        assertEquals(CacheWarmupService.State.FAILED, job.get("state"));
+        assertEquals("upstream down", job.get("error"));
+        assertNotNull(job.get("finishedAt"));
+    }
+
+    @Test
+    @DisplayName("Test only the last 20 jobs are kept, newest first")
+    void testJobHistoryIsCapped() throws Exception
+    {
+        for (int i = 0; i < 25; i++) finished(cacheAdminService.invalidate(KnownNameFilter.NEGATIVE, "pokemon/" + i, null));
+
+        List<Map<String, Object>> jobs = cacheAdminService.jobs();
+        assertEquals(20, jobs.size());
+        assertEquals("25", jobs.getFirst().get("id"));
+        assertEquals("6", jobs.getLast().get("id"));
+        assertNull(cacheAdminService.job("5"));
+        assertEquals("6", cacheAdminService.job("6").get("id"));
+    }
+
+    /**
+     * Waits for a job to finish
+     *
+     * @param job the job as it was started
+     * @return the job once it is done or failed
+     */
+    private Map<String, Object> finished(Map<String, Object> job) throws InterruptedException
+    {
+        String id = (String) job.get("id");
+        for (int i = 0; i < 500; i++) {
+            Map<String, Object> snapshot = cacheAdminService.job(id);
+            if (snapshot.get("state") != CacheWarmupService.State.RUNNING) return snapshot;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("job " + id + " did not finish");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> ok(URI uri)
+    {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of("Cache-Control", List.of("max-age=600")), (name, value) -> true));
+        when(response.uri()).thenReturn(uri);
+        return response;
+    }
+}
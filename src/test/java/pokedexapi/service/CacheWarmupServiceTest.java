@@ -0,0 +1,63 @@
+package pokedexapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pokedexapi.upstream.PokeApiGateway;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CacheWarmupServiceTest
+{
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+
+    @Test
+    @DisplayName("Test every listed resource is fetched, entities typed and the rest as raw bodies")
+    @SuppressWarnings("unchecked")
+    void testWarmUpFetchesEveryListedResource() throws Exception
+    {
+        PokeApiGateway gateway = mock(PokeApiGateway.class);
+        HttpResponse<String> ok = mock(HttpResponse.class);
+        when(ok.statusCode()).thenReturn(200);
+        when(gateway.callUrl(anyString())).thenReturn(ok);
+        HttpResponse<String> pokemonPage = page("pokemon", "bulbasaur", "ivysaur");
+        HttpResponse<String> chainPage = page("evolution-chain", "1", "2", "3");
+        when(gateway.callUrl(BASE + "pokemon?limit=50&offset=0")).thenReturn(pokemonPage);
+        when(gateway.callUrl(BASE + "evolution-chain?limit=50&offset=0")).thenReturn(chainPage);
+
+        CacheWarmupService warmup = new CacheWarmupService(gateway, JsonMapper.builder().build(), BASE, true,
+                List.of("pokemon", "evolution-chain"), 50, 0, 2, 0);
+        assertTrue(warmup.start());
+        while (warmup.isRunning()) Thread.sleep(10);
+
+        verify(gateway).getResource(Pokemon.class, "bulbasaur");
+        verify(gateway).getResource(Pokemon.class, "ivysaur");
+        verify(gateway).callUrl(BASE + "evolution-chain/3/");
+        Map<String, Object> snapshot = warmup.snapshot();
+        assertEquals(CacheWarmupService.State.DONE, snapshot.get("state"));
+        Map<String, Map<String, Integer>> families = (Map<String, Map<String, Integer>>) snapshot.get("families");
+        assertEquals(Map.of("total", 2, "warmed", 2, "failed", 0), families.get("pokemon"));
+        assertEquals(Map.of("total", 3, "warmed", 3, "failed", 0), families.get("evolution-chain"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> page(String family, String... names)
+    {
+        StringBuilder results = new StringBuilder();
+        for (String name : names) {
+            if (!results.isEmpty()) results.append(',');
+            results.append("{\"name\":\"").append(name).append("\",\"url\":\"").append(BASE).append(family).append('/').append(name).append("/\"}");
+        }
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn("{\"count\":" + names.length + ",\"next\":null,\"previous\":null,\"results\":[" + results + "]}");
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+package pokedexapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pokedexapi.upstream.PokeApiGateway;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EvolutionChainIndexTest
+{
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+    private final PokeApiGateway gateway = mock(PokeApiGateway.class);
+    @TempDir
+    private Path diskDirectory;
+    private EvolutionChainIndex index;
+
+    @BeforeEach
+    void setUp()
+    {
+        index = index(gateway, false);
+    }
+
+    @Test
+    @DisplayName("Test chains and stages are read from PokeAPI, forms included, and laid out as the old evolutions map")
+    void testIndexIsBuiltFromChains() throws Exception
+    {
+        respond("evolution-chain?limit=100000&offset=0", "{\"results\":[{\"url\":\"" + BASE + "evolution-chain/1/\"}]}");
+        respond("evolution-chain/1/", "{\"id\":1,\"chain\":{\"species\":{\"url\":\"" + BASE + "pokemon-species/1/\"},\"evolves_to\":["
+                + "{\"species\":{\"url\":\"" + BASE + "pokemon-species/2/\"},\"evolves_to\":["
+                + "{\"species\":{\"url\":\"" + BASE + "pokemon-species/3/\"},\"evolves_to\":[]}]}]}}");
+        respond("pokemon-species/1/", "{\"varieties\":[{\"pokemon\":{\"url\":\"" + BASE + "pokemon/1/\"}}]}");
+        respond("pokemon-species/2/", "{\"varieties\":[{\"pokemon\":{\"url\":\"" + BASE + "pokemon/2/\"}}]}");
+        respond("pokemon-species/3/", "{\"varieties\":[{\"pokemon\":{\"url\":\"" + BASE + "pokemon/3/\"}},"
+                + "{\"pokemon\":{\"url\":\"" + BASE + "pokemon/10033/\"}}]}");
+        assertFalse(index.isBuilt());
+        assertEquals(0, index.chainOf(3));
+
+        assertTrue(index.load());
+        assertEquals(1, index.chainOf(1));
+        assertEquals(1, index.chainOf("10033"));
+        assertEquals(2, index.stageOf(10033));
+        assertEquals(0, index.stageOf(1));
+        assertEquals(0, index.chainOf(4));
+        assertEquals(-1, index.stageOf(10034));
+        assertEquals(0, index.chainOf("bulbasaur"));
+        assertEquals(Map.of(1, List.of(List.of(1), List.of(2), List.of(3, 10033))), index.toMap());
+    }
+
+    @Test
+    @DisplayName("Test an index that cannot be built leaves the one before it in place")
+    @SuppressWarnings("unchecked")
+    void testFailedLoadKeepsIndex() throws Exception
+    {
+        testIndexIsBuiltFromChains();
+        HttpResponse<String> unavailable = mock(HttpResponse.class);
+        when(unavailable.statusCode()).thenReturn(503);
+        when(gateway.callUrl(BASE + "evolution-chain/1/")).thenReturn(unavailable);
+
+        assertFalse(index.load());
+        assertEquals(1, index.chainOf(10033));
+    }
+
+    @Test
+    @DisplayName("Test an index that was built is read back on start instead of crawling PokeAPI again")
+    void testIndexIsRestoredFromDisk() throws Exception
+    {
+        testIndexIsBuiltFromChains();
+        assertTrue(Files.exists(diskDirectory.resolve("evolution-index.json")));
+        PokeApiGateway restartedGateway = mock(PokeApiGateway.class);
+
+        EvolutionChainIndex restarted = index(restartedGateway, true);
+
+        assertTrue(restarted.isBuilt());
+        assertEquals(1, restarted.chainOf(10033));
+        assertEquals(2, restarted.stageOf(3));
+        assertEquals(index.toMap(), restarted.toMap());
+        assertEquals(3, restarted.graph().size());
+        assertEquals(1, restarted.graph().species(2).stage());
+        verifyNoInteractions(restartedGateway);
+    }
+
+    private EvolutionChainIndex index(PokeApiGateway gateway, boolean enabled)
+    {
+        return new EvolutionChainIndex(gateway, JsonMapper.builder().build(), BASE, enabled, Duration.ofHours(24), 2,
+                true, diskDirectory.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respond(String path, String body) throws Exception
+    {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(body);
+        when(gateway.callUrl(BASE + path)).thenReturn(response);
+    }
+}
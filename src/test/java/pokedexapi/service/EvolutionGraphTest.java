@@ -0,0 +1,55 @@
+package pokedexapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvolutionGraphTest
+{
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final EvolutionGraph graph = new EvolutionGraph.Builder()
+            .link(63, "abra", 26, 0, 0, details("[]"))
+            .link(64, "kadabra", 26, 63, 1, details("[{\"trigger\":{\"name\":\"level-up\"},\"min_level\":16,\"time_of_day\":\"\"}]"))
+            .link(65, "alakazam", 26, 64, 2, details("[{\"trigger\":{\"name\":\"trade\"},\"min_level\":null,\"time_of_day\":\"\"}]"))
+            .link(133, "eevee", 67, 0, 0, details("[]"))
+            .link(135, "jolteon", 67, 133, 1, details("[{\"trigger\":{\"name\":\"use-item\"},\"item\":{\"name\":\"thunder-stone\"}}]"))
+            .link(197, "umbreon", 67, 133, 1, details("[{\"trigger\":{\"name\":\"level-up\"},\"time_of_day\":\"night\",\"min_happiness\":160}]"))
+            .link(208, "steelix", 52, 95, 1, details("[{\"trigger\":{\"name\":\"trade\"},\"held_item\":{\"name\":\"metal-coat\"}}]"))
+            .link(95, "onix", 52, 0, 0, details("[]"))
+            .build();
+
+    @Test
+    @DisplayName("Test ancestors, descendants and family are walked from the adjacency arrays")
+    void testRelatives()
+    {
+        assertArrayEquals(new int[]{64, 63}, graph.ancestors(65));
+        assertArrayEquals(new int[]{64, 65}, graph.descendants(63));
+        assertArrayEquals(new int[]{133, 135, 197}, graph.family(197));
+        assertArrayEquals(new int[]{95, 208}, graph.family(graph.idOf("Onix")));
+        assertArrayEquals(new int[0], graph.ancestors(1));
+        assertEquals(0, graph.idOf("missingno"));
+    }
+
+    @Test
+    @DisplayName("Test species are found by trigger and by used or held item, with their evolution details")
+    void testTriggersAndItems()
+    {
+        assertArrayEquals(new int[]{65, 208}, graph.evolvingBy("trade"));
+        assertArrayEquals(new int[]{135}, graph.evolvingWith("thunder-stone"));
+        assertArrayEquals(new int[]{208}, graph.evolvingWith("metal-coat"));
+        assertArrayEquals(new int[0], graph.evolvingBy("spin"));
+        assertEquals(new EvolutionGraph.Species(197, "umbreon", 67, 1, "eevee",
+                List.of(new EvolutionGraph.Evolution("level-up", null, null, 0, "night"))), graph.species(197));
+        assertEquals(new EvolutionGraph.Evolution("level-up", null, null, 16, null), graph.species(64).evolution().getFirst());
+    }
+
+    private JsonNode details(String json)
+    {
+        return jsonMapper.readTree(json);
+    }
+}
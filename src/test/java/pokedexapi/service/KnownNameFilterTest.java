@@ -0,0 +1,64 @@
+package pokedexapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import pokedexapi.upstream.PokeApiGateway;
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class KnownNameFilterTest
+{
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+    private final PokeApiGateway gateway = mock(PokeApiGateway.class);
+    private final KnownNameFilter filter = new KnownNameFilter(gateway, JsonMapper.builder().build(), new SimpleMeterRegistry(), BASE,
+            true, List.of("pokemon"), Duration.ofHours(24), Duration.ofMinutes(5), 100);
+
+    @Test
+    @DisplayName("Test keys missing from the list are rejected without a lookup, ids by number and names in any case")
+    @SuppressWarnings("unchecked")
+    void testUnknownKeysAreRejected() throws Exception
+    {
+        HttpResponse<String> list = mock(HttpResponse.class);
+        when(list.statusCode()).thenReturn(200);
+        when(list.body()).thenReturn("{\"count\":2,\"results\":[{\"name\":\"pikachu\",\"url\":\"" + BASE + "pokemon/25/\"},"
+                + "{\"name\":\"pikachu-alola-cap\",\"url\":\"" + BASE + "pokemon/10099/\"}]}");
+        when(gateway.callUrl(BASE + "pokemon?limit=100000&offset=0")).thenReturn(list);
+        assertTrue(filter.load("pokemon"));
+
+        assertTrue(filter.mayExist("pokemon", "Pikachu"));
+        assertTrue(filter.mayExist("pokemon", "25"));
+        assertTrue(filter.mayExist("pokemon", "10099"));
+        assertFalse(filter.mayExist("pokemon", "26"));
+        assertFalse(filter.mayExist("pokemon", "99999999999"));
+        assertFalse(filter.mayExist("pokemon", "pikachuu"));
+        AtomicInteger lookups = new AtomicInteger();
+        assertNull(filter.lookup(Pokemon.class, "pikachuu", () -> { lookups.incrementAndGet(); return null; }));
+        assertNull(filter.lookup(Pokemon.class, "26", Mono.fromSupplier(() -> { lookups.incrementAndGet(); return null; })).block());
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    @DisplayName("Test a 404 is remembered and the next lookup of the same key does not go upstream")
+    void testNotFoundIsCached()
+    {
+        AtomicInteger lookups = new AtomicInteger();
+        WebClientResponseException notFound = WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY, new byte[0], null);
+        assertThrows(WebClientResponseException.class,
+                () -> filter.lookup(Pokemon.class, "missingno", () -> { lookups.incrementAndGet(); throw notFound; }));
+        assertNull(filter.lookup(Pokemon.class, "missingno", () -> { lookups.incrementAndGet(); throw notFound; }));
+        assertEquals(1, lookups.get());
+        assertTrue(filter.mayExist("pokemon", "MissingNo"));
+    }
+}
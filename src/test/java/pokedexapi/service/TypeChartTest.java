@@ -0,0 +1,84 @@
+package pokedexapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import skaro.pokeapi.resource.NamedApiResource;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemon.PokemonType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TypeChartTest
+{
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final TypeChart.Chart chart = TypeChart.Chart.of(relations());
+
+    @Test
+    @DisplayName("Test matchups multiply the columns of a dual-typed defender and leave types without relations out")
+    void testMatchups()
+    {
+        assertEquals(List.of("normal", "ground", "electric", "water"), chart.names());
+        TypeChart.Matchups matchups = chart.matchups(List.of("electric", "Ground"), List.of("water", "ground/water", "normal"));
+        assertArrayEquals(new float[]{2f, 0f, 1f}, matchups.multipliers()[0]);
+        assertArrayEquals(new float[]{1f, 1f, 1f}, matchups.multipliers()[1]);
+        assertEquals(4, chart.matchups(null, List.of("water")).multipliers().length);
+        assertThrows(IllegalArgumentException.class, () -> chart.matchups(null, List.of("water/stellar")));
+    }
+
+    @Test
+    @DisplayName("Test the weaknesses of a Pokemon are read off its types")
+    void testWeaknesses()
+    {
+        TypeChart chartService = new TypeChart(null, jsonMapper, "https://pokeapi.co/api/v2/", false, Duration.ofHours(24));
+        List<PokemonType> slots = List.of(type("water"), type("ground"));
+        Pokemon quagsire = mock(Pokemon.class);
+        when(quagsire.getTypes()).thenReturn(slots);
+        List<String> types = chartService.typesOf(quagsire);
+        assertEquals(List.of("water", "ground"), types);
+
+        TypeChart.Weaknesses weaknesses = chart.weaknesses("quagsire", types);
+        assertEquals(List.of("electric"), weaknesses.immunities());
+        assertEquals(List.of(), weaknesses.resistances());
+        assertEquals(1f, weaknesses.multipliers().get("water"));
+        TypeChart.Weaknesses squirtle = chart.weaknesses("squirtle", List.of("water"));
+        assertEquals(List.of("electric"), squirtle.weaknesses());
+        assertEquals(List.of("water"), squirtle.resistances());
+    }
+
+    private static PokemonType type(String name)
+    {
+        PokemonType type = mock(PokemonType.class);
+        when(type.getType()).thenReturn(new NamedApiResource<>(name, "https://pokeapi.co/api/v2/type/" + name + "/"));
+        return type;
+    }
+
+    private Map<String, JsonNode> relations()
+    {
+        Map<String, JsonNode> relations = new LinkedHashMap<>();
+        relations.put("normal", relation("[]", "[]", "[\"ghost\"]"));
+        relations.put("ground", relation("[\"electric\"]", "[]", "[]"));
+        relations.put("electric", relation("[\"water\"]", "[\"electric\"]", "[\"ground\"]"));
+        relations.put("water", relation("[\"ground\"]", "[\"water\"]", "[]"));
+        relations.put("stellar", relation("[]", "[]", "[]"));
+        return relations;
+    }
+
+    private JsonNode relation(String doubleTo, String halfTo, String noneTo)
+    {
+        return jsonMapper.readTree("{\"double_damage_to\":" + names(doubleTo) + ",\"half_damage_to\":" + names(halfTo)
+                + ",\"no_damage_to\":" + names(noneTo) + "}");
+    }
+
+    private static String names(String list)
+    {
+        return list.replaceAll("\"(\\w+)\"", "{\"name\":\"$1\"}");
+    }
+}
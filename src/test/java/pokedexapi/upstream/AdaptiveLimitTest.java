@@ -0,0 +1,78 @@
+package pokedexapi.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimitTest
+{
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Test the limit grows while it is used and backs off on a drop")
+    void testAdditiveIncreaseMultiplicativeDecrease() throws InterruptedException
+    {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 20, 0.5, 2.0, 1000 * MILLIS, 0);
+        for (int i = 0; i < 10; i++) assertTrue(limit.acquire(0));
+        limit.release(10 * MILLIS, false, 10 * MILLIS);
+        assertEquals(11, limit.limit());
+
+        limit.release(10 * MILLIS, true, 20 * MILLIS);
+        limit.release(10 * MILLIS, false, 30 * MILLIS);
+        assertEquals(5, limit.limit());
+        limit.release(500 * MILLIS, false, 600 * MILLIS);
+        limit.release(500 * MILLIS, false, 1100 * MILLIS);
+        assertEquals(2, limit.limit(), "a window far above the baseline counts as congestion");
+    }
+
+    @Test
+    @DisplayName("Test the limit moves at most one step per round trip window")
+    void testOneStepPerWindow() throws InterruptedException
+    {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 20, 0.5, 2.0, 1000 * MILLIS, 0);
+        for (int i = 0; i < 10; i++) assertTrue(limit.acquire(0));
+        limit.release(10 * MILLIS, false, 10 * MILLIS);
+        for (int i = 0; i < 3; i++) limit.release(10 * MILLIS, false, (12 + i) * MILLIS);
+        assertEquals(11, limit.limit(), "releases inside the window do not grow the limit again");
+        limit.release(10 * MILLIS, true, 15 * MILLIS);
+        limit.release(10 * MILLIS, true, 16 * MILLIS);
+        assertEquals(11, limit.limit(), "drops are judged when the window is over");
+        limit.release(10 * MILLIS, false, 22 * MILLIS);
+        assertEquals(5, limit.limit(), "a window with drops backs off once");
+    }
+
+    @Test
+    @DisplayName("Test one slow call among fast ones is judged against the window, not on its own")
+    void testBaselineWindow() throws InterruptedException
+    {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 2, 20, 0.5, 2.0, 1000 * MILLIS, 0);
+        for (int i = 0; i < 10; i++) assertTrue(limit.acquire(0));
+        limit.release(10 * MILLIS, false, 10 * MILLIS);
+        assertEquals(11, limit.limit());
+        assertEquals(10.0, limit.averageRttMillis(), 0.001);
+
+        limit.release(30 * MILLIS, false, 20 * MILLIS);
+        for (int i = 1; i <= 5; i++) limit.release(MILLIS, false, (20 + i) * MILLIS);
+        limit.release(MILLIS, false, 30 * MILLIS);
+        assertEquals(12, limit.limit(), "a 30ms call in a window averaging about 5ms is not congestion");
+    }
+
+    @Test
+    @DisplayName("Test calls over the limit are rejected when the queue is full or the wait runs out")
+    void testRejectsOverLimit() throws InterruptedException
+    {
+        AdaptiveLimit limit = new AdaptiveLimit(1, 1, 1, 0.9, 2.0, 1000 * MILLIS, 0);
+        assertTrue(limit.acquire(0));
+        assertFalse(limit.acquire(10 * MILLIS));
+
+        AdaptiveLimit queueing = new AdaptiveLimit(1, 1, 1, 0.9, 2.0, 1000 * MILLIS, 1);
+        assertTrue(queueing.acquire(0));
+        assertFalse(queueing.acquire(10 * MILLIS));
+        assertEquals(0, queueing.queued());
+        queueing.release(MILLIS, false);
+        assertTrue(queueing.acquire(0));
+    }
+}
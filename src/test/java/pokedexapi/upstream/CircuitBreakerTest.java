@@ -0,0 +1,84 @@
+package pokedexapi.upstream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest
+{
+    AtomicLong now;
+    CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp()
+    {
+        now = new AtomicLong();
+        breaker = new CircuitBreaker(50f, 10, 4, 1000, 2, now::get);
+    }
+
+    @Test
+    @DisplayName("Test the breaker stays closed until the minimum number of calls")
+    void testStaysClosedBelowMinimumCalls()
+    {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        breaker.tryAcquire();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Test the breaker half-opens after the open duration and closes after good trial calls")
+    void testHalfOpenThenClose()
+    {
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, breaker.bufferedCalls());
+    }
+
+    @Test
+    @DisplayName("Test a failed trial call opens the breaker again")
+    void testHalfOpenFailureReopens()
+    {
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Test families are worked out from the url")
+    void testUpstreamFamilyOf()
+    {
+        String base = "https://pokeapi.co/api/v2/";
+        assertEquals(UpstreamFamily.POKEMON, UpstreamFamily.of(base + "pokemon/25"));
+        assertEquals(UpstreamFamily.SPECIES, UpstreamFamily.of(base + "pokemon-species/pikachu/"));
+        assertEquals(UpstreamFamily.EVOLUTION, UpstreamFamily.of(base + "evolution-chain/10/"));
+        assertEquals(UpstreamFamily.ENCOUNTERS, UpstreamFamily.of(base + "pokemon/25/encounters"));
+        assertEquals(UpstreamFamily.LISTS, UpstreamFamily.of(base + "type"));
+        assertEquals(UpstreamFamily.LISTS, UpstreamFamily.of(base + "berry?limit=10&offset=0"));
+        assertEquals(UpstreamFamily.REFERENCE, UpstreamFamily.of(base + "type/1"));
+        assertEquals(UpstreamFamily.SPRITES, UpstreamFamily.of("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/25.png"));
+        assertEquals("pokemon-species", UpstreamUrls.resourcePath(PokemonSpecies.class));
+    }
+}
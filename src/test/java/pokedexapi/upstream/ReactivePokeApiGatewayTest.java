@@ -0,0 +1,71 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.move.Move;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactivePokeApiGatewayTest
+{
+    SimpleMeterRegistry meterRegistry;
+    PokeApiClient pokeApiClient;
+    ReactivePokeApiGateway gateway;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        pokeApiClient = mock(PokeApiClient.class);
+        gateway = new ReactivePokeApiGateway(pokeApiClient,
+                new UpstreamResilience(new MockEnvironment(), meterRegistry),
+                new ConcurrencyLimiter(meterRegistry, 20, 4, 64, 0.9, 2.0, Duration.ofSeconds(5), 256, Duration.ofSeconds(2)),
+                new UpstreamRetry(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(5), List.of(502, 503), 1.0, 20),
+                meterRegistry, "https://pokeapi.co/api/v2");
+    }
+
+    @Test
+    @DisplayName("Test concurrent lookups of one resource share a single upstream call")
+    void testLookupsAreCoalesced()
+    {
+        Move move = new Move();
+        AtomicInteger subscriptions = new AtomicInteger();
+        when(pokeApiClient.getResource(Move.class, "1")).thenReturn(
+                Mono.just(move).delayElement(Duration.ofMillis(100)).doOnSubscribe(s -> subscriptions.incrementAndGet()));
+
+        List<Move> moves = Mono.zip(gateway.getResource(Move.class, "1"), gateway.getResource(Move.class, "1"))
+                .map(pair -> List.of(pair.getT1(), pair.getT2()))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(move, move), moves);
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    @DisplayName("Test a connection failure is retried without blocking and other errors are not")
+    void testTransientFailuresAreRetried()
+    {
+        Move move = new Move();
+        AtomicInteger attempts = new AtomicInteger();
+        when(pokeApiClient.getResource(Move.class, "2")).thenReturn(Mono.defer(() -> attempts.incrementAndGet() < 2
+                ? Mono.error(new IOException("Connection reset"))
+                : Mono.just(move)));
+        when(pokeApiClient.getResource(Move.class, "3")).thenReturn(Mono.error(new RuntimeException("Mocked")));
+
+        assertSame(move, gateway.getResource(Move.class, "2").block(Duration.ofSeconds(5)));
+        assertEquals(2, attempts.get());
+        assertThrows(RuntimeException.class, () -> gateway.getResource(Move.class, "3").block(Duration.ofSeconds(5)));
+        verify(pokeApiClient, times(1)).getResource(Move.class, "3");
+    }
+}
@@ -0,0 +1,83 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest
+{
+    SimpleMeterRegistry meterRegistry;
+    RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Test concurrent callers for one url share a single upstream call")
+    void testConcurrentCallersShareOneCall() throws Exception
+    {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UpstreamCall<String, InterruptedException> slowCall = () -> {
+            upstreamCalls.incrementAndGet();
+            leaderStarted.countDown();
+            release.await();
+            return "pikachu";
+        };
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> join("https://pokeapi.co/api/v2/pokemon/25", slowCall));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> join("https://POKEAPI.co/api/v2//pokemon/25/", slowCall));
+        while (meterRegistry.counter("pokedexapi.upstream.coalesced.absorbed", "view", "String").count() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("pikachu", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("pikachu", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(2.0, meterRegistry.summary("pokedexapi.upstream.coalesced.callers", "view", "String").max());
+    }
+
+    @Test
+    @DisplayName("Test a failed flight is not remembered")
+    void testFailureIsNotCached()
+    {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("https://pokeapi.co/api/v2/pokemon/0", String.class, () -> {
+            throw new IllegalStateException("404");
+        }));
+        assertEquals("ditto", coalescer.execute("https://pokeapi.co/api/v2/pokemon/0", String.class, () -> "ditto"));
+    }
+
+    @Test
+    @DisplayName("Test urls are normalized before they are used as keys")
+    void testNormalize()
+    {
+        assertEquals("https://pokeapi.co/api/v2/type?limit=10&offset=0",
+                UpstreamUrls.normalize("HTTPS://PokeAPI.co/api/v2//type/?limit=10&offset=0"));
+        assertEquals("https://pokeapi.co/api/v2/machine", UpstreamUrls.normalize("https://pokeapi.co/api/v2//machine"));
+    }
+
+    private String join(String url, UpstreamCall<String, InterruptedException> call)
+    {
+        try {
+            return coalescer.execute(url, String.class, call);
+        }
+        catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest
+{
+    SimpleMeterRegistry meterRegistry;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test a slow first attempt is hedged and the faster answer wins")
+    void testSlowAttemptIsHedged() throws Exception
+    {
+        RequestHedger hedger = new RequestHedger(meterRegistry, executor, true, List.of("pokemon"), 95, Duration.ofMillis(20), 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // whichever attempt starts first is the slow one
+        String result = hedger.execute(UpstreamFamily.POKEMON, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(2000);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.counter("pokedexapi.upstream.hedge.requests", "family", "pokemon", "outcome", "hedged").count());
+        assertEquals(1, meterRegistry.find("pokedexapi.upstream.hedge.wins").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    @DisplayName("Test the losing attempt is interrupted once the other one wins")
+    void testLosingAttemptIsStopped() throws Exception
+    {
+        RequestHedger hedger = new RequestHedger(meterRegistry, executor, true, List.of("pokemon"), 95, Duration.ofMillis(20), 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        String result = hedger.execute(UpstreamFamily.POKEMON, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                }
+                catch (InterruptedException ie) {
+                    stopped.countDown();
+                    throw ie;
+                }
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertTrue(stopped.await(2, TimeUnit.SECONDS), "the slow attempt was not interrupted");
+    }
+
+    @Test
+    @DisplayName("Test families that are not configured, or a disabled hedger, run the attempt once")
+    void testNotHedged()
+    {
+        AtomicInteger attempts = new AtomicInteger();
+        RequestHedger disabled = new RequestHedger(meterRegistry, executor, false, List.of("pokemon"), 95, Duration.ofMillis(1), 1.0);
+        RequestHedger speciesOnly = new RequestHedger(meterRegistry, executor, true, List.of("species"), 95, Duration.ofMillis(1), 1.0);
+
+        UpstreamCall<String, RuntimeException> attempt = () -> {
+            attempts.incrementAndGet();
+            return "ok";
+        };
+
+        assertEquals("ok", disabled.execute(UpstreamFamily.POKEMON, attempt));
+        assertEquals("ok", speciesOnly.execute(UpstreamFamily.POKEMON, attempt));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Test the failure of every attempt is rethrown as is")
+    void testFailureIsRethrown()
+    {
+        RequestHedger hedger = new RequestHedger(meterRegistry, executor, true, List.of("pokemon"), 95, Duration.ofMillis(20), 1.0);
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> hedger.execute(UpstreamFamily.POKEMON, () -> {
+                    throw new IllegalStateException("Mocked");
+                }));
+        assertEquals("Mocked", thrown.getMessage());
+    }
+}
@@ -0,0 +1,31 @@
+package pokedexapi.upstream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamResilienceTest
+{
+    @Test
+    @DisplayName("Test only connection failures, timeouts and 5xx answers count against the breaker")
+    void testOnlyUpstreamFailuresCount()
+    {
+        assertTrue(UpstreamResilience.isUpstreamFailure(new IOException("connection reset")));
+        assertTrue(UpstreamResilience.isUpstreamFailure(new HttpTimeoutException("timed out")));
+        assertTrue(UpstreamResilience.isUpstreamFailure(new UncheckedIOException(new IOException("closed"))));
+        assertTrue(UpstreamResilience.isUpstreamFailure(Exceptions.propagate(new TimeoutException())));
+
+        assertFalse(UpstreamResilience.isUpstreamFailure(new RuntimeException("Mocked")));
+        assertFalse(UpstreamResilience.isUpstreamFailure(new NullPointerException()));
+        assertFalse(UpstreamResilience.isUpstreamFailure(new IllegalStateException("cannot decode")));
+        assertFalse(UpstreamResilience.isUpstreamFailure(Exceptions.propagate(new InterruptedException())));
+        assertFalse(UpstreamResilience.isUpstreamFailure(new UpstreamUnavailableException(UpstreamFamily.POKEMON, "circuit is open")));
+    }
+}
@@ -0,0 +1,82 @@
+package pokedexapi.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRetryTest
+{
+    SimpleMeterRegistry meterRegistry;
+    UpstreamRetry retry;
+
+    @BeforeEach
+    void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        retry = new UpstreamRetry(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(5), List.of(502, 503), 1.0, 20);
+    }
+
+    @Test
+    @DisplayName("Test a retryable status is retried until it succeeds")
+    void testRetryableStatusIsRetried()
+    {
+        AtomicInteger attempts = new AtomicInteger();
+        int status = retry.call(UpstreamFamily.REFERENCE, () -> attempts.incrementAndGet() < 3 ? 503 : 200, s -> s);
+
+        assertEquals(200, status);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.counter("pokedexapi.upstream.retry.attempts", "family", "reference", "outcome", "retried").count());
+    }
+
+    @Test
+    @DisplayName("Test connection failures are retried and other errors are not")
+    void testOnlyTransientErrorsAreRetried()
+    {
+        AtomicInteger attempts = new AtomicInteger();
+        assertThrows(IOException.class, () -> retry.call(UpstreamFamily.POKEMON, () -> {
+            attempts.incrementAndGet();
+            throw new IOException("Connection reset");
+        }, r -> -1));
+        assertEquals(3, attempts.get());
+
+        attempts.set(0);
+        assertThrows(RuntimeException.class, () -> retry.call(UpstreamFamily.POKEMON, () -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException("Mocked");
+        }, r -> -1));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Test retries stop once the budget is spent")
+    void testBudgetStopsRetries()
+    {
+        UpstreamRetry stingy = new UpstreamRetry(meterRegistry, 5, Duration.ofMillis(1), Duration.ofMillis(5), List.of(503), 0.0, 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals(503, stingy.call(UpstreamFamily.LISTS, () -> {
+            attempts.incrementAndGet();
+            return 503;
+        }, s -> s));
+        assertEquals(2, attempts.get());
+        assertEquals(1, meterRegistry.counter("pokedexapi.upstream.retry.attempts", "family", "lists", "outcome", "budget_exhausted").count());
+    }
+
+    @Test
+    @DisplayName("Test backoff stays between zero and the capped exponential delay")
+    void testBackoffIsJitteredAndCapped()
+    {
+        for (int attempt = 1; attempt < 30; attempt++) {
+            long delay = retry.backoffMillis(attempt);
+            assertTrue(delay >= 0 && delay <= 5, "delay " + delay);
+        }
+    }
+}